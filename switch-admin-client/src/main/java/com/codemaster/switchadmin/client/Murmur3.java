@@ -0,0 +1,47 @@
+package com.codemaster.switchadmin.client;
+
+/**
+ * MurmurHash3 (x86, 32-bit) over the UTF-16 code units of a string, two chars per block.
+ * Equal to the reference hash of the string's UTF-16LE bytes (Guava's
+ * {@code hashUnencodedChars}), so other implementations can reproduce rollout buckets.
+ * Allocation-free. A copy of the service's {@code Murmur3}; both must bucket users alike.
+ */
+final class Murmur3 {
+
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+
+    private Murmur3() {
+    }
+
+    static int hash32(CharSequence data, int seed) {
+        int h1 = seed;
+        int length = data.length();
+        int i = 0;
+        for (; i + 1 < length; i += 2) {
+            int k1 = data.charAt(i) | (data.charAt(i + 1) << 16);
+            h1 ^= mixK1(k1);
+            h1 = Integer.rotateLeft(h1, 13);
+            h1 = h1 * 5 + 0xe6546b64;
+        }
+        if (i < length) {
+            h1 ^= mixK1(data.charAt(i));
+        }
+        return fmix(h1 ^ (length * 2));
+    }
+
+    private static int mixK1(int k1) {
+        k1 *= C1;
+        k1 = Integer.rotateLeft(k1, 15);
+        return k1 * C2;
+    }
+
+    private static int fmix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,58 @@
+package com.codemaster.switchadmin.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * Keeps the last synchronised snapshot on disk for cold starts. Writes go to a temporary
+ * file in the same directory that is then moved over the target, so readers never see a
+ * partial file.
+ */
+class SnapshotFileStore {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final Path file;
+
+    SnapshotFileStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * The stored snapshot, or {@code null} when there is none.
+     */
+    SwitchSnapshot load() throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        StoredSnapshot stored = OBJECT_MAPPER.readValue(file.toFile(), StoredSnapshot.class);
+        return new SwitchSnapshot(stored.revision(), stored.switches() != null ? stored.switches() : Map.of());
+    }
+
+    void save(SwitchSnapshot snapshot) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            OBJECT_MAPPER.writeValue(temp.toFile(), new StoredSnapshot(snapshot.revision(), snapshot.switches()));
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    record StoredSnapshot(long revision, Map<String, SwitchValue> switches) {
+    }
+}
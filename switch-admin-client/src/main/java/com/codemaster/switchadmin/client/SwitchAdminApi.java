@@ -0,0 +1,165 @@
+package com.codemaster.switchadmin.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The three switch-admin-service endpoints the client syncs from: the full config list
+ * (revision taken from its {@code "rev-N"} or, for the gzip body, {@code "rev-N-gzip"} ETag),
+ * {@code /changes} and {@code /watch}.
+ */
+class SwitchAdminApi {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    // The service tags its gzip body separately, as a strong ETag may not span two encodings
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+    private final HttpClient httpClient;
+    private final String configsUrl;
+    private final Supplier<String> tokenSupplier;
+    private final Duration requestTimeout;
+
+    SwitchAdminApi(HttpClient httpClient, URI baseUri, Supplier<String> tokenSupplier, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        String base = baseUri.toString();
+        this.configsUrl = (base.endsWith("/") ? base.substring(0, base.length() - 1) : base) + "/api/app-configs";
+        this.tokenSupplier = tokenSupplier;
+        this.requestTimeout = requestTimeout;
+    }
+
+    SwitchSnapshot fetchSnapshot() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = send(request(URI.create(configsUrl), requestTimeout)
+                .header("Accept-Encoding", "gzip")
+                .build());
+        String etag = response.headers().firstValue("ETag")
+                .orElseThrow(() -> new IOException("Config list response has no ETag"));
+        long revision = parseRevision(etag);
+        List<ConfigEntry> configs;
+        try (InputStream body = decode(response)) {
+            configs = OBJECT_MAPPER.readValue(body, new TypeReference<>() {
+            });
+        }
+        Map<String, SwitchValue> switches = new HashMap<>(configs.size() * 2);
+        for (ConfigEntry config : configs) {
+            switches.put(config.configKey(), new SwitchValue(config.configValue(), config.active(),
+                    config.rolloutPercentage(), config.targetingRules()));
+        }
+        return new SwitchSnapshot(revision, switches);
+    }
+
+    ChangePage fetchChanges(long since) throws IOException, InterruptedException {
+        return readPage(request(URI.create(configsUrl + "/changes?since=" + since), requestTimeout)
+                .build());
+    }
+
+    /**
+     * Long poll; the HTTP timeout allows for the server holding the request {@code timeout} long.
+     */
+    ChangePage watch(long since, Duration timeout) throws IOException, InterruptedException {
+        URI uri = URI.create(configsUrl + "/watch?since=" + since + "&timeoutSeconds=" + timeout.toSeconds());
+        return readPage(request(uri, timeout.plus(requestTimeout)).build());
+    }
+
+    private ChangePage readPage(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = send(request);
+        try (InputStream body = response.body()) {
+            return OBJECT_MAPPER.readValue(body, ChangePage.class);
+        }
+    }
+
+    private HttpRequest.Builder request(URI uri, Duration timeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET();
+        String token = tokenSupplier != null ? tokenSupplier.get() : null;
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<InputStream> send(HttpRequest request) throws IOException, InterruptedException {
+        // sendAsync so that interrupting the sync thread abandons a long poll straight away
+        CompletableFuture<HttpResponse<InputStream>> future =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+        HttpResponse<InputStream> response;
+        try {
+            response = future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException(request.uri().getPath() + " answered HTTP " + response.statusCode());
+        }
+        return response;
+    }
+
+    private static InputStream decode(HttpResponse<InputStream> response) throws IOException {
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        return gzip ? new GZIPInputStream(response.body()) : response.body();
+    }
+
+    static long parseRevision(String etag) throws IOException {
+        String value = etag.startsWith("W/") ? etag.substring(2) : etag;
+        value = value.replace("\"", "");
+        if (value.endsWith(GZIP_ETAG_SUFFIX)) {
+            value = value.substring(0, value.length() - GZIP_ETAG_SUFFIX.length());
+        }
+        if (!value.startsWith("rev-")) {
+            throw new IOException("Unexpected ETag " + etag);
+        }
+        try {
+            return Long.parseLong(value.substring(4));
+        } catch (NumberFormatException e) {
+            throw new IOException("Unexpected ETag " + etag, e);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ConfigEntry(String configKey, String configValue, boolean active, BigDecimal rolloutPercentage,
+                       List<TargetingRule> targetingRules) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Change(long revision, String changeType, String configKey, String previousConfigKey, String configValue,
+                  boolean active, BigDecimal rolloutPercentage, List<TargetingRule> targetingRules) {
+
+        boolean isDelete() {
+            return "DELETE".equals(changeType);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ChangePage(List<Change> changes, long highWaterMark, boolean hasMore) {
+
+        ChangePage {
+            changes = changes != null ? changes : List.of();
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.codemaster.switchadmin.client;
+
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a local copy of the switch-admin-service config set and answers lookups from it.
+ * <p>
+ * A single background thread bootstraps from the full config list, then follows the change
+ * log through {@code /watch} long polls (or periodic {@code /changes} polls) and publishes
+ * each applied batch as a new immutable snapshot, so {@link #isEnabled(String)} and
+ * {@link #getValue(String)} are plain reads of a volatile field and a map. When a snapshot
+ * file is configured, the last snapshot is written to it and loaded on start, and while the
+ * service is unreachable the client keeps answering from what it has.
+ * <p>
+ * Typical use:
+ * <pre>{@code
+ * SwitchAdminClient switches = SwitchAdminClient.builder(URI.create("https://switch-admin.internal"))
+ *         .tokenSupplier(tokens::current)
+ *         .snapshotFile(Path.of("/var/cache/my-service/switches.json"))
+ *         .build();
+ * switches.start();
+ * if (switches.isEnabled("checkout.new-flow", user.id(), Map.of("country", user.country()))) { ... }
+ * }</pre>
+ */
+public final class SwitchAdminClient implements AutoCloseable {
+
+    private static final Logger logger = System.getLogger(SwitchAdminClient.class.getName());
+
+    /**
+     * How the client follows changes after the initial load.
+     */
+    public enum SyncMode {
+        /** Long polls {@code /watch}; changes arrive as soon as they commit. */
+        WATCH,
+        /** Polls {@code /changes} every {@link Builder#pollInterval(Duration)}. */
+        POLL
+    }
+
+    private final SwitchAdminApi api;
+    private final SnapshotFileStore fileStore;
+    private final SyncMode syncMode;
+    private final Duration watchTimeout;
+    private final Duration pollInterval;
+    private final Duration maxRetryDelay;
+    private final CountDownLatch initialSync = new CountDownLatch(1);
+
+    private volatile SwitchSnapshot snapshot = SwitchSnapshot.EMPTY;
+    private volatile boolean running;
+    private Thread syncThread;
+
+    private SwitchAdminClient(Builder builder) {
+        HttpClient httpClient = builder.httpClient != null
+                ? builder.httpClient
+                : HttpClient.newBuilder().connectTimeout(builder.requestTimeout).build();
+        this.api = new SwitchAdminApi(httpClient, builder.baseUri, builder.tokenSupplier, builder.requestTimeout);
+        this.fileStore = builder.snapshotFile != null ? new SnapshotFileStore(builder.snapshotFile) : null;
+        this.syncMode = builder.syncMode;
+        this.watchTimeout = builder.watchTimeout;
+        this.pollInterval = builder.pollInterval;
+        this.maxRetryDelay = builder.maxRetryDelay;
+    }
+
+    public static Builder builder(URI baseUri) {
+        return new Builder(baseUri);
+    }
+
+    /**
+     * Loads the snapshot file, if any, and starts background synchronisation. Returns
+     * without waiting for the service; see {@link #awaitInitialSync(Duration)}.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        loadSnapshotFile();
+        running = true;
+        syncThread = Thread.ofPlatform()
+                .name("switch-admin-client-sync")
+                .daemon(true)
+                .start(this::syncLoop);
+    }
+
+    /**
+     * Waits until the first successful exchange with the service.
+     *
+     * @return {@code false} if it did not happen within {@code timeout}; lookups then answer
+     * from the snapshot file, or with defaults
+     */
+    public boolean awaitInitialSync(Duration timeout) throws InterruptedException {
+        return initialSync.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Whether the config is on for a caller without a user: it exists, is active and is
+     * rolled out to everyone, unless a targeting rule without a user condition decides
+     * otherwise. Use {@link #isEnabled(String, String, Map)} for switches with a partial
+     * rollout or user rules.
+     */
+    public boolean isEnabled(String configKey) {
+        return isEnabled(configKey, false);
+    }
+
+    /**
+     * As {@link #isEnabled(String)}, with {@code defaultValue} for an unknown config.
+     */
+    public boolean isEnabled(String configKey, boolean defaultValue) {
+        SwitchValue value = snapshot.switches().get(configKey);
+        return value != null ? value.isEnabled(configKey, null, Map.of()) : defaultValue;
+    }
+
+    public boolean isEnabled(String configKey, String userId) {
+        return isEnabled(configKey, userId, Map.of());
+    }
+
+    /**
+     * Whether the config is on for this user, evaluated locally exactly as the service
+     * evaluates it: active flag, then targeting rules, then rollout bucket. {@code false}
+     * for an unknown config.
+     *
+     * @param attributes context attributes for the targeting rules, never {@code null}
+     */
+    public boolean isEnabled(String configKey, String userId, Map<String, String> attributes) {
+        SwitchValue value = snapshot.switches().get(configKey);
+        return value != null && value.isEnabled(configKey, userId, attributes);
+    }
+
+    /**
+     * The config's value, or {@code null} when it is unknown.
+     */
+    public String getValue(String configKey) {
+        return getValue(configKey, null);
+    }
+
+    public String getValue(String configKey, String defaultValue) {
+        SwitchValue value = snapshot.switches().get(configKey);
+        return value != null ? value.value() : defaultValue;
+    }
+
+    /**
+     * Config revision of the values currently served; 0 before anything was loaded.
+     */
+    public long getRevision() {
+        return snapshot.revision();
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (syncThread != null) {
+            syncThread.interrupt();
+            try {
+                syncThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            syncThread = null;
+        }
+    }
+
+    private void loadSnapshotFile() {
+        if (fileStore == null) {
+            return;
+        }
+        try {
+            SwitchSnapshot stored = fileStore.load();
+            if (stored != null) {
+                snapshot = stored;
+                logger.log(Level.INFO, "Loaded {0} switches at revision {1} from the snapshot file",
+                        stored.switches().size(), stored.revision());
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Ignoring unreadable switch snapshot file", e);
+        }
+    }
+
+    private void syncLoop() {
+        Duration retryDelay = Duration.ofMillis(500);
+        boolean bootstrapped = snapshot.revision() > 0;
+        while (running) {
+            try {
+                if (!bootstrapped) {
+                    publish(api.fetchSnapshot());
+                    bootstrapped = true;
+                } else {
+                    long since = snapshot.revision();
+                    SwitchAdminApi.ChangePage page = syncMode == SyncMode.WATCH
+                            ? api.watch(since, watchTimeout)
+                            : api.fetchChanges(since);
+                    if (page.highWaterMark() < since) {
+                        // The service is behind what we have (e.g. restored database): start over
+                        logger.log(Level.WARNING, "Service revision {0} is behind local revision {1}; reloading",
+                                page.highWaterMark(), since);
+                        bootstrapped = false;
+                        continue;
+                    }
+                    publish(snapshot.apply(page.changes(), page.highWaterMark()));
+                    if (syncMode == SyncMode.POLL && !page.hasMore()) {
+                        Thread.sleep(pollInterval.toMillis());
+                    }
+                }
+                initialSync.countDown();
+                retryDelay = Duration.ofMillis(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.WARNING, "Switch sync failed, serving revision {0} and retrying in {1} ms: {2}",
+                        snapshot.revision(), retryDelay.toMillis(), e.toString());
+                try {
+                    Thread.sleep(retryDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                retryDelay = retryDelay.multipliedBy(2).compareTo(maxRetryDelay) > 0
+                        ? maxRetryDelay
+                        : retryDelay.multipliedBy(2);
+            }
+        }
+    }
+
+    private void publish(SwitchSnapshot next) {
+        SwitchSnapshot previous = snapshot;
+        snapshot = next;
+        if (fileStore == null || next == previous) {
+            return;
+        }
+        try {
+            fileStore.save(next);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not write the switch snapshot file", e);
+        }
+    }
+
+    public static final class Builder {
+
+        private final URI baseUri;
+        private Supplier<String> tokenSupplier;
+        private Path snapshotFile;
+        private HttpClient httpClient;
+        private SyncMode syncMode = SyncMode.WATCH;
+        private Duration watchTimeout = Duration.ofSeconds(30);
+        private Duration pollInterval = Duration.ofSeconds(5);
+        private Duration requestTimeout = Duration.ofSeconds(10);
+        private Duration maxRetryDelay = Duration.ofSeconds(30);
+
+        private Builder(URI baseUri) {
+            this.baseUri = Objects.requireNonNull(baseUri, "baseUri");
+        }
+
+        /**
+         * Supplies the bearer token (a JWT with CONFIG_READ) for each request.
+         */
+        public Builder tokenSupplier(Supplier<String> tokenSupplier) {
+            this.tokenSupplier = tokenSupplier;
+            return this;
+        }
+
+        public Builder snapshotFile(Path snapshotFile) {
+            this.snapshotFile = snapshotFile;
+            return this;
+        }
+
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public Builder syncMode(SyncMode syncMode) {
+            this.syncMode = Objects.requireNonNull(syncMode, "syncMode");
+            return this;
+        }
+
+        /**
+         * How long the service may hold a watch request; capped server side by {@code config.watch.max-timeout}.
+         */
+        public Builder watchTimeout(Duration watchTimeout) {
+            this.watchTimeout = watchTimeout;
+            return this;
+        }
+
+        public Builder pollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public Builder maxRetryDelay(Duration maxRetryDelay) {
+            this.maxRetryDelay = maxRetryDelay;
+            return this;
+        }
+
+        public SwitchAdminClient build() {
+            return new SwitchAdminClient(this);
+        }
+    }
+}
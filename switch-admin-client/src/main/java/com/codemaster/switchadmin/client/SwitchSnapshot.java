@@ -0,0 +1,37 @@
+package com.codemaster.switchadmin.client;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable switch set at a config revision. A new instance is built for every applied
+ * batch of changes and published with a single volatile write.
+ */
+record SwitchSnapshot(long revision, Map<String, SwitchValue> switches) {
+
+    static final SwitchSnapshot EMPTY = new SwitchSnapshot(0, Map.of());
+
+    SwitchSnapshot {
+        switches = Map.copyOf(switches);
+    }
+
+    SwitchSnapshot apply(List<SwitchAdminApi.Change> changes, long highWaterMark) {
+        if (changes.isEmpty()) {
+            return highWaterMark == revision ? this : new SwitchSnapshot(highWaterMark, switches);
+        }
+        Map<String, SwitchValue> updated = new HashMap<>(switches);
+        for (SwitchAdminApi.Change change : changes) {
+            if (change.previousConfigKey() != null) {
+                updated.remove(change.previousConfigKey());
+            }
+            if (change.isDelete()) {
+                updated.remove(change.configKey());
+                continue;
+            }
+            updated.put(change.configKey(), new SwitchValue(change.configValue(), change.active(),
+                    change.rolloutPercentage(), change.targetingRules()));
+        }
+        return new SwitchSnapshot(highWaterMark, updated);
+    }
+}
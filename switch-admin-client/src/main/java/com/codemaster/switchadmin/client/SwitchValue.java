@@ -0,0 +1,51 @@
+package com.codemaster.switchadmin.client;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One config as last synchronised from switch-admin-service.
+ *
+ * @param rolloutPercentage share of users (0-100) the active config is on for; {@code null} means everyone
+ * @param targetingRules    checked in order before the percentage, never {@code null}
+ */
+public record SwitchValue(String value, boolean active, BigDecimal rolloutPercentage,
+                          List<TargetingRule> targetingRules) {
+
+    static final int BUCKETS = 10_000;
+
+    public SwitchValue {
+        targetingRules = targetingRules != null ? List.copyOf(targetingRules) : List.of();
+    }
+
+    /**
+     * Evaluates the switch the way the service does: the active flag, then the rules (first
+     * match wins), then the percentage. Users are bucketed by a Murmur3 hash of the user id
+     * seeded with the config key, so the client and the service put a user in the same bucket.
+     *
+     * @param userId may be {@code null}; such callers only see the switch when it is fully rolled out
+     */
+    boolean isEnabled(String configKey, String userId, Map<String, String> attributes) {
+        if (!active) {
+            return false;
+        }
+        for (TargetingRule rule : targetingRules) {
+            if (rule.matches(userId, attributes)) {
+                return rule.serve();
+            }
+        }
+        if (rolloutPercentage == null) {
+            return true;
+        }
+        int enabledBuckets = Math.max(0, Math.min(BUCKETS, rolloutPercentage.movePointRight(2).intValue()));
+        if (enabledBuckets >= BUCKETS) {
+            return true;
+        }
+        if (enabledBuckets == 0 || userId == null) {
+            return false;
+        }
+        int bucket = Integer.remainderUnsigned(Murmur3.hash32(userId, Murmur3.hash32(configKey, 0)), BUCKETS);
+        return bucket < enabledBuckets;
+    }
+}
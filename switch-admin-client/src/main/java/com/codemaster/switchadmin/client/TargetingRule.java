@@ -0,0 +1,42 @@
+package com.codemaster.switchadmin.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One targeting rule of a switch, as defined on switch-admin-service. Rules are checked in
+ * order before the rollout percentage; the first one that matches decides.
+ *
+ * @param attribute context attribute to compare; unused for {@link Type#USER_ID}
+ * @param serve     what a match evaluates to
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TargetingRule(Type type, String attribute, List<String> values, boolean serve) {
+
+    public enum Type {
+        /** The user id is one of the values. */
+        USER_ID,
+        /** The attribute equals the single value. */
+        ATTRIBUTE_EQUALS,
+        /** The attribute is one of the values. */
+        ATTRIBUTE_IN
+    }
+
+    public TargetingRule {
+        values = values != null ? List.copyOf(values) : List.of();
+    }
+
+    boolean matches(String userId, Map<String, String> attributes) {
+        return switch (type) {
+            case USER_ID -> userId != null && values.contains(userId);
+            case ATTRIBUTE_EQUALS -> attribute != null && !values.isEmpty()
+                    && values.get(0).equals(attributes.get(attribute));
+            case ATTRIBUTE_IN -> {
+                String actual = attribute != null ? attributes.get(attribute) : null;
+                yield actual != null && values.contains(actual);
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.codemaster.switchadmin.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SwitchAdminApiTest {
+
+    @Test
+    void parsesRevisionFromIdentityAndGzipETags() throws IOException {
+        assertEquals(42, SwitchAdminApi.parseRevision("\"rev-42\""));
+        assertEquals(42, SwitchAdminApi.parseRevision("\"rev-42-gzip\""));
+        assertEquals(42, SwitchAdminApi.parseRevision("W/\"rev-42-gzip\""));
+    }
+
+    @Test
+    void rejectsUnexpectedETags() {
+        assertThrows(IOException.class, () -> SwitchAdminApi.parseRevision("\"abc\""));
+        assertThrows(IOException.class, () -> SwitchAdminApi.parseRevision("\"rev-42-br\""));
+        assertThrows(IOException.class, () -> SwitchAdminApi.parseRevision("\"rev--gzip\""));
+    }
+}
@@ -0,0 +1,313 @@
+package com.codemaster.switchadmin.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SwitchAdminClientTest {
+
+    private static final String TOKEN = "test-token";
+
+    @TempDir
+    Path tempDir;
+
+    private StubServer server;
+    private final List<SwitchAdminClient> clients = new ArrayList<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new StubServer();
+        server.change(1, "checkout.new-flow", null, "true", true);
+        server.change(2, "search.max-results", null, "50", false);
+    }
+
+    @AfterEach
+    void stop() {
+        clients.forEach(SwitchAdminClient::close);
+        server.stop();
+    }
+
+    @Test
+    void bootstrapsFromConfigListAndFollowsWatch() throws Exception {
+        SwitchAdminClient client = start(SwitchAdminClient.builder(server.uri()));
+
+        assertTrue(client.awaitInitialSync(Duration.ofSeconds(5)));
+        assertEquals(2, client.getRevision());
+        assertTrue(client.isEnabled("checkout.new-flow"));
+        assertFalse(client.isEnabled("search.max-results"));
+        assertEquals("50", client.getValue("search.max-results"));
+        assertTrue(client.isEnabled("unknown.key", true));
+
+        server.change(3, "checkout.new-flow", null, "true", false);
+        server.change(4, "search.limit", "search.max-results", "100", true);
+
+        await(() -> client.getRevision() == 4);
+        assertFalse(client.isEnabled("checkout.new-flow"));
+        assertNull(client.getValue("search.max-results"));
+        assertEquals("100", client.getValue("search.limit"));
+
+        server.change(5, "search.limit", null, null, true);
+
+        await(() -> client.getRevision() == 5);
+        assertNull(client.getValue("search.limit"));
+        assertTrue(client.isEnabled("search.limit", true));
+    }
+
+    @Test
+    void pollModeFollowsChangeLog() throws Exception {
+        SwitchAdminClient client = start(SwitchAdminClient.builder(server.uri())
+                .syncMode(SwitchAdminClient.SyncMode.POLL)
+                .pollInterval(Duration.ofMillis(50)));
+        assertTrue(client.awaitInitialSync(Duration.ofSeconds(5)));
+
+        server.change(3, "payments.retry", null, "3", true);
+
+        await(() -> client.getRevision() == 3);
+        assertEquals("3", client.getValue("payments.retry"));
+    }
+
+    @Test
+    void evaluatesRolloutAndTargetingRulesLocally() throws Exception {
+        server.change(3, "checkout.beta", null, "true", true,
+                ",\"rolloutPercentage\":0,\"targetingRules\":[{\"type\":\"USER_ID\",\"values\":[\"USER00000001\"],\"serve\":true}]");
+        SwitchAdminClient client = start(SwitchAdminClient.builder(server.uri()));
+        assertTrue(client.awaitInitialSync(Duration.ofSeconds(5)));
+
+        assertFalse(client.isEnabled("checkout.beta"));
+        assertFalse(client.isEnabled("checkout.beta", true));
+        assertFalse(client.isEnabled("checkout.beta", "USER00000002"));
+        assertTrue(client.isEnabled("checkout.beta", "USER00000001"));
+
+        server.change(4, "checkout.beta", null, "true", true, ",\"rolloutPercentage\":100,\"targetingRules\":[]");
+
+        await(() -> client.getRevision() == 4);
+        assertTrue(client.isEnabled("checkout.beta"));
+        assertTrue(client.isEnabled("checkout.beta", "USER00000002"));
+    }
+
+    @Test
+    void coldStartsFromSnapshotFileWhenServiceIsDown() throws Exception {
+        Path snapshotFile = tempDir.resolve("switches.json");
+        SwitchAdminClient first = start(SwitchAdminClient.builder(server.uri()).snapshotFile(snapshotFile));
+        assertTrue(first.awaitInitialSync(Duration.ofSeconds(5)));
+        await(() -> Files.exists(snapshotFile));
+        first.close();
+        URI unreachable = server.uri();
+        server.stop();
+
+        SwitchAdminClient second = start(SwitchAdminClient.builder(unreachable)
+                .snapshotFile(snapshotFile)
+                .requestTimeout(Duration.ofMillis(200)));
+
+        assertEquals(2, second.getRevision());
+        assertTrue(second.isEnabled("checkout.new-flow"));
+        assertEquals("50", second.getValue("search.max-results"));
+        assertFalse(second.awaitInitialSync(Duration.ofMillis(300)));
+    }
+
+    @Test
+    void keepsServingStaleValuesWhileServiceIsUnreachable() throws Exception {
+        SwitchAdminClient client = start(SwitchAdminClient.builder(server.uri())
+                .watchTimeout(Duration.ofSeconds(1))
+                .requestTimeout(Duration.ofMillis(200))
+                .maxRetryDelay(Duration.ofMillis(100)));
+        assertTrue(client.awaitInitialSync(Duration.ofSeconds(5)));
+
+        server.stop();
+        TimeUnit.MILLISECONDS.sleep(1500);
+
+        assertEquals(2, client.getRevision());
+        assertTrue(client.isEnabled("checkout.new-flow"));
+    }
+
+    private SwitchAdminClient start(SwitchAdminClient.Builder builder) {
+        SwitchAdminClient client = builder
+                .tokenSupplier(() -> TOKEN)
+                .watchTimeout(Duration.ofSeconds(1))
+                .build();
+        clients.add(client);
+        client.start();
+        return client;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    /**
+     * In-process stand-in for the three switch-admin-service endpoints the client uses.
+     */
+    private static final class StubServer {
+
+        private final HttpServer httpServer;
+        private final List<Change> changes = new ArrayList<>();
+        private boolean stopped;
+
+        StubServer() throws IOException {
+            httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            httpServer.setExecutor(Executors.newCachedThreadPool());
+            httpServer.createContext("/api/app-configs", this::handle);
+            httpServer.start();
+        }
+
+        URI uri() {
+            return URI.create("http://127.0.0.1:" + httpServer.getAddress().getPort());
+        }
+
+        /**
+         * @param value {@code null} records a delete
+         */
+        void change(long revision, String key, String previousKey, String value, boolean active) {
+            change(revision, key, previousKey, value, active, "");
+        }
+
+        /**
+         * @param rollout extra JSON members such as {@code ,"rolloutPercentage":10}
+         */
+        synchronized void change(long revision, String key, String previousKey, String value, boolean active,
+                                 String rollout) {
+            changes.add(new Change(revision, key, previousKey, value, active, rollout));
+            notifyAll();
+        }
+
+        synchronized void stop() {
+            if (!stopped) {
+                stopped = true;
+                notifyAll();
+                httpServer.stop(0);
+            }
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            if (!("Bearer " + TOKEN).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                respond(exchange, 401, "", null);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String query = exchange.getRequestURI().getQuery();
+            if (path.equals("/api/app-configs")) {
+                respondConfigList(exchange);
+            } else if (path.equals("/api/app-configs/changes")) {
+                respond(exchange, 200, changesSince(parse(query, "since"), 0), null);
+            } else if (path.equals("/api/app-configs/watch")) {
+                respond(exchange, 200, changesSince(parse(query, "since"), 500), null);
+            } else {
+                respond(exchange, 404, "", null);
+            }
+        }
+
+        private synchronized void respondConfigList(HttpExchange exchange) throws IOException {
+            java.util.Map<String, Change> current = new java.util.LinkedHashMap<>();
+            for (Change change : changes) {
+                if (change.previousKey() != null) {
+                    current.remove(change.previousKey());
+                }
+                if (change.value() == null) {
+                    current.remove(change.key());
+                } else {
+                    current.put(change.key(), change);
+                }
+            }
+            String body = current.values().stream()
+                    .map(change -> String.format("{\"configId\":\"CONF%08d\",\"configKey\":\"%s\",\"configValue\":\"%s\",\"active\":%s%s}",
+                            change.revision(), change.key(), change.value(), change.active(), change.rollout()))
+                    .collect(Collectors.joining(",", "[", "]"));
+            long revision = changes.isEmpty() ? 0 : changes.get(changes.size() - 1).revision();
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+                respond(exchange, 200, body, "\"rev-" + revision + "\"");
+                return;
+            }
+            // Same representation as the service: gzip body under its own "rev-N-gzip" ETag
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            respond(exchange, 200, compressed.toByteArray(), "\"rev-" + revision + "-gzip\"");
+        }
+
+        private synchronized String changesSince(long since, long waitMillis) {
+            long deadline = System.currentTimeMillis() + waitMillis;
+            while (!stopped && lastRevision() <= since && System.currentTimeMillis() < deadline) {
+                try {
+                    wait(Math.max(1, deadline - System.currentTimeMillis()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            List<Change> page = changes.stream().filter(change -> change.revision() > since).toList();
+            long highWaterMark = page.isEmpty() ? since : page.get(page.size() - 1).revision();
+            String body = page.stream()
+                    .map(change -> String.format("{\"revision\":%d,\"changeType\":\"%s\",\"configKey\":\"%s\","
+                                    + "\"previousConfigKey\":%s,\"configValue\":\"%s\",\"active\":%s%s}",
+                            change.revision(), change.value() == null ? "DELETE" : "UPDATE", change.key(),
+                            change.previousKey() != null ? "\"" + change.previousKey() + "\"" : "null",
+                            change.value(), change.active(), change.rollout()))
+                    .collect(Collectors.joining(",", "[", "]"));
+            return "{\"changes\":" + body + ",\"highWaterMark\":" + highWaterMark + ",\"hasMore\":false}";
+        }
+
+        private long lastRevision() {
+            return changes.isEmpty() ? 0 : changes.get(changes.size() - 1).revision();
+        }
+
+        private static long parse(String query, String name) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith(name + "=")) {
+                    return Long.parseLong(parameter.substring(name.length() + 1));
+                }
+            }
+            throw new IllegalArgumentException("missing " + name);
+        }
+
+        private static void respond(HttpExchange exchange, int status, String body, String etag) throws IOException {
+            respond(exchange, status, body.getBytes(StandardCharsets.UTF_8), etag);
+        }
+
+        private static void respond(HttpExchange exchange, int status, byte[] bytes, String etag) throws IOException {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (etag != null) {
+                exchange.getResponseHeaders().set("ETag", etag);
+            }
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+
+        private record Change(long revision, String key, String previousKey, String value, boolean active,
+                              String rollout) {
+        }
+    }
+}
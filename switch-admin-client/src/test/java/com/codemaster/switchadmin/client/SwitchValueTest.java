@@ -0,0 +1,55 @@
+package com.codemaster.switchadmin.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Buckets for key {@code checkout.new-flow}, as computed by the service's evaluator:
+ * USER00000001 is 652, USER00000002 is 2424, USER00000003 is 3890.
+ */
+class SwitchValueTest {
+
+    private static final String KEY = "checkout.new-flow";
+
+    @Test
+    void bucketsUsersLikeTheService() {
+        SwitchValue below = rollout("6.52", List.of());
+        SwitchValue at = rollout("6.53", List.of());
+        SwitchValue thirty = rollout("30", List.of());
+
+        assertFalse(below.isEnabled(KEY, "USER00000001", Map.of()));
+        assertTrue(at.isEnabled(KEY, "USER00000001", Map.of()));
+        assertTrue(thirty.isEnabled(KEY, "USER00000002", Map.of()));
+        assertFalse(thirty.isEnabled(KEY, "USER00000003", Map.of()));
+    }
+
+    @Test
+    void anonymousCallersOnlySeeFullRollout() {
+        assertTrue(rollout(null, List.of()).isEnabled(KEY, null, Map.of()));
+        assertTrue(rollout("100", List.of()).isEnabled(KEY, null, Map.of()));
+        assertFalse(rollout("99.99", List.of()).isEnabled(KEY, null, Map.of()));
+    }
+
+    @Test
+    void firstMatchingRuleWinsOverPercentageButNotOverInactive() {
+        List<TargetingRule> rules = List.of(
+                new TargetingRule(TargetingRule.Type.ATTRIBUTE_EQUALS, "country", List.of("NL"), false),
+                new TargetingRule(TargetingRule.Type.ATTRIBUTE_IN, "plan", List.of("gold", "silver"), true));
+        SwitchValue value = rollout("100", rules);
+
+        assertFalse(value.isEnabled(KEY, "USER00000001", Map.of("country", "NL", "plan", "gold")));
+        assertTrue(rollout("0", rules).isEnabled(KEY, null, Map.of("plan", "silver")));
+        assertTrue(value.isEnabled(KEY, "USER00000001", Map.of("country", "DE")));
+        assertFalse(new SwitchValue("true", false, null, rules).isEnabled(KEY, null, Map.of("plan", "gold")));
+    }
+
+    private static SwitchValue rollout(String percentage, List<TargetingRule> rules) {
+        return new SwitchValue("true", true, percentage != null ? new BigDecimal(percentage) : null, rules);
+    }
+}
@@ -0,0 +1,80 @@
+package com.codemaster.switchadmin.config;
+
+import com.codemaster.switchadmin.monitoring.JfrEvents;
+import com.codemaster.switchadmin.monitoring.RepositoryCallInterceptor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Registers the application's JFR events when {@code monitoring.jfr.enabled} is set. Without
+ * it the events stay unregistered and repositories are not wrapped, so there is no cost at all.
+ */
+@Configuration
+@ConditionalOnProperty(name = "monitoring.jfr.enabled", havingValue = "true")
+public class JfrConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrConfig.class);
+
+    @PostConstruct
+    public void registerEvents() {
+        JfrEvents.register();
+        logger.info("JFR events registered; start a recording with jcmd <pid> JFR.start to capture them");
+    }
+
+    @PreDestroy
+    public void unregisterEvents() {
+        JfrEvents.unregister();
+    }
+
+    /**
+     * Wraps every repository so each call emits a {@code RepositoryCallEvent}: Spring Data
+     * repositories through their factory, and the {@code @Repository} JDBC classes, which
+     * carry the write path, with a class proxy.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryCallEvents() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    new RepositoryCallInterceptor(information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                Class<?> targetClass = AopUtils.getTargetClass(bean);
+                // Spring Data repositories were already wrapped by their factory
+                if (bean instanceof org.springframework.data.repository.Repository<?, ?>
+                        || !AnnotatedElementUtils.hasAnnotation(targetClass, Repository.class)) {
+                    return bean;
+                }
+                RepositoryCallInterceptor interceptor = new RepositoryCallInterceptor(targetClass);
+                // Already proxied, e.g. for exception translation: join that proxy instead of nesting one
+                if (bean instanceof Advised advised && !advised.isFrozen()) {
+                    advised.addAdvice(interceptor);
+                    return bean;
+                }
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.setProxyTargetClass(true);
+                proxyFactory.addAdvice(interceptor);
+                return proxyFactory.getProxy();
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.codemaster.switchadmin.config;
+
+import com.codemaster.switchadmin.datasource.EndpointMetricsTrackerFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Makes {@code @Timed} work on Spring beans.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Installs {@link EndpointMetricsTrackerFactory} on every Hikari pool before it starts.
+     * Boot then leaves the pool's metrics alone, and the factory registers the standard ones itself.
+     */
+    @Bean
+    public static BeanPostProcessor hikariEndpointMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && dataSource.getMetricRegistry() == null
+                        && dataSource.getMetricsTrackerFactory() == null) {
+                    dataSource.setMetricsTrackerFactory(new EndpointMetricsTrackerFactory(meterRegistry::getObject));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -4,15 +4,27 @@ import com.codemaster.switchadmin.exception.ApiError;
 import com.codemaster.switchadmin.filter.JwtAccessDeniedHandler;
 import com.codemaster.switchadmin.filter.JwtAuthenticationEntryPoint;
 import com.codemaster.switchadmin.filter.JwtAuthenticationFilter;
+import com.codemaster.switchadmin.security.PermissionAuthorizationManager;
+import com.codemaster.switchadmin.security.RequirePermissions;
 import com.codemaster.switchadmin.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -50,6 +62,8 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Completing a long poll re-dispatches a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/v1/auth/**",
                                 "/v3/api-docs/**",
@@ -69,6 +83,22 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Enforces {@link RequirePermissions} at the same point in the chain as {@code @PreAuthorize}.
+     * The manager is looked up on first use so this infrastructure bean does not pull the
+     * repositories in early.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requirePermissionsAuthorization(ObjectProvider<PermissionAuthorizationManager> authorizationManager) {
+        AuthorizationManager<MethodInvocation> manager =
+                (authentication, invocation) -> authorizationManager.getObject().authorize(authentication, invocation);
+        AuthorizationManagerBeforeMethodInterceptor interceptor = new AuthorizationManagerBeforeMethodInterceptor(
+                new AnnotationMatchingPointcut(null, RequirePermissions.class, true), manager);
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
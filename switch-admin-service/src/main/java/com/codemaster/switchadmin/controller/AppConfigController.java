@@ -2,46 +2,187 @@ package com.codemaster.switchadmin.controller;
 
 import com.codemaster.switchadmin.dto.AppConfigRequest;
 import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.dto.AppConfigVersionResponse;
+import com.codemaster.switchadmin.dto.ConfigAsOfResponse;
+import com.codemaster.switchadmin.dto.ConfigChangesResponse;
+import com.codemaster.switchadmin.dto.ConfigImportResponse;
+import com.codemaster.switchadmin.dto.ConfigLookupRequest;
+import com.codemaster.switchadmin.dto.ConfigLookupResponse;
+import com.codemaster.switchadmin.dto.SwitchEvaluationRequest;
+import com.codemaster.switchadmin.dto.SwitchEvaluationResponse;
+import com.codemaster.switchadmin.security.RequirePermissions;
 import com.codemaster.switchadmin.service.AppConfigService;
+import com.codemaster.switchadmin.service.ConfigBulkService;
+import com.codemaster.switchadmin.service.ConfigHistoryService;
+import com.codemaster.switchadmin.service.ConfigSnapshotService;
+import com.codemaster.switchadmin.service.ConfigWatchService;
+import com.codemaster.switchadmin.service.SwitchEvaluationService;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/app-configs")
 public class AppConfigController {
     private final AppConfigService appConfigService;
+    private final ConfigWatchService configWatchService;
+    private final ConfigBulkService configBulkService;
+    private final SwitchEvaluationService switchEvaluationService;
+    private final ConfigHistoryService configHistoryService;
+    private final Duration maxWatchTimeout;
 
-    public AppConfigController(AppConfigService appConfigService) {
+    public AppConfigController(AppConfigService appConfigService, ConfigWatchService configWatchService,
+                               ConfigBulkService configBulkService, SwitchEvaluationService switchEvaluationService,
+                               ConfigHistoryService configHistoryService,
+                               @Value("${config.watch.max-timeout}") Duration maxWatchTimeout) {
         this.appConfigService = appConfigService;
+        this.configWatchService = configWatchService;
+        this.configBulkService = configBulkService;
+        this.switchEvaluationService = switchEvaluationService;
+        this.configHistoryService = configHistoryService;
+        this.maxWatchTimeout = maxWatchTimeout;
     }
 
-    @PreAuthorize("@permissionChecker.hasAllPermissions(authentication, 'CONFIG_READ')")
+    @RequirePermissions("CONFIG_READ")
     @GetMapping
-    public ResponseEntity<List<AppConfigResponse>> getAllConfigs() {
-        return ResponseEntity.ok(appConfigService.getAllConfigs());
+    public ResponseEntity<byte[]> getAllConfigs(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ConfigSnapshotService.Snapshot snapshot = appConfigService.getConfigSnapshot();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        // A client holding either encoding of this revision is up to date, whichever one it asks for now
+        String matched = matchingETag(ifNoneMatch, snapshot, gzip);
+        if (matched != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(matched)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.eTag(snapshot.gzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(snapshot.gzipJson());
+        }
+        return response.eTag(snapshot.etag()).body(snapshot.json());
     }
 
-    @PreAuthorize("@permissionChecker.hasAllPermissions(authentication, 'CONFIG_READ')")
+    @RequirePermissions("CONFIG_READ")
+    @GetMapping("/changes")
+    public ResponseEntity<ConfigChangesResponse> getChanges(
+            @RequestParam long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(appConfigService.getChangesSince(since, limit));
+    }
+
+    /**
+     * Long poll: answers as soon as a revision after {@code since} commits, or with no
+     * changes once {@code timeoutSeconds} elapse.
+     */
+    @RequirePermissions("CONFIG_READ")
+    @GetMapping("/watch")
+    public DeferredResult<ResponseEntity<byte[]>> watchChanges(
+            @RequestParam long since,
+            @RequestParam(defaultValue = "30") long timeoutSeconds) {
+        Duration timeout = Duration.ofSeconds(Math.max(1, timeoutSeconds));
+        return configWatchService.watch(since, timeout.compareTo(maxWatchTimeout) > 0 ? maxWatchTimeout : timeout);
+    }
+
+    /**
+     * Streams every config as JSON lines ({@code format=NDJSON}) or CSV; the output can be
+     * posted back to {@code /import} unchanged.
+     */
+    @RequirePermissions("CONFIG_READ")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportConfigs(
+            @RequestParam(defaultValue = "NDJSON") ConfigBulkService.Format format) {
+        String filename = "app-configs." + (format == ConfigBulkService.Format.CSV ? "csv" : "ndjson");
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(out -> configBulkService.exportConfigs(out, format));
+    }
+
+    /**
+     * Every config as it was at a revision, or at a timestamp ({@code at}, ISO local date-time).
+     */
+    @RequirePermissions("CONFIG_READ")
+    @GetMapping("/as-of")
+    public ResponseEntity<ConfigAsOfResponse> getConfigsAsOf(
+            @RequestParam(required = false) Long revision,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(configHistoryService.getConfigsAsOf(revision, at));
+    }
+
+    @RequirePermissions("CONFIG_READ")
     @GetMapping("/{configId}")
     public ResponseEntity<AppConfigResponse> getConfigById(@PathVariable String configId) {
         return ResponseEntity.ok(appConfigService.getConfigById(configId));
     }
 
-    @PreAuthorize("@permissionChecker.hasAllPermissions(authentication, 'CONFIG_READ')")
+    @RequirePermissions("CONFIG_READ")
+    @GetMapping("/{configId}/versions")
+    public ResponseEntity<List<AppConfigVersionResponse>> getConfigVersions(@PathVariable String configId) {
+        return ResponseEntity.ok(configHistoryService.getVersions(configId));
+    }
+
+    @RequirePermissions("CONFIG_READ")
     @GetMapping("/key/{configKey}")
     public ResponseEntity<AppConfigResponse> getConfigByKey(@PathVariable String configKey) {
         return ResponseEntity.ok(appConfigService.getConfigByKey(configKey));
     }
 
-    @PreAuthorize("@permissionChecker.hasAllPermissions(authentication, 'CONFIG_CREATE')")
+    @RequirePermissions("CONFIG_READ")
+    @GetMapping("/key/{configKey}/as-of")
+    public ResponseEntity<AppConfigVersionResponse> getConfigByKeyAsOf(
+            @PathVariable String configKey,
+            @RequestParam(required = false) Long revision,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(configHistoryService.getConfigAsOf(configKey, revision, at));
+    }
+
+    /**
+     * Values and active states for many keys in one call; unknown keys are listed under {@code missing}.
+     */
+    @RequirePermissions("CONFIG_READ")
+    @PostMapping("/lookup")
+    public ResponseEntity<ConfigLookupResponse> lookupConfigs(@Valid @RequestBody ConfigLookupRequest request) {
+        return ResponseEntity.ok(appConfigService.lookupConfigs(request.getKeys()));
+    }
+
+    /**
+     * Whether each switch is on for the given user and attributes, after targeting rules and
+     * rollout percentage.
+     */
+    @RequirePermissions("CONFIG_READ")
+    @PostMapping("/evaluate")
+    public ResponseEntity<SwitchEvaluationResponse> evaluateSwitches(@Valid @RequestBody SwitchEvaluationRequest request) {
+        return ResponseEntity.ok(switchEvaluationService.evaluate(
+                request.getUserId(),
+                request.getAttributes(),
+                request.getKeys()
+        ));
+    }
+
+    @RequirePermissions("CONFIG_CREATE")
     @PostMapping
     public ResponseEntity<AppConfigResponse> createConfig(
             @Valid @RequestBody AppConfigRequest request,
@@ -60,7 +201,25 @@ public class AppConfigController {
         return ResponseEntity.created(location).body(response);
     }
 
-    @PreAuthorize("@permissionChecker.hasAllPermissions(authentication, 'CONFIG_UPDATE')")
+    /**
+     * Upserts configs by key from a JSON lines or CSV body, read as a stream and written in
+     * chunks. Records before a failing one stay imported.
+     */
+    @RequirePermissions({"CONFIG_CREATE", "CONFIG_UPDATE"})
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<ConfigImportResponse> importConfigs(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        return ResponseEntity.ok(configBulkService.importConfigs(
+                body,
+                ConfigBulkService.Format.of(contentType),
+                userDetails.getUsername()
+        ));
+    }
+
+    @RequirePermissions("CONFIG_UPDATE")
     @PutMapping("/{configId}")
     public ResponseEntity<AppConfigResponse> updateConfig(
             @PathVariable String configId,
@@ -74,7 +233,24 @@ public class AppConfigController {
         ));
     }
 
-    @PreAuthorize("@permissionChecker.hasAllPermissions(authentication, 'CONFIG_STATUS_UPDATE')")
+    /**
+     * Restores the version that was current at {@code revision}, as a new change.
+     */
+    @RequirePermissions("CONFIG_UPDATE")
+    @PostMapping("/{configId}/rollback")
+    public ResponseEntity<AppConfigResponse> rollbackConfig(
+            @PathVariable String configId,
+            @RequestParam long revision,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        return ResponseEntity.ok(appConfigService.rollbackConfig(
+                configId,
+                revision,
+                userDetails.getUsername()
+        ));
+    }
+
+    @RequirePermissions("CONFIG_STATUS_UPDATE")
     @PatchMapping("/{configId}/status")
     public ResponseEntity<AppConfigResponse> toggleConfigStatus(
             @PathVariable String configId,
@@ -88,7 +264,7 @@ public class AppConfigController {
         ));
     }
 
-    @PreAuthorize("@permissionChecker.hasAllPermissions(authentication, 'CONFIG_DELETE')")
+    @RequirePermissions("CONFIG_DELETE")
     @DeleteMapping("/{configId}")
     public ResponseEntity<Void> deleteConfig(
             @PathVariable String configId,
@@ -98,4 +274,40 @@ public class AppConfigController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * The entity tag in {@code If-None-Match} naming the snapshot in either encoding, or
+     * {@code null} if there is none. {@code *} stands for the encoding being asked for.
+     */
+    private static String matchingETag(String ifNoneMatch, ConfigSnapshotService.Snapshot snapshot, boolean gzip) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return gzip ? snapshot.gzipEtag() : snapshot.etag();
+            }
+            // If-None-Match compares weakly
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(snapshot.etag()) || tag.equals(snapshot.gzipEtag())) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,56 @@
+package com.codemaster.switchadmin.controller;
+
+import com.codemaster.switchadmin.dto.AuditTrailDetailResponse;
+import com.codemaster.switchadmin.dto.AuditTrailPageResponse;
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
+import com.codemaster.switchadmin.security.RequirePermissions;
+import com.codemaster.switchadmin.service.AuditQueryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/audit-trail")
+public class AuditTrailController {
+
+    private final AuditQueryService auditQueryService;
+
+    public AuditTrailController(AuditQueryService auditQueryService) {
+        this.auditQueryService = auditQueryService;
+    }
+
+    /**
+     * Audit records newest first, without their CLOB columns. Every filter is optional;
+     * {@code from} is inclusive and {@code to} exclusive (ISO local date-time). Pass the
+     * returned {@code nextCursor} as {@code after} for the next page.
+     */
+    @RequirePermissions("AUDIT_READ")
+    @GetMapping
+    public ResponseEntity<AuditTrailPageResponse> getAudits(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String targetEntity,
+            @RequestParam(required = false) String targetEntityId,
+            @RequestParam(required = false) AuditTrail.ActionType actionType,
+            @RequestParam(required = false) AuditTrail.ActionStatus actionStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        AuditTrailJdbcRepository.Filter filter = new AuditTrailJdbcRepository.Filter(userId, targetEntity,
+                targetEntityId, actionType, actionStatus, from, to);
+        return ResponseEntity.ok(auditQueryService.findAudits(filter, after, limit));
+    }
+
+    @RequirePermissions("AUDIT_READ")
+    @GetMapping("/{auditId}")
+    public ResponseEntity<AuditTrailDetailResponse> getAudit(@PathVariable String auditId) {
+        return ResponseEntity.ok(auditQueryService.getAudit(auditId));
+    }
+}
@@ -1,6 +1,6 @@
 package com.codemaster.switchadmin.controller;
 
-import org.springframework.security.access.prepost.PreAuthorize;
+import com.codemaster.switchadmin.security.RequirePermissions;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -10,7 +10,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class TestController {
 
     @GetMapping("/hello")
-    @PreAuthorize("@permissionChecker.hasAllPermissions(authentication, 'USER_CREATE')")
+    @RequirePermissions("USER_CREATE")
     public String sayHello()
     {
         return "Hello";
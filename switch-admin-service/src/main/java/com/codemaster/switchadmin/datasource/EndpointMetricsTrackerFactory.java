@@ -0,0 +1,124 @@
+package com.codemaster.switchadmin.datasource;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Hikari metrics tracker that keeps the standard {@code hikari.*} pool meters and also
+ * records connection waits per endpoint: {@code db.connection.acquire} (timer) and
+ * {@code db.connection.timeouts} (counter), tagged with the pool and the request's method and
+ * URI pattern. Work outside a request is tagged {@code none}; requests not (yet) matched to a
+ * handler, such as the JWT filter's, {@code UNKNOWN}.
+ */
+public class EndpointMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private static final String NONE = "none";
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    public EndpointMetricsTrackerFactory(Supplier<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        MeterRegistry registry = meterRegistry.get();
+        return new Tracker(new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats), registry, poolName);
+    }
+
+    private static final class Tracker implements IMetricsTracker {
+
+        private final IMetricsTracker delegate;
+        private final MeterRegistry meterRegistry;
+        private final String poolName;
+        private final Map<Endpoint, Meters> metersByEndpoint = new ConcurrentHashMap<>();
+
+        private Tracker(IMetricsTracker delegate, MeterRegistry meterRegistry, String poolName) {
+            this.delegate = delegate;
+            this.meterRegistry = meterRegistry;
+            this.poolName = poolName;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            meters().acquire().record(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            delegate.recordConnectionTimeout();
+            meters().timeouts().increment();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+            metersByEndpoint.values().forEach(meters -> {
+                meterRegistry.remove(meters.acquire());
+                meterRegistry.remove(meters.timeouts());
+            });
+        }
+
+        private Meters meters() {
+            Endpoint endpoint = currentEndpoint();
+            Meters meters = metersByEndpoint.get(endpoint);
+            return meters != null ? meters : metersByEndpoint.computeIfAbsent(endpoint, this::register);
+        }
+
+        private Meters register(Endpoint endpoint) {
+            Timer acquire = Timer.builder("db.connection.acquire")
+                    .description("Time spent waiting for a pooled connection, by endpoint")
+                    .tags("pool", poolName, "method", endpoint.method(), "uri", endpoint.uri())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            Counter timeouts = Counter.builder("db.connection.timeouts")
+                    .description("Connection requests that timed out, by endpoint")
+                    .tags("pool", poolName, "method", endpoint.method(), "uri", endpoint.uri())
+                    .register(meterRegistry);
+            return new Meters(acquire, timeouts);
+        }
+
+        private static Endpoint currentEndpoint() {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+                return new Endpoint(NONE, NONE);
+            }
+            HttpServletRequest request = servletAttributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return new Endpoint(request.getMethod(), pattern != null ? pattern.toString() : UNKNOWN);
+        }
+    }
+
+    private record Endpoint(String method, String uri) {
+    }
+
+    private record Meters(Timer acquire, Counter timeouts) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.codemaster.switchadmin.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Tells {@link ReplicaRoutingDataSource} whether the replica may serve reads.
+ * <p>
+ * Each check reads CONFIG_REVISION on both databases. The replica is usable while that
+ * query succeeds and it has not been behind the primary for longer than
+ * {@code replica.max-staleness}; a replica that is briefly behind keeps serving, one that
+ * stays behind (stopped apply, long lag) does not until it catches up. Until the first
+ * check completes the replica is not used.
+ */
+public class ReplicaHealthMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    private static final String REVISION_SQL = "SELECT REVISION FROM CONFIG_REVISION WHERE REVISION_ID = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxStalenessNanos;
+
+    private volatile boolean replicaUsable;
+    private volatile long replicaRevision = -1;
+    private long behindSinceNanos = -1;
+
+    public ReplicaHealthMonitor(JdbcTemplate primary, JdbcTemplate replica, Duration maxStaleness) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * CONFIG_REVISION on the replica at the last successful check; -1 before that.
+     */
+    public long getReplicaRevision() {
+        return replicaRevision;
+    }
+
+    @Scheduled(fixedDelayString = "${replica.health-check-interval}")
+    public synchronized void check() {
+        boolean usable;
+        try {
+            long replicaNow = replica.queryForObject(REVISION_SQL, Long.class);
+            long primaryNow = primary.queryForObject(REVISION_SQL, Long.class);
+            long now = System.nanoTime();
+            if (replicaNow >= primaryNow) {
+                behindSinceNanos = -1;
+            } else if (behindSinceNanos < 0) {
+                behindSinceNanos = now;
+            }
+            replicaRevision = replicaNow;
+            usable = behindSinceNanos < 0 || now - behindSinceNanos <= maxStalenessNanos;
+            if (!usable && replicaUsable) {
+                logger.warn("Replica at revision {} has been behind the primary (revision {}) for more than {} ms; reading from the primary",
+                        replicaNow, primaryNow, Duration.ofNanos(maxStalenessNanos).toMillis());
+            }
+        } catch (RuntimeException e) {
+            usable = false;
+            if (replicaUsable) {
+                logger.warn("Replica health check failed; reading from the primary: {}", e.getMessage());
+            }
+        }
+        if (usable && !replicaUsable) {
+            logger.info("Replica at revision {} is serving read-only transactions", replicaRevision);
+        }
+        replicaUsable = usable;
+    }
+}
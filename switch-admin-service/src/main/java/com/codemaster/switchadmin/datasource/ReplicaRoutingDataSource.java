@@ -0,0 +1,108 @@
+package com.codemaster.switchadmin.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * A read-only transaction still goes to the primary when
+ * <ul>
+ *     <li>{@link ReplicaHealthMonitor} reports the replica unreachable or behind for longer than allowed,</li>
+ *     <li>the authenticated user opened a read-write transaction within the read-after-write window, or</li>
+ *     <li>the thread asked for a config revision the replica has not reached, see {@link #requireRevision(long)}.</li>
+ * </ul>
+ * The decision is made when the first statement needs a connection, so this must sit behind a
+ * {@link LazyConnectionDataSourceProxy}: by then the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Long> REQUIRED_REVISION = new ThreadLocal<>();
+
+    private final ReplicaHealthMonitor healthMonitor;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealthMonitor healthMonitor,
+                                    Duration readAfterWriteWindow) {
+        this.healthMonitor = healthMonitor;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(readAfterWriteWindow)
+                .build();
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Wraps the routing data source in the lazy proxy it needs.
+     */
+    public static DataSource lazy(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Until the returned scope is closed, connections obtained on this thread come from the
+     * replica only if it has applied at least {@code revision}. Scopes nest; the innermost wins.
+     */
+    public static RevisionScope requireRevision(long revision) {
+        Long previous = REQUIRED_REVISION.get();
+        REQUIRED_REVISION.set(revision);
+        return () -> {
+            if (previous != null) {
+                REQUIRED_REVISION.set(previous);
+            } else {
+                REQUIRED_REVISION.remove();
+            }
+        };
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+            return Route.PRIMARY;
+        }
+        if (!healthMonitor.isReplicaUsable()) {
+            return Route.PRIMARY;
+        }
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return Route.PRIMARY;
+        }
+        Long requiredRevision = REQUIRED_REVISION.get();
+        if (requiredRevision != null && healthMonitor.getReplicaRevision() < requiredRevision) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    @FunctionalInterface
+    public interface RevisionScope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -1,9 +1,17 @@
 package com.codemaster.switchadmin.dto;
 
+import com.codemaster.switchadmin.model.TargetingRule;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 @Data
 public class AppConfigRequest {
     @NotBlank
@@ -18,4 +26,11 @@ public class AppConfigRequest {
     String description;
 
     boolean active;
+
+    @DecimalMin("0")
+    @DecimalMax("100")
+    @Digits(integer = 3, fraction = 2)
+    BigDecimal rolloutPercentage;
+
+    List<@Valid TargetingRule> targetingRules;
 }
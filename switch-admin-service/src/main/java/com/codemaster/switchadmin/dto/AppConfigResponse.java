@@ -1,5 +1,6 @@
 package com.codemaster.switchadmin.dto;
 
+import com.codemaster.switchadmin.model.TargetingRule;
 import jakarta.persistence.Column;
 import lombok.Builder;
 import lombok.Data;
@@ -7,7 +8,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Nationalized;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 public class AppConfigResponse {
@@ -17,6 +20,8 @@ public class AppConfigResponse {
     private String configValue;
     private String description;
     private boolean active;
+    private BigDecimal rolloutPercentage;
+    private List<TargetingRule> targetingRules;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
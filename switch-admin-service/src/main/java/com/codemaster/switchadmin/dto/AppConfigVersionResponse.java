@@ -0,0 +1,38 @@
+package com.codemaster.switchadmin.dto;
+
+import com.codemaster.switchadmin.model.TargetingRule;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One version of a config, valid for revisions {@code validFromRevision} (inclusive) up
+ * to {@code validToRevision} (exclusive).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppConfigVersionResponse {
+
+    private String configId;
+    private String configKey;
+    private String configValue;
+    private String description;
+    private boolean active;
+    private BigDecimal rolloutPercentage;
+    private List<TargetingRule> targetingRules;
+    private long validFromRevision;
+
+    /**
+     * {@code null} while this is the current version.
+     */
+    private Long validToRevision;
+
+    private LocalDateTime changedAt;
+}
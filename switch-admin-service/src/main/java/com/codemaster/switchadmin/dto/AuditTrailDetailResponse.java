@@ -0,0 +1,43 @@
+package com.codemaster.switchadmin.dto;
+
+import com.codemaster.switchadmin.entity.AuditTrail;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One audit record with its CLOB columns.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditTrailDetailResponse {
+
+    private String auditId;
+    private String userId;
+    private String userName;
+    private AuditTrail.ActionType actionType;
+    private String targetEntity;
+    private String targetEntityId;
+    private AuditTrail.ActionStatus actionStatus;
+    private String ipAddress;
+    private AuditTrail.AuthMethod authMethod;
+    private boolean sensitive;
+    private LocalDateTime actionTimestamp;
+    private String actionDescription;
+    private String errorMessage;
+    private String userAgent;
+    private AuditTrail.ValueFormat valueFormat;
+
+    /**
+     * The changed fields as a JSON object for {@code JSON_DIFF} records, the stored text as
+     * is for {@code TEXT} ones.
+     */
+    private Object oldValue;
+
+    private Object newValue;
+}
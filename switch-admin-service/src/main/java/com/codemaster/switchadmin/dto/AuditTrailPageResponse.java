@@ -0,0 +1,27 @@
+package com.codemaster.switchadmin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditTrailPageResponse {
+
+    /**
+     * Matching records, newest first.
+     */
+    private List<AuditTrailSummaryResponse> records;
+
+    /**
+     * Cursor to pass as {@code after} for the next page; {@code null} on the last one.
+     */
+    private String nextCursor;
+
+    private boolean hasMore;
+}
@@ -0,0 +1,31 @@
+package com.codemaster.switchadmin.dto;
+
+import com.codemaster.switchadmin.entity.AuditTrail;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One audit record in a list page: the indexed columns only, none of the CLOBs.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditTrailSummaryResponse {
+
+    private String auditId;
+    private String userId;
+    private String userName;
+    private AuditTrail.ActionType actionType;
+    private String targetEntity;
+    private String targetEntityId;
+    private AuditTrail.ActionStatus actionStatus;
+    private String ipAddress;
+    private AuditTrail.AuthMethod authMethod;
+    private boolean sensitive;
+    private LocalDateTime actionTimestamp;
+}
@@ -0,0 +1,25 @@
+package com.codemaster.switchadmin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigAsOfResponse {
+
+    /**
+     * Revision the configs were read at; a timestamp is resolved to the last revision before it.
+     */
+    private long revision;
+
+    /**
+     * Every config that existed at that revision, ordered by key.
+     */
+    private List<AppConfigVersionResponse> configs;
+}
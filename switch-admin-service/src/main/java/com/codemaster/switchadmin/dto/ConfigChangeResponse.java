@@ -0,0 +1,33 @@
+package com.codemaster.switchadmin.dto;
+
+import com.codemaster.switchadmin.model.TargetingRule;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigChangeResponse {
+
+    private long revision;
+    private ChangeType changeType;
+    private String configId;
+    private String configKey;
+    private String previousConfigKey;
+    private String configValue;
+    private boolean active;
+    private BigDecimal rolloutPercentage;
+    private List<TargetingRule> targetingRules;
+    private LocalDateTime changedAt;
+
+    public enum ChangeType {
+        CREATE, UPDATE, DELETE
+    }
+}
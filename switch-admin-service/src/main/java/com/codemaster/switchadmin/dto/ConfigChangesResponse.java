@@ -0,0 +1,30 @@
+package com.codemaster.switchadmin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigChangesResponse {
+
+    /**
+     * Changes after the requested revision, oldest first.
+     */
+    private List<ConfigChangeResponse> changes;
+
+    /**
+     * Revision to pass as {@code since} on the next call.
+     */
+    private long highWaterMark;
+
+    /**
+     * Whether more changes are waiting beyond {@link #highWaterMark}.
+     */
+    private boolean hasMore;
+}
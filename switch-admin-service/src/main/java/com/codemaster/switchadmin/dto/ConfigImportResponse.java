@@ -0,0 +1,27 @@
+package com.codemaster.switchadmin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigImportResponse {
+
+    private int created;
+    private int updated;
+    private int unchanged;
+
+    /**
+     * Records superseded by a later record with the same key in the same chunk.
+     */
+    private int duplicates;
+
+    /**
+     * Config revision after the last chunk; unchanged when nothing was written.
+     */
+    private long revision;
+}
@@ -0,0 +1,17 @@
+package com.codemaster.switchadmin.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ConfigLookupRequest {
+
+    // Bounded by Oracle's 1000-expression IN list used for the fallback query
+    @NotEmpty
+    @Size(max = 1000)
+    List<@NotBlank @Size(max = 100) String> keys;
+}
@@ -0,0 +1,41 @@
+package com.codemaster.switchadmin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigLookupResponse {
+
+    /**
+     * Revision of the snapshot the values were read from or, when that snapshot was behind
+     * and they were read from the database, the newest revision known to have committed
+     * before the read. The values are never older than this revision.
+     */
+    private long revision;
+
+    /**
+     * Found configs by key, in request order.
+     */
+    private Map<String, ConfigValue> configs;
+
+    /**
+     * Requested keys with no config; callers apply their defaults.
+     */
+    private List<String> missing;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ConfigValue {
+        private String value;
+        private boolean active;
+    }
+}
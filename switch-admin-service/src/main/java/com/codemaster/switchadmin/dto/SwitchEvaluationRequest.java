@@ -0,0 +1,25 @@
+package com.codemaster.switchadmin.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class SwitchEvaluationRequest {
+
+    /**
+     * Subject of the evaluation; without it only fully rolled out switches can be on.
+     */
+    @Size(max = 200)
+    String userId;
+
+    Map<String, String> attributes;
+
+    @NotEmpty
+    @Size(max = 1000)
+    List<@NotBlank @Size(max = 100) String> keys;
+}
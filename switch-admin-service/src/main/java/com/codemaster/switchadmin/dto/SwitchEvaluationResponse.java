@@ -0,0 +1,31 @@
+package com.codemaster.switchadmin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SwitchEvaluationResponse {
+
+    /**
+     * Revision of the snapshot the rules were compiled from.
+     */
+    private long revision;
+
+    /**
+     * Whether each found switch is on for the caller, in request order.
+     */
+    private Map<String, Boolean> switches;
+
+    /**
+     * Requested keys with no config; callers apply their defaults.
+     */
+    private List<String> missing;
+}
@@ -1,6 +1,8 @@
 package com.codemaster.switchadmin.entity;
 
+import com.codemaster.switchadmin.entity.converter.TargetingRulesConverter;
 import com.codemaster.switchadmin.entity.generator.StringPrefixedSequenceIdGenerator;
+import com.codemaster.switchadmin.model.TargetingRule;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -9,7 +11,10 @@ import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.Nationalized;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "APP_CONFIG")
@@ -28,7 +33,9 @@ public class AppConfig {
             parameters = {
                     @Parameter(name = StringPrefixedSequenceIdGenerator.SEQUENCE_PARAM, value = "APP_CONFIG_SEQ"),
                     @Parameter(name = StringPrefixedSequenceIdGenerator.INITIAL_PARAM, value = "1"),
-                    @Parameter(name = StringPrefixedSequenceIdGenerator.INCREMENT_PARAM, value = "1"),
+                    @Parameter(name = StringPrefixedSequenceIdGenerator.INCREMENT_PARAM,
+                            value = StringPrefixedSequenceIdGenerator.POOLED_INCREMENT_VALUE),
+                    @Parameter(name = StringPrefixedSequenceIdGenerator.OPT_PARAM, value = StringPrefixedSequenceIdGenerator.POOLED_LO_OPTIMIZER),
                     @Parameter(name = StringPrefixedSequenceIdGenerator.VALUE_PREFIX_PARAMETER, value = "CONF"),
                     @Parameter(name = StringPrefixedSequenceIdGenerator.NUMBER_FORMAT_PARAMETER, value = "%08d")
             }
@@ -52,6 +59,18 @@ public class AppConfig {
     @Builder.Default
     private boolean active = true;
 
+    /**
+     * Share of users the active config is on for; {@code null} means everyone.
+     */
+    @Column(name = "ROLLOUT_PERCENTAGE", precision = 5, scale = 2)
+    private BigDecimal rolloutPercentage;
+
+    @Lob
+    @Column(name = "TARGETING_RULES")
+    @Convert(converter = TargetingRulesConverter.class)
+    @Builder.Default
+    private List<TargetingRule> targetingRules = new ArrayList<>();
+
     @Column(name = "CREATED_AT", updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
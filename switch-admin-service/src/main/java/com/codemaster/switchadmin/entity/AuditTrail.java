@@ -27,7 +27,9 @@ public class AuditTrail {
             parameters = {
                     @Parameter(name = StringPrefixedSequenceIdGenerator.SEQUENCE_PARAM, value = "AUDIT_TRAIL_SEQ"),
                     @Parameter(name = StringPrefixedSequenceIdGenerator.INITIAL_PARAM, value = "1"),
-                    @Parameter(name = StringPrefixedSequenceIdGenerator.INCREMENT_PARAM, value = "1"),
+                    @Parameter(name = StringPrefixedSequenceIdGenerator.INCREMENT_PARAM,
+                            value = StringPrefixedSequenceIdGenerator.POOLED_INCREMENT_VALUE),
+                    @Parameter(name = StringPrefixedSequenceIdGenerator.OPT_PARAM, value = StringPrefixedSequenceIdGenerator.POOLED_LO_OPTIMIZER),
                     @Parameter(name = StringPrefixedSequenceIdGenerator.VALUE_PREFIX_PARAMETER, value = "ADTL"),
                     @Parameter(name = StringPrefixedSequenceIdGenerator.NUMBER_FORMAT_PARAMETER, value = "%08d")
             }
@@ -60,6 +62,11 @@ public class AuditTrail {
     @Column(name = "NEW_VALUE")
     private String newValue;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "VALUE_FORMAT", length = 10, nullable = false)
+    @Builder.Default
+    private ValueFormat valueFormat = ValueFormat.JSON_DIFF;
+
     @Lob
     @Column(name = "ACTION_DESCRIPTION", nullable = false)
     private String actionDescription;
@@ -99,6 +106,16 @@ public class AuditTrail {
         SUCCESS, FAILURE, PARTIAL, DENIED
     }
 
+    /**
+     * How OLD_VALUE and NEW_VALUE are written.
+     */
+    public enum ValueFormat {
+        /** {@code Map.toString()} of the whole config, written before V14. Not parseable. */
+        TEXT,
+        /** JSON objects holding only the changed fields, see {@code AuditValueSerializer}. */
+        JSON_DIFF
+    }
+
     public enum AuthMethod {
         JWT, OAUTH2, BASIC, API_KEY
     }
@@ -1,6 +1,7 @@
 package com.codemaster.switchadmin.entity;
 
 import com.codemaster.switchadmin.entity.generator.StringPrefixedSequenceIdGenerator;
+import com.codemaster.switchadmin.entity.listener.RolePermissionEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -14,6 +15,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "PERMISSION")
+@EntityListeners(RolePermissionEntityListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -45,6 +47,10 @@ public class Permission {
     @Column(name = "DESCRIPTION", length = 500)
     private String description;
 
+    // Assigned by the PERMISSION_BI trigger
+    @Column(name = "BIT_INDEX", insertable = false, updatable = false)
+    private Integer bitIndex;
+
     @ManyToMany(mappedBy = "permissions", fetch = FetchType.LAZY)
     @Builder.Default
     private Set<Role> roles = new HashSet<>();
@@ -1,6 +1,7 @@
 package com.codemaster.switchadmin.entity;
 
 import com.codemaster.switchadmin.entity.generator.StringPrefixedSequenceIdGenerator;
+import com.codemaster.switchadmin.entity.listener.RolePermissionEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -14,6 +15,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "ROLE")
+@EntityListeners(RolePermissionEntityListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -75,13 +77,16 @@ public class Role {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // Permission changes also touch updatedAt so the row is flushed and entity listeners see the change.
     public void addPermission(Permission permission) {
         this.permissions.add(permission);
         permission.getRoles().add(this);
+        this.updatedAt = LocalDateTime.now();
     }
 
     public void removePermission(Permission permission) {
         this.permissions.remove(permission);
         permission.getRoles().remove(this);
+        this.updatedAt = LocalDateTime.now();
     }
 }
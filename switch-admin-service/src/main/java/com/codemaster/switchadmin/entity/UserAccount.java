@@ -1,6 +1,7 @@
 package com.codemaster.switchadmin.entity;
 
 import com.codemaster.switchadmin.entity.generator.StringPrefixedSequenceIdGenerator;
+import com.codemaster.switchadmin.entity.listener.UserAccountEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -14,6 +15,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "USER_ACCOUNT")
+@EntityListeners(UserAccountEntityListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -29,7 +31,9 @@ public class UserAccount {
             parameters = {
                     @Parameter(name = StringPrefixedSequenceIdGenerator.SEQUENCE_PARAM, value = "USER_ACCOUNT_SEQ"),
                     @Parameter(name = StringPrefixedSequenceIdGenerator.INITIAL_PARAM, value = "1"),
-                    @Parameter(name = StringPrefixedSequenceIdGenerator.INCREMENT_PARAM, value = "1"),
+                    @Parameter(name = StringPrefixedSequenceIdGenerator.INCREMENT_PARAM,
+                            value = StringPrefixedSequenceIdGenerator.POOLED_INCREMENT_VALUE),
+                    @Parameter(name = StringPrefixedSequenceIdGenerator.OPT_PARAM, value = StringPrefixedSequenceIdGenerator.POOLED_LO_OPTIMIZER),
                     @Parameter(name = StringPrefixedSequenceIdGenerator.VALUE_PREFIX_PARAMETER, value = "USER"),
                     @Parameter(name = StringPrefixedSequenceIdGenerator.NUMBER_FORMAT_PARAMETER, value = "%08d")
             }
@@ -79,14 +83,17 @@ public class UserAccount {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // Role changes also touch updatedAt so the row is flushed and entity listeners see the change.
     public void addRole(Role role) {
         this.roles.add(role);
         role.getUserAccounts().add(this);
+        this.updatedAt = LocalDateTime.now();
     }
 
     public void removeRole(Role role) {
         this.roles.remove(role);
         role.getUserAccounts().remove(this);
+        this.updatedAt = LocalDateTime.now();
     }
 
     public String getFullName() {
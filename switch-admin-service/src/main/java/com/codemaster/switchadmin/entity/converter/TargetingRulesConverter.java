@@ -0,0 +1,58 @@
+package com.codemaster.switchadmin.entity.converter;
+
+import com.codemaster.switchadmin.model.TargetingRule;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+/**
+ * Maps the targeting rules of a config to the JSON array in APP_CONFIG.TARGETING_RULES.
+ * An empty list is stored as {@code NULL}.
+ */
+@Converter
+public class TargetingRulesConverter implements AttributeConverter<List<TargetingRule>, String> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectReader READER = OBJECT_MAPPER.readerFor(new TypeReference<List<TargetingRule>>() {
+    });
+    private static final ObjectWriter WRITER = OBJECT_MAPPER.writerFor(new TypeReference<List<TargetingRule>>() {
+    });
+
+    @Override
+    public String convertToDatabaseColumn(List<TargetingRule> rules) {
+        return toJson(rules);
+    }
+
+    @Override
+    public List<TargetingRule> convertToEntityAttribute(String json) {
+        return fromJson(json);
+    }
+
+    public static String toJson(List<TargetingRule> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return null;
+        }
+        try {
+            return WRITER.writeValueAsString(rules);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize targeting rules", e);
+        }
+    }
+
+    public static List<TargetingRule> fromJson(String json) {
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+        try {
+            return READER.readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid targeting rules: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.codemaster.switchadmin.entity.generator;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Formats sequence values as prefix + zero-padded number ("CONF" + "%08d" -> CONF00000042).
+ * The common {@code %d} / {@code %0Nd} formats are written straight into the result's
+ * characters instead of going through {@link java.util.Formatter}; anything else falls back
+ * to {@link String#format}.
+ */
+public final class PrefixedIdFormatter {
+
+    private static final Pattern ZERO_PADDED = Pattern.compile("%(?:0(\\d+))?d");
+
+    private final String prefix;
+    private final String numberFormat;
+    private final int width;
+    private final boolean fast;
+
+    public PrefixedIdFormatter(String prefix, String numberFormat) {
+        this.prefix = prefix;
+        this.numberFormat = numberFormat;
+        Matcher matcher = ZERO_PADDED.matcher(numberFormat);
+        this.fast = matcher.matches();
+        this.width = fast && matcher.group(1) != null ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    public String format(long value) {
+        if (!fast || value < 0) {
+            return prefix + String.format(numberFormat, value);
+        }
+        int digits = digits(value);
+        int prefixLength = prefix.length();
+        char[] chars = new char[prefixLength + Math.max(width, digits)];
+        prefix.getChars(0, prefixLength, chars, 0);
+        for (int i = prefixLength; i < chars.length - digits; i++) {
+            chars[i] = '0';
+        }
+        for (int i = chars.length - 1; i >= chars.length - digits; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(chars);
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
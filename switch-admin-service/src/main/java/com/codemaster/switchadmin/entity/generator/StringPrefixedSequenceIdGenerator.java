@@ -23,9 +23,24 @@ public class StringPrefixedSequenceIdGenerator extends SequenceStyleGenerator {
     public static final String NUMBER_FORMAT_DEFAULT = "%d";
     private String numberFormat;
 
+    private PrefixedIdFormatter formatter;
+
+    /** Value for {@link #OPT_PARAM}: each sequence value starts a block of {@link #INCREMENT_PARAM} ids. */
+    public static final String POOLED_LO_OPTIMIZER = "pooled-lo";
+
+    /**
+     * INCREMENT BY of APP_CONFIG_SEQ, USER_ACCOUNT_SEQ and AUDIT_TRAIL_SEQ (V11). The entity
+     * generators and the JDBC {@code PooledIdAllocator}s take blocks from the same sequences,
+     * so both read the block size from here.
+     */
+    public static final int POOLED_INCREMENT = 50;
+
+    /** {@link #POOLED_INCREMENT} as an {@link #INCREMENT_PARAM} value in generator annotations. */
+    public static final String POOLED_INCREMENT_VALUE = "" + POOLED_INCREMENT;
+
     @Override
     public Object generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
-        return valuePrefix + String.format(numberFormat, super.generate(session, object));
+        return formatter.format(((Number) super.generate(session, object)).longValue());
     }
 
     @Override
@@ -36,5 +51,6 @@ public class StringPrefixedSequenceIdGenerator extends SequenceStyleGenerator {
                 parameters, VALUE_PREFIX_DEFAULT);
         numberFormat = ConfigurationHelper.getString(NUMBER_FORMAT_PARAMETER,
                 parameters, NUMBER_FORMAT_DEFAULT);
+        formatter = new PrefixedIdFormatter(valuePrefix, numberFormat);
     }
 }
@@ -0,0 +1,26 @@
+package com.codemaster.switchadmin.entity.listener;
+
+import com.codemaster.switchadmin.entity.Permission;
+import com.codemaster.switchadmin.entity.Role;
+import com.codemaster.switchadmin.event.RolePermissionsChangedEvent;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RolePermissionEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RolePermissionEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        String name = entity instanceof Role role ? role.getName() : ((Permission) entity).getName();
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent(name));
+    }
+}
@@ -0,0 +1,24 @@
+package com.codemaster.switchadmin.entity.listener;
+
+import com.codemaster.switchadmin.entity.UserAccount;
+import com.codemaster.switchadmin.event.UserAccountChangedEvent;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserAccountEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserAccountEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(UserAccount userAccount) {
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userAccount.getEmail()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.codemaster.switchadmin.event;
+
+import com.codemaster.switchadmin.dto.AppConfigResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@code AppConfigService} for every AppConfig mutation.
+ * Listeners that keep derived state should react after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class AppConfigChangedEvent {
+
+    /**
+     * CONFIG_CHANGE_LOG revision written for the change.
+     */
+    private final long revision;
+
+    /**
+     * Key the config had before the change, or {@code null} when it was created.
+     */
+    private final String previousConfigKey;
+
+    /**
+     * State of the config as committed.
+     */
+    private final AppConfigResponse config;
+}
@@ -0,0 +1,25 @@
+package com.codemaster.switchadmin.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published by {@code ConfigBulkService} once per imported chunk that changed anything,
+ * instead of one {@link AppConfigChangedEvent} per row.
+ */
+@Getter
+@AllArgsConstructor
+public class AppConfigsImportedEvent {
+
+    /**
+     * Last CONFIG_CHANGE_LOG revision written for the chunk.
+     */
+    private final long revision;
+
+    /**
+     * Keys of the configs created or updated by the chunk.
+     */
+    private final List<String> configKeys;
+}
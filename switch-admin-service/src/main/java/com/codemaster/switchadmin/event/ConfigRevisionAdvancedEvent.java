@@ -0,0 +1,15 @@
+package com.codemaster.switchadmin.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@code ConfigRevisionTracker} when a newer committed config revision is
+ * seen, whether it was written on this node or picked up from the database.
+ */
+@Getter
+@AllArgsConstructor
+public class ConfigRevisionAdvancedEvent {
+
+    private final long revision;
+}
@@ -0,0 +1,15 @@
+package com.codemaster.switchadmin.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a role or permission changed, including the ROLE_PERMISSION links of a
+ * role. Any user holding the role may now have different authorities.
+ */
+@Getter
+@AllArgsConstructor
+public class RolePermissionsChangedEvent {
+
+    private final String name;
+}
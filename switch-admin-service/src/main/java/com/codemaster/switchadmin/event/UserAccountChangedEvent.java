@@ -0,0 +1,14 @@
+package com.codemaster.switchadmin.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a user account's roles or active flag may have changed.
+ */
+@Getter
+@AllArgsConstructor
+public class UserAccountChangedEvent {
+
+    private final String email;
+}
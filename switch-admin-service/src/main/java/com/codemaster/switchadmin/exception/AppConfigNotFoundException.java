@@ -21,4 +21,12 @@ public class AppConfigNotFoundException extends RuntimeException{
     protected AppConfigNotFoundException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
     }
+
+    /**
+     * For key lookups, where "not found" is an expected answer rather than a fault: the
+     * exception is created without a stack trace, which is most of its cost.
+     */
+    public static AppConfigNotFoundException forKey(String configKey) {
+        return new AppConfigNotFoundException("AppConfig not found with key: " + configKey, null, false, false);
+    }
 }
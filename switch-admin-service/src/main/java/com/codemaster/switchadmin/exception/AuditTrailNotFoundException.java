@@ -0,0 +1,8 @@
+package com.codemaster.switchadmin.exception;
+
+public class AuditTrailNotFoundException extends RuntimeException {
+
+    public AuditTrailNotFoundException(String message) {
+        super(message);
+    }
+}
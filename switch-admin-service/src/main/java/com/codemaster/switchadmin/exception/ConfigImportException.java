@@ -0,0 +1,27 @@
+package com.codemaster.switchadmin.exception;
+
+/**
+ * Bulk import stopped on a record. Chunks committed before the failing one stay committed.
+ */
+public class ConfigImportException extends RuntimeException {
+
+    public ConfigImportException() {
+        super();
+    }
+
+    public ConfigImportException(String message) {
+        super(message);
+    }
+
+    public ConfigImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ConfigImportException(Throwable cause) {
+        super(cause);
+    }
+
+    protected ConfigImportException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
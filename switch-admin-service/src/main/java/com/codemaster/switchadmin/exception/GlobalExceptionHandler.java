@@ -384,6 +384,20 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(ConfigImportException.class)
+    public ResponseEntity<ApiError> handleConfigImportException(
+            ConfigImportException ex,
+            HttpServletRequest request) {
+
+        ApiError apiError = ApiError.createDefault(
+                HttpStatus.BAD_REQUEST.value(),
+                "Config Import Failed",
+                ex.getMessage(),
+                request.getRequestURI());
+
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(UserAccountNotFoundException.class)
     public ResponseEntity<ApiError> handleUserAccountNotFoundException(
             UserAccountNotFoundException ex,
@@ -398,6 +412,20 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(AuditTrailNotFoundException.class)
+    public ResponseEntity<ApiError> handleAuditTrailNotFoundException(
+            AuditTrailNotFoundException ex,
+            HttpServletRequest request) {
+
+        ApiError apiError = ApiError.createDefault(
+                HttpStatus.NOT_FOUND.value(),
+                "Audit Record Not Found",
+                ex.getMessage(),
+                request.getRequestURI());
+
+        return new ResponseEntity<>(apiError, HttpStatus.NOT_FOUND);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleAllExceptions(
             Exception ex,
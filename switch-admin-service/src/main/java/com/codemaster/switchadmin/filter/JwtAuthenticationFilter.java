@@ -1,6 +1,10 @@
 package com.codemaster.switchadmin.filter;
 
+import com.codemaster.switchadmin.security.JwtPrincipalResolver;
+import com.codemaster.switchadmin.security.PermissionAuthenticationToken;
+import com.codemaster.switchadmin.security.PermissionCatalogue;
 import com.codemaster.switchadmin.util.JwtUtil;
+import com.codemaster.switchadmin.util.VerifiedToken;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,12 +14,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -23,9 +23,6 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -35,12 +32,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final int JWT_START_INDEX = BEARER_PREFIX.length();
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final JwtPrincipalResolver principalResolver;
+    private final PermissionCatalogue permissionCatalogue;
     private final HandlerExceptionResolver handlerExceptionResolver;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, HandlerExceptionResolver handlerExceptionResolver) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, JwtPrincipalResolver principalResolver,
+                                   PermissionCatalogue permissionCatalogue, HandlerExceptionResolver handlerExceptionResolver) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.principalResolver = principalResolver;
+        this.permissionCatalogue = permissionCatalogue;
         this.handlerExceptionResolver = handlerExceptionResolver;
     }
 
@@ -53,9 +53,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         final String jwt = extractJwtToken(authHeader);
         try {
-            final String userEmail = jwtUtil.extractUsername(jwt);
-            if (shouldAuthenticate(userEmail)) {
-                authenticateUser(request, jwt, userEmail);
+            final VerifiedToken token = jwtUtil.verify(jwt);
+            if (shouldAuthenticate(token.getSubject())) {
+                authenticateUser(request, token);
             }
 
             filterChain.doFilter(request, response);
@@ -81,29 +81,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null;
     }
 
-    private void authenticateUser(HttpServletRequest request, String jwt, String userEmail) throws JwtException {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+    private void authenticateUser(HttpServletRequest request, VerifiedToken token) {
+        UserDetails userDetails = principalResolver.resolve(token);
 
-        if (jwtUtil.isTokenValid(jwt, userDetails)) {
-            List<String> permissions = jwtUtil.extractPermissions(jwt);
-            setSecurityContextAuthentication(request, userDetails, permissions);
+        if (userDetails.isEnabled() && jwtUtil.isTokenValid(token, userDetails)) {
+            setSecurityContextAuthentication(request, userDetails);
         }
     }
 
-    private void setSecurityContextAuthentication(
-            HttpServletRequest request,
-            UserDetails userDetails,
-            List<String> permissions) {
-
-        // Convert permissions to GrantedAuthority objects
-        Collection<? extends GrantedAuthority> authorities = permissions.stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
-
-        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+    private void setSecurityContextAuthentication(HttpServletRequest request, UserDetails userDetails) {
+        // Authorities come from the token claims, or from the account when principals are cached;
+        // the bitset of grants is built here once and reused by every authorization check
+        PermissionAuthenticationToken authToken = new PermissionAuthenticationToken(
                 userDetails,
-                null,
-                authorities  // Use permissions from token
+                userDetails.getAuthorities(),
+                permissionCatalogue.granted(userDetails.getAuthorities())
         );
         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -0,0 +1,54 @@
+package com.codemaster.switchadmin.mapper;
+
+import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.entity.AppConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Field-by-field mapping for {@link AppConfig}. New fields on the entity must be added here.
+ */
+@Component
+public class AppConfigMapper {
+
+    public AppConfigResponse toResponse(AppConfig config) {
+        AppConfigResponse response = new AppConfigResponse();
+        response.setConfigId(config.getConfigId());
+        response.setConfigKey(config.getConfigKey());
+        response.setConfigValue(config.getConfigValue());
+        response.setDescription(config.getDescription());
+        response.setActive(config.isActive());
+        response.setRolloutPercentage(config.getRolloutPercentage());
+        response.setTargetingRules(config.getTargetingRules() != null ? List.copyOf(config.getTargetingRules()) : List.of());
+        response.setCreatedAt(config.getCreatedAt());
+        response.setUpdatedAt(config.getUpdatedAt());
+        return response;
+    }
+
+    public List<AppConfigResponse> toResponseList(List<AppConfig> configs) {
+        List<AppConfigResponse> responses = new ArrayList<>(configs.size());
+        for (AppConfig config : configs) {
+            responses.add(toResponse(config));
+        }
+        return responses;
+    }
+
+    /**
+     * Detached copy of the entity's current state, kept as the "before" image for auditing.
+     */
+    public AppConfig copy(AppConfig config) {
+        return AppConfig.builder()
+                .configId(config.getConfigId())
+                .configKey(config.getConfigKey())
+                .configValue(config.getConfigValue())
+                .description(config.getDescription())
+                .active(config.isActive())
+                .rolloutPercentage(config.getRolloutPercentage())
+                .targetingRules(config.getTargetingRules() != null ? new ArrayList<>(config.getTargetingRules()) : new ArrayList<>())
+                .createdAt(config.getCreatedAt())
+                .updatedAt(config.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.codemaster.switchadmin.model;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One targeting rule of a config, stored in APP_CONFIG.TARGETING_RULES. Rules are checked in
+ * order before the rollout percentage; the first one that matches decides. A value object
+ * held inside {@code AppConfig}, not an entity of its own.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TargetingRule {
+
+    public enum Type {
+        /** The user id is one of {@link #values}. */
+        USER_ID,
+        /** Attribute {@link #attribute} equals the single entry of {@link #values}. */
+        ATTRIBUTE_EQUALS,
+        /** Attribute {@link #attribute} is one of {@link #values}. */
+        ATTRIBUTE_IN
+    }
+
+    @NotNull
+    private Type type;
+
+    /**
+     * Context attribute to compare; unused for {@link Type#USER_ID}.
+     */
+    private String attribute;
+
+    @NotEmpty
+    private List<@NotNull String> values;
+
+    /**
+     * What a match evaluates to, so rules can exclude as well as include.
+     */
+    @Builder.Default
+    private boolean serve = true;
+
+    // Package-private so Jackson leaves them out of the stored JSON and the audit values
+    @AssertTrue(message = "attribute is required for ATTRIBUTE_EQUALS and ATTRIBUTE_IN rules")
+    boolean isAttributeSetWhereRequired() {
+        return type == null || type == Type.USER_ID || (attribute != null && !attribute.isBlank());
+    }
+
+    @AssertTrue(message = "ATTRIBUTE_EQUALS rules take exactly one value")
+    boolean isSingleValueForEquals() {
+        return type != Type.ATTRIBUTE_EQUALS || values == null || values.size() == 1;
+    }
+}
@@ -0,0 +1,29 @@
+package com.codemaster.switchadmin.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+/**
+ * Persisting or handing over audit records. In ASYNC mode the request thread only enqueues
+ * ({@code ASYNC}); the insert shows up on the writer thread as {@code ASYNC_FLUSH}.
+ */
+@Name("com.codemaster.switchadmin.AuditPersist")
+@Label("Audit Persist")
+@Category({"Switch Admin", "Persistence"})
+@StackTrace(false)
+@Registered(false)
+public class AuditPersistEvent extends jdk.jfr.Event {
+
+    public static final String ASYNC_FLUSH = "ASYNC_FLUSH";
+
+    @Label("Mode")
+    @Description("SYNC, OUTBOX, ASYNC or ASYNC_FLUSH")
+    public String mode;
+
+    @Label("Records")
+    public int records;
+}
@@ -0,0 +1,33 @@
+package com.codemaster.switchadmin.monitoring;
+
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+
+import java.util.List;
+
+/**
+ * The application's JFR events. They are declared {@code @Registered(false)}, so until
+ * {@link #register()} is called their {@code begin()}/{@code commit()} are empty and
+ * compile away; once registered they are recorded by any running recording, e.g. one
+ * started with {@code jcmd <pid> JFR.start}.
+ */
+public final class JfrEvents {
+
+    static final List<Class<? extends Event>> ALL = List.of(
+            JwtVerificationEvent.class,
+            PrincipalLoadEvent.class,
+            PermissionDecisionEvent.class,
+            RepositoryCallEvent.class,
+            AuditPersistEvent.class);
+
+    private JfrEvents() {
+    }
+
+    public static void register() {
+        ALL.forEach(FlightRecorder::register);
+    }
+
+    public static void unregister() {
+        ALL.forEach(FlightRecorder::unregister);
+    }
+}
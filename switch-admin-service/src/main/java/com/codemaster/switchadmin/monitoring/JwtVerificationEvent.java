@@ -0,0 +1,23 @@
+package com.codemaster.switchadmin.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parsing a JWT and checking its signature and expiry.
+ */
+@Name("com.codemaster.switchadmin.JwtVerification")
+@Label("JWT Verification")
+@Category({"Switch Admin", "Security"})
+@StackTrace(false)
+@Registered(false)
+public class JwtVerificationEvent extends jdk.jfr.Event {
+
+    @Label("Result")
+    @Description("valid, expired or invalid")
+    public String result;
+}
@@ -0,0 +1,24 @@
+package com.codemaster.switchadmin.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+/**
+ * A {@code @RequirePermissions} check.
+ */
+@Name("com.codemaster.switchadmin.PermissionDecision")
+@Label("Permission Decision")
+@Category({"Switch Admin", "Security"})
+@StackTrace(false)
+@Registered(false)
+public class PermissionDecisionEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Granted")
+    public boolean granted;
+}
@@ -0,0 +1,27 @@
+package com.codemaster.switchadmin.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+/**
+ * Building the request principal for a verified token.
+ */
+@Name("com.codemaster.switchadmin.PrincipalLoad")
+@Label("Principal Load")
+@Category({"Switch Admin", "Security"})
+@StackTrace(false)
+@Registered(false)
+public class PrincipalLoadEvent extends jdk.jfr.Event {
+
+    public static final String CLAIMS = "claims";
+    public static final String CACHE = "cache";
+    public static final String DATABASE = "database";
+
+    @Label("Source")
+    @Description("claims (token only), cache (hit) or database (miss)")
+    public String source;
+}
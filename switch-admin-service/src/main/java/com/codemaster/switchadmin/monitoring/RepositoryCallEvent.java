@@ -0,0 +1,27 @@
+package com.codemaster.switchadmin.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+/**
+ * A call to a repository method, Spring Data or JDBC, including the SQL it runs.
+ */
+@Name("com.codemaster.switchadmin.RepositoryCall")
+@Label("Repository Call")
+@Category({"Switch Admin", "Persistence"})
+@StackTrace(false)
+@Registered(false)
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,142 @@
+package com.codemaster.switchadmin.repository;
+
+import com.codemaster.switchadmin.entity.AppConfig;
+import com.codemaster.switchadmin.entity.converter.TargetingRulesConverter;
+import com.codemaster.switchadmin.entity.generator.PrefixedIdFormatter;
+import com.codemaster.switchadmin.entity.generator.StringPrefixedSequenceIdGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * JDBC bulk path for APP_CONFIG. Upserts go through one batched MERGE keyed on CONFIG_KEY;
+ * new CONFIG_IDs come from a local {@link PooledIdAllocator} block. CREATED_AT and
+ * UPDATED_AT are left to the APP_CONFIG triggers.
+ */
+@Repository
+public class AppConfigJdbcRepository {
+
+    // Oracle rejects IN lists longer than 1000 expressions
+    private static final int MAX_IN_LIST_SIZE = 1000;
+
+    private static final String COLUMNS =
+            "CONFIG_ID, CONFIG_KEY, CONFIG_VALUE, DESCRIPTION, IS_ACTIVE, ROLLOUT_PERCENTAGE, TARGETING_RULES, "
+                    + "CREATED_AT, UPDATED_AT";
+
+    private static final String FIND_BY_KEYS_SQL =
+            "SELECT " + COLUMNS + " FROM APP_CONFIG WHERE CONFIG_KEY IN (:keys)";
+
+    private static final String FIND_ALL_SQL =
+            "SELECT " + COLUMNS + " FROM APP_CONFIG ORDER BY CONFIG_KEY";
+
+    // TARGETING_RULES is bound in both branches: Oracle cannot CAST a bind to CLOB in the USING query
+    private static final String MERGE_SQL = """
+            MERGE INTO APP_CONFIG t
+            USING (SELECT CAST(? AS VARCHAR2(12)) AS CONFIG_ID, CAST(? AS VARCHAR2(100)) AS CONFIG_KEY,
+                          CAST(? AS NVARCHAR2(500)) AS CONFIG_VALUE, CAST(? AS NVARCHAR2(1000)) AS DESCRIPTION,
+                          CAST(? AS NUMBER(1)) AS IS_ACTIVE, CAST(? AS NUMBER(5,2)) AS ROLLOUT_PERCENTAGE
+                   FROM DUAL) s
+            ON (t.CONFIG_KEY = s.CONFIG_KEY)
+            WHEN MATCHED THEN
+                UPDATE SET t.CONFIG_VALUE = s.CONFIG_VALUE, t.DESCRIPTION = s.DESCRIPTION, t.IS_ACTIVE = s.IS_ACTIVE,
+                           t.ROLLOUT_PERCENTAGE = s.ROLLOUT_PERCENTAGE, t.TARGETING_RULES = ?
+            WHEN NOT MATCHED THEN
+                INSERT (CONFIG_ID, CONFIG_KEY, CONFIG_VALUE, DESCRIPTION, IS_ACTIVE, ROLLOUT_PERCENTAGE, TARGETING_RULES)
+                VALUES (s.CONFIG_ID, s.CONFIG_KEY, s.CONFIG_VALUE, s.DESCRIPTION, s.IS_ACTIVE, s.ROLLOUT_PERCENTAGE, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final PooledIdAllocator configIdAllocator;
+
+    public AppConfigJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.configIdAllocator = new PooledIdAllocator(jdbcTemplate, "APP_CONFIG_SEQ",
+                StringPrefixedSequenceIdGenerator.POOLED_INCREMENT,
+                new PrefixedIdFormatter("CONF", "%08d"));
+    }
+
+    /**
+     * Existing configs for the given keys, indexed by key. Keys are queried in IN lists of
+     * at most {@value #MAX_IN_LIST_SIZE}.
+     */
+    public Map<String, AppConfig> findByConfigKeys(Collection<String> configKeys) {
+        Map<String, AppConfig> configs = new HashMap<>(Math.max(16, configKeys.size() * 2));
+        List<String> keys = new ArrayList<>(configKeys);
+        for (int from = 0; from < keys.size(); from += MAX_IN_LIST_SIZE) {
+            List<String> slice = keys.subList(from, Math.min(from + MAX_IN_LIST_SIZE, keys.size()));
+            namedParameterJdbcTemplate.query(FIND_BY_KEYS_SQL, Map.of("keys", slice), (ResultSet rs) -> {
+                AppConfig config = mapConfig(rs);
+                configs.put(config.getConfigKey(), config);
+            });
+        }
+        return configs;
+    }
+
+    /**
+     * Inserts or updates every config by key in one JDBC batch. Configs without an id
+     * get one from the pooled block; it is only used when the key turns out to be new.
+     */
+    public void merge(List<AppConfig> configs) {
+        for (AppConfig config : configs) {
+            if (config.getConfigId() == null) {
+                config.setConfigId(configIdAllocator.nextId());
+            }
+        }
+        jdbcTemplate.batchUpdate(MERGE_SQL, configs, configs.size(), (ps, config) -> {
+            ps.setString(1, config.getConfigId());
+            ps.setString(2, config.getConfigKey());
+            ps.setNString(3, config.getConfigValue());
+            ps.setNString(4, config.getDescription());
+            ps.setInt(5, config.isActive() ? 1 : 0);
+            ps.setBigDecimal(6, config.getRolloutPercentage());
+            String targetingRules = TargetingRulesConverter.toJson(config.getTargetingRules());
+            ps.setString(7, targetingRules);
+            ps.setString(8, targetingRules);
+        });
+    }
+
+    /**
+     * Streams every config in key order through a forward-only, read-only cursor, fetching
+     * {@code fetchSize} rows per round trip. Only the current row is held in memory.
+     */
+    public void streamAll(int fetchSize, Consumer<AppConfig> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_ALL_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (ResultSet rs) -> consumer.accept(mapConfig(rs)));
+    }
+
+    private static AppConfig mapConfig(ResultSet rs) throws SQLException {
+        return AppConfig.builder()
+                .configId(rs.getString("CONFIG_ID"))
+                .configKey(rs.getString("CONFIG_KEY"))
+                .configValue(rs.getNString("CONFIG_VALUE"))
+                .description(rs.getNString("DESCRIPTION"))
+                .active(rs.getInt("IS_ACTIVE") == 1)
+                .rolloutPercentage(rs.getBigDecimal("ROLLOUT_PERCENTAGE"))
+                .targetingRules(new ArrayList<>(TargetingRulesConverter.fromJson(rs.getString("TARGETING_RULES"))))
+                .createdAt(toLocalDateTime(rs.getTimestamp("CREATED_AT")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("UPDATED_AT")))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -2,10 +2,31 @@ package com.codemaster.switchadmin.repository;
 
 import com.codemaster.switchadmin.entity.AppConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AppConfigRepository extends JpaRepository<AppConfig, String> {
     Optional<AppConfig> findByConfigKey(String configKey);
     boolean existsByConfigKey(String configKey);
+    List<AppConfig> findByConfigKeyIn(Collection<String> configKeys);
+
+    /**
+     * Copies a version from APP_CONFIG_VERSION back onto the config in one statement. The
+     * persistence context is cleared, so reload the config afterwards.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE APP_CONFIG c
+            SET (CONFIG_KEY, CONFIG_VALUE, DESCRIPTION, IS_ACTIVE, ROLLOUT_PERCENTAGE, TARGETING_RULES) = (
+                SELECT v.CONFIG_KEY, v.CONFIG_VALUE, v.DESCRIPTION, v.IS_ACTIVE, v.ROLLOUT_PERCENTAGE, v.TARGETING_RULES
+                FROM APP_CONFIG_VERSION v
+                WHERE v.CONFIG_ID = c.CONFIG_ID AND v.VALID_FROM = :validFrom)
+            WHERE c.CONFIG_ID = :configId
+            """, nativeQuery = true)
+    int restoreVersion(@Param("configId") String configId, @Param("validFrom") long validFrom);
 }
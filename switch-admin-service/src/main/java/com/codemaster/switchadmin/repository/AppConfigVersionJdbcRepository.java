@@ -0,0 +1,171 @@
+package com.codemaster.switchadmin.repository;
+
+import com.codemaster.switchadmin.dto.AppConfigVersionResponse;
+import com.codemaster.switchadmin.entity.AppConfig;
+import com.codemaster.switchadmin.entity.converter.TargetingRulesConverter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * APP_CONFIG_VERSION, the append-only history of APP_CONFIG (V13). A version is valid for
+ * revisions {@code [VALID_FROM, VALID_TO)}; the current one has {@code VALID_TO = }{@value #OPEN}.
+ */
+@Repository
+public class AppConfigVersionJdbcRepository {
+
+    public static final long OPEN = Long.MAX_VALUE;
+
+    private static final String COLUMNS =
+            "CONFIG_ID, VALID_FROM, VALID_TO, CONFIG_KEY, CONFIG_VALUE, DESCRIPTION, IS_ACTIVE, ROLLOUT_PERCENTAGE, "
+                    + "TARGETING_RULES, CHANGED_AT";
+
+    private static final String CLOSE_SQL =
+            "UPDATE APP_CONFIG_VERSION SET VALID_TO = ? WHERE CONFIG_ID = ? AND VALID_TO = " + OPEN;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO APP_CONFIG_VERSION (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // The first version ending after R is the only one that can hold R: a single-entry probe
+    // of (CONFIG_KEY, VALID_TO) or (CONFIG_ID, VALID_TO) however long the history is
+    private static final String FIND_BY_KEY_AS_OF_SQL =
+            "SELECT " + COLUMNS + " FROM APP_CONFIG_VERSION WHERE CONFIG_KEY = ? AND VALID_TO > ? "
+                    + "ORDER BY VALID_TO FETCH FIRST 1 ROWS ONLY";
+
+    private static final String FIND_BY_ID_AS_OF_SQL =
+            "SELECT " + COLUMNS + " FROM APP_CONFIG_VERSION WHERE CONFIG_ID = ? AND VALID_TO > ? "
+                    + "ORDER BY VALID_TO FETCH FIRST 1 ROWS ONLY";
+
+    private static final String FIND_ALL_AS_OF_SQL =
+            "SELECT " + COLUMNS + " FROM APP_CONFIG_VERSION WHERE VALID_TO > ? AND VALID_FROM <= ? ORDER BY CONFIG_KEY";
+
+    private static final String FIND_BY_ID_SQL =
+            "SELECT " + COLUMNS + " FROM APP_CONFIG_VERSION WHERE CONFIG_ID = ? ORDER BY VALID_FROM DESC";
+
+    private static final String REVISION_AT_SQL = """
+            SELECT VALID_FROM
+            FROM APP_CONFIG_VERSION
+            WHERE CHANGED_AT <= ?
+            ORDER BY CHANGED_AT DESC, VALID_FROM DESC
+            FETCH FIRST 1 ROWS ONLY
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AppConfigVersionJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records new versions of the given configs, which changed in order under consecutive
+     * revisions starting at {@code firstRevision}. Each config's open version is closed at
+     * its first change; a config changed more than once gets its intermediate versions
+     * already closed. Two batched statements, whatever the number of configs.
+     */
+    public void append(List<AppConfig> configs, long firstRevision, LocalDateTime changedAt) {
+        int count = configs.size();
+        long[] validTo = new long[count];
+        Map<String, Long> closeAt = new LinkedHashMap<>();
+        Map<String, Integer> latest = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String configId = configs.get(i).getConfigId();
+            long revision = firstRevision + i;
+            closeAt.putIfAbsent(configId, revision);
+            Integer previous = latest.put(configId, i);
+            if (previous != null) {
+                validTo[previous] = revision;
+            }
+            validTo[i] = OPEN;
+        }
+
+        jdbcTemplate.batchUpdate(CLOSE_SQL, closeAt.entrySet(), closeAt.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setString(2, entry.getKey());
+        });
+        Timestamp timestamp = Timestamp.valueOf(changedAt);
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                AppConfig config = configs.get(i);
+                ps.setString(1, config.getConfigId());
+                ps.setLong(2, firstRevision + i);
+                ps.setLong(3, validTo[i]);
+                ps.setString(4, config.getConfigKey());
+                ps.setNString(5, config.getConfigValue());
+                ps.setNString(6, config.getDescription());
+                ps.setInt(7, config.isActive() ? 1 : 0);
+                ps.setBigDecimal(8, config.getRolloutPercentage());
+                ps.setString(9, TargetingRulesConverter.toJson(config.getTargetingRules()));
+                ps.setTimestamp(10, timestamp);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return count;
+            }
+        });
+    }
+
+    public Optional<AppConfigVersionResponse> findByConfigKeyAsOf(String configKey, long revision) {
+        return validAt(jdbcTemplate.query(FIND_BY_KEY_AS_OF_SQL, AppConfigVersionJdbcRepository::mapVersion,
+                configKey, revision), revision);
+    }
+
+    public Optional<AppConfigVersionResponse> findByConfigIdAsOf(String configId, long revision) {
+        return validAt(jdbcTemplate.query(FIND_BY_ID_AS_OF_SQL, AppConfigVersionJdbcRepository::mapVersion,
+                configId, revision), revision);
+    }
+
+    public List<AppConfigVersionResponse> findAllAsOf(long revision) {
+        return jdbcTemplate.query(FIND_ALL_AS_OF_SQL, AppConfigVersionJdbcRepository::mapVersion, revision, revision);
+    }
+
+    /**
+     * Every version of the config, newest first.
+     */
+    public List<AppConfigVersionResponse> findByConfigId(String configId) {
+        return jdbcTemplate.query(FIND_BY_ID_SQL, AppConfigVersionJdbcRepository::mapVersion, configId);
+    }
+
+    /**
+     * The last revision recorded at or before {@code timestamp}, or 0 if there is none.
+     */
+    public long revisionAt(LocalDateTime timestamp) {
+        List<Long> revisions = jdbcTemplate.queryForList(REVISION_AT_SQL, Long.class, Timestamp.valueOf(timestamp));
+        return revisions.isEmpty() ? 0L : revisions.get(0);
+    }
+
+    /**
+     * The candidate is empty, or a later version when the config (or key) did not exist yet.
+     */
+    private static Optional<AppConfigVersionResponse> validAt(List<AppConfigVersionResponse> candidate, long revision) {
+        return candidate.stream().filter(version -> version.getValidFromRevision() <= revision).findFirst();
+    }
+
+    private static AppConfigVersionResponse mapVersion(ResultSet rs, int rowNum) throws SQLException {
+        long validTo = rs.getLong("VALID_TO");
+        return AppConfigVersionResponse.builder()
+                .configId(rs.getString("CONFIG_ID"))
+                .configKey(rs.getString("CONFIG_KEY"))
+                .configValue(rs.getNString("CONFIG_VALUE"))
+                .description(rs.getNString("DESCRIPTION"))
+                .active(rs.getInt("IS_ACTIVE") == 1)
+                .rolloutPercentage(rs.getBigDecimal("ROLLOUT_PERCENTAGE"))
+                .targetingRules(TargetingRulesConverter.fromJson(rs.getString("TARGETING_RULES")))
+                .validFromRevision(rs.getLong("VALID_FROM"))
+                .validToRevision(validTo == OPEN ? null : validTo)
+                .changedAt(rs.getTimestamp("CHANGED_AT").toLocalDateTime())
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.codemaster.switchadmin.repository;
+
+import com.codemaster.switchadmin.entity.AuditTrail;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * AUDIT_OUTBOX access. Inserts join the caller's transaction; {@link #lockPending(int)}
+ * must run inside the relay transaction so the row locks are held until rows are marked done.
+ */
+@Repository
+public class AuditOutboxJdbcRepository {
+
+    static final int USER_AGENT_MAX_LENGTH = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO AUDIT_OUTBOX (OUTBOX_ID, USER_ID, USER_NAME, ACTION_TYPE, TARGET_ENTITY, TARGET_ENTITY_ID,
+                                      OLD_VALUE, NEW_VALUE, ACTION_DESCRIPTION, ACTION_STATUS, IP_ADDRESS,
+                                      USER_AGENT, AUTH_METHOD, IS_SENSITIVE, ACTION_TIMESTAMP, VALUE_FORMAT)
+            VALUES (AUDIT_OUTBOX_SEQ.NEXTVAL, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // ROWNUM is applied before SKIP LOCKED, so a batch can come back short while another node is relaying
+    private static final String LOCK_PENDING_SQL = """
+            SELECT OUTBOX_ID, USER_ID, USER_NAME, ACTION_TYPE, TARGET_ENTITY, TARGET_ENTITY_ID, OLD_VALUE,
+                   NEW_VALUE, ACTION_DESCRIPTION, ACTION_STATUS, IP_ADDRESS, USER_AGENT, AUTH_METHOD,
+                   IS_SENSITIVE, ACTION_TIMESTAMP, VALUE_FORMAT
+            FROM AUDIT_OUTBOX
+            WHERE STATUS = 'PENDING' AND ROWNUM <= ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String MARK_DONE_SQL =
+            "UPDATE AUDIT_OUTBOX SET STATUS = 'DONE', PROCESSED_AT = SYSTIMESTAMP WHERE OUTBOX_ID = ?";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM AUDIT_OUTBOX WHERE STATUS = 'DONE' AND PROCESSED_AT < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditOutboxJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(AuditTrail audit) {
+        jdbcTemplate.update(INSERT_SQL,
+                audit.getUserId(),
+                audit.getUserName(),
+                audit.getActionType().name(),
+                audit.getTargetEntity(),
+                audit.getTargetEntityId(),
+                audit.getOldValue(),
+                audit.getNewValue(),
+                audit.getActionDescription(),
+                audit.getActionStatus().name(),
+                audit.getIpAddress(),
+                truncate(audit.getUserAgent(), USER_AGENT_MAX_LENGTH),
+                audit.getAuthMethod() != null ? audit.getAuthMethod().name() : null,
+                audit.isSensitive() ? 1 : 0,
+                audit.getActionTimestamp() != null ? Timestamp.valueOf(audit.getActionTimestamp()) : null,
+                audit.getValueFormat().name());
+    }
+
+    public void batchInsert(List<AuditTrail> audits) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, audits, audits.size(), (ps, audit) -> {
+            ps.setString(1, audit.getUserId());
+            ps.setString(2, audit.getUserName());
+            ps.setString(3, audit.getActionType().name());
+            ps.setString(4, audit.getTargetEntity());
+            ps.setString(5, audit.getTargetEntityId());
+            ps.setString(6, audit.getOldValue());
+            ps.setString(7, audit.getNewValue());
+            ps.setString(8, audit.getActionDescription());
+            ps.setString(9, audit.getActionStatus().name());
+            ps.setString(10, audit.getIpAddress());
+            ps.setString(11, truncate(audit.getUserAgent(), USER_AGENT_MAX_LENGTH));
+            ps.setString(12, audit.getAuthMethod() != null ? audit.getAuthMethod().name() : null);
+            ps.setInt(13, audit.isSensitive() ? 1 : 0);
+            ps.setTimestamp(14, audit.getActionTimestamp() != null ? Timestamp.valueOf(audit.getActionTimestamp()) : null);
+            ps.setString(15, audit.getValueFormat().name());
+        });
+    }
+
+    public List<OutboxRecord> lockPending(int limit) {
+        return jdbcTemplate.query(LOCK_PENDING_SQL, this::mapRecord, limit);
+    }
+
+    public void markDone(List<OutboxRecord> records) {
+        jdbcTemplate.batchUpdate(MARK_DONE_SQL, records, records.size(),
+                (ps, record) -> ps.setLong(1, record.outboxId()));
+    }
+
+    public int purgeDone(Timestamp processedBefore) {
+        return jdbcTemplate.update(PURGE_SQL, processedBefore);
+    }
+
+    private OutboxRecord mapRecord(ResultSet rs, int rowNum) throws SQLException {
+        String authMethod = rs.getString("AUTH_METHOD");
+        Timestamp actionTimestamp = rs.getTimestamp("ACTION_TIMESTAMP");
+        AuditTrail audit = AuditTrail.builder()
+                .userId(rs.getString("USER_ID"))
+                .userName(rs.getString("USER_NAME"))
+                .actionType(AuditTrail.ActionType.valueOf(rs.getString("ACTION_TYPE")))
+                .targetEntity(rs.getString("TARGET_ENTITY"))
+                .targetEntityId(rs.getString("TARGET_ENTITY_ID"))
+                .oldValue(rs.getString("OLD_VALUE"))
+                .newValue(rs.getString("NEW_VALUE"))
+                .actionDescription(rs.getString("ACTION_DESCRIPTION"))
+                .actionStatus(AuditTrail.ActionStatus.valueOf(rs.getString("ACTION_STATUS")))
+                .ipAddress(rs.getString("IP_ADDRESS"))
+                .userAgent(rs.getString("USER_AGENT"))
+                .authMethod(authMethod != null ? AuditTrail.AuthMethod.valueOf(authMethod) : null)
+                .isSensitive(rs.getInt("IS_SENSITIVE") == 1)
+                .actionTimestamp(actionTimestamp != null ? actionTimestamp.toLocalDateTime() : null)
+                .valueFormat(AuditTrail.ValueFormat.valueOf(rs.getString("VALUE_FORMAT")))
+                .build();
+        return new OutboxRecord(rs.getLong("OUTBOX_ID"), audit);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    public record OutboxRecord(long outboxId, AuditTrail audit) {
+    }
+}
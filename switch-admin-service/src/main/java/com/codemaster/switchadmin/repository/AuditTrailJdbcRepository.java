@@ -0,0 +1,203 @@
+package com.codemaster.switchadmin.repository;
+
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.entity.generator.PrefixedIdFormatter;
+import com.codemaster.switchadmin.entity.generator.StringPrefixedSequenceIdGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC batch path for AUDIT_TRAIL. AUDIT_ID comes from a local {@link PooledIdAllocator}
+ * block (one sequence round trip per {@value StringPrefixedSequenceIdGenerator#POOLED_INCREMENT} rows); ACTION_TIMESTAMP,
+ * when not supplied, is filled in by the AUDIT_TRAIL_BI trigger.
+ * <p>
+ * Pages are read newest first with a seek on (ACTION_TIMESTAMP, AUDIT_ID) rather than
+ * OFFSET, and select none of the CLOB columns; those are only read for a single record.
+ */
+@Repository
+public class AuditTrailJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO AUDIT_TRAIL (AUDIT_ID, USER_ID, USER_NAME, ACTION_TYPE, TARGET_ENTITY, TARGET_ENTITY_ID,
+                                     OLD_VALUE, NEW_VALUE, ACTION_DESCRIPTION, ACTION_STATUS, ERROR_MESSAGE,
+                                     IP_ADDRESS, USER_AGENT, AUTH_METHOD, IS_SENSITIVE, ACTION_TIMESTAMP,
+                                     VALUE_FORMAT)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String SUMMARY_COLUMNS = """
+            AUDIT_ID, USER_ID, USER_NAME, ACTION_TYPE, TARGET_ENTITY, TARGET_ENTITY_ID, ACTION_STATUS, IP_ADDRESS,
+            AUTH_METHOD, IS_SENSITIVE, ACTION_TIMESTAMP""";
+
+    private static final String FIND_BY_ID_SQL = """
+            SELECT AUDIT_ID, USER_ID, USER_NAME, ACTION_TYPE, TARGET_ENTITY, TARGET_ENTITY_ID, OLD_VALUE, NEW_VALUE,
+                   ACTION_DESCRIPTION, ACTION_STATUS, ERROR_MESSAGE, IP_ADDRESS, USER_AGENT, AUTH_METHOD,
+                   IS_SENSITIVE, ACTION_TIMESTAMP, VALUE_FORMAT
+            FROM AUDIT_TRAIL
+            WHERE AUDIT_ID = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PooledIdAllocator auditIdAllocator;
+
+    public AuditTrailJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditIdAllocator = new PooledIdAllocator(jdbcTemplate, "AUDIT_TRAIL_SEQ",
+                StringPrefixedSequenceIdGenerator.POOLED_INCREMENT,
+                new PrefixedIdFormatter("ADTL", "%08d"));
+    }
+
+    public void batchInsert(List<AuditTrail> audits) {
+        for (AuditTrail audit : audits) {
+            if (audit.getAuditId() == null) {
+                audit.setAuditId(auditIdAllocator.nextId());
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, audits, audits.size(), (ps, audit) -> {
+            ps.setString(1, audit.getAuditId());
+            ps.setString(2, audit.getUserId());
+            ps.setString(3, audit.getUserName());
+            ps.setString(4, audit.getActionType().name());
+            ps.setString(5, audit.getTargetEntity());
+            ps.setString(6, audit.getTargetEntityId());
+            ps.setString(7, audit.getOldValue());
+            ps.setString(8, audit.getNewValue());
+            ps.setString(9, audit.getActionDescription());
+            ps.setString(10, audit.getActionStatus().name());
+            ps.setString(11, audit.getErrorMessage());
+            ps.setString(12, audit.getIpAddress());
+            ps.setString(13, audit.getUserAgent());
+            ps.setString(14, audit.getAuthMethod() != null ? audit.getAuthMethod().name() : null);
+            ps.setInt(15, audit.isSensitive() ? 1 : 0);
+            ps.setTimestamp(16, audit.getActionTimestamp() != null ? Timestamp.valueOf(audit.getActionTimestamp()) : null);
+            ps.setString(17, audit.getValueFormat().name());
+        });
+    }
+
+    /**
+     * Up to {@code limit} records matching {@code filter}, newest first, starting after
+     * {@code after} ({@code null} for the first page). Every equality filter leads one of
+     * the IDX_AUDIT_TRAIL_* indexes followed by (ACTION_TIMESTAMP, AUDIT_ID), so a page is
+     * a range scan in index order that stops after {@code limit} entries.
+     */
+    public List<SummaryRow> findPage(Filter filter, PageKey after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(SUMMARY_COLUMNS).append(" FROM AUDIT_TRAIL WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (filter.userId() != null) {
+            sql.append(" AND USER_ID = ?");
+            args.add(filter.userId());
+        }
+        if (filter.targetEntity() != null) {
+            sql.append(" AND TARGET_ENTITY = ?");
+            args.add(filter.targetEntity());
+        }
+        if (filter.targetEntityId() != null) {
+            sql.append(" AND TARGET_ENTITY_ID = ?");
+            args.add(filter.targetEntityId());
+        }
+        if (filter.actionType() != null) {
+            sql.append(" AND ACTION_TYPE = ?");
+            args.add(filter.actionType().name());
+        }
+        if (filter.actionStatus() != null) {
+            sql.append(" AND ACTION_STATUS = ?");
+            args.add(filter.actionStatus().name());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND ACTION_TIMESTAMP >= ?");
+            args.add(Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND ACTION_TIMESTAMP < ?");
+            args.add(Timestamp.valueOf(filter.to()));
+        }
+        if (after != null) {
+            // Written so that ACTION_TIMESTAMP <= ? bounds the index scan and the OR only filters ties
+            sql.append(" AND ACTION_TIMESTAMP <= ? AND (ACTION_TIMESTAMP < ? OR AUDIT_ID < ?)");
+            Timestamp timestamp = Timestamp.valueOf(after.actionTimestamp());
+            args.add(timestamp);
+            args.add(timestamp);
+            args.add(after.auditId());
+        }
+        sql.append(" ORDER BY ACTION_TIMESTAMP DESC, AUDIT_ID DESC FETCH FIRST ? ROWS ONLY");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), AuditTrailJdbcRepository::mapSummary, args.toArray());
+    }
+
+    public Optional<AuditTrail> findById(String auditId) {
+        return jdbcTemplate.query(FIND_BY_ID_SQL, AuditTrailJdbcRepository::mapAudit, auditId).stream().findFirst();
+    }
+
+    private static SummaryRow mapSummary(ResultSet rs, int rowNum) throws SQLException {
+        String authMethod = rs.getString("AUTH_METHOD");
+        return new SummaryRow(
+                rs.getString("AUDIT_ID"),
+                rs.getString("USER_ID"),
+                rs.getString("USER_NAME"),
+                AuditTrail.ActionType.valueOf(rs.getString("ACTION_TYPE")),
+                rs.getString("TARGET_ENTITY"),
+                rs.getString("TARGET_ENTITY_ID"),
+                AuditTrail.ActionStatus.valueOf(rs.getString("ACTION_STATUS")),
+                rs.getString("IP_ADDRESS"),
+                authMethod != null ? AuditTrail.AuthMethod.valueOf(authMethod) : null,
+                rs.getInt("IS_SENSITIVE") == 1,
+                rs.getTimestamp("ACTION_TIMESTAMP").toLocalDateTime());
+    }
+
+    private static AuditTrail mapAudit(ResultSet rs, int rowNum) throws SQLException {
+        String authMethod = rs.getString("AUTH_METHOD");
+        return AuditTrail.builder()
+                .auditId(rs.getString("AUDIT_ID"))
+                .userId(rs.getString("USER_ID"))
+                .userName(rs.getString("USER_NAME"))
+                .actionType(AuditTrail.ActionType.valueOf(rs.getString("ACTION_TYPE")))
+                .targetEntity(rs.getString("TARGET_ENTITY"))
+                .targetEntityId(rs.getString("TARGET_ENTITY_ID"))
+                .oldValue(rs.getString("OLD_VALUE"))
+                .newValue(rs.getString("NEW_VALUE"))
+                .actionDescription(rs.getString("ACTION_DESCRIPTION"))
+                .actionStatus(AuditTrail.ActionStatus.valueOf(rs.getString("ACTION_STATUS")))
+                .errorMessage(rs.getString("ERROR_MESSAGE"))
+                .ipAddress(rs.getString("IP_ADDRESS"))
+                .userAgent(rs.getString("USER_AGENT"))
+                .authMethod(authMethod != null ? AuditTrail.AuthMethod.valueOf(authMethod) : null)
+                .isSensitive(rs.getInt("IS_SENSITIVE") == 1)
+                .actionTimestamp(rs.getTimestamp("ACTION_TIMESTAMP").toLocalDateTime())
+                .valueFormat(AuditTrail.ValueFormat.valueOf(rs.getString("VALUE_FORMAT")))
+                .build();
+    }
+
+    /**
+     * Optional filters for {@link #findPage}; {@code from} is inclusive, {@code to} exclusive.
+     */
+    public record Filter(String userId, String targetEntity, String targetEntityId, AuditTrail.ActionType actionType,
+                         AuditTrail.ActionStatus actionStatus, LocalDateTime from, LocalDateTime to) {
+    }
+
+    /**
+     * Position of the last record of a page.
+     */
+    public record PageKey(LocalDateTime actionTimestamp, String auditId) {
+    }
+
+    /**
+     * The columns {@link #findPage} reads: the indexed ones, none of the CLOBs.
+     */
+    public record SummaryRow(String auditId, String userId, String userName, AuditTrail.ActionType actionType,
+                             String targetEntity, String targetEntityId, AuditTrail.ActionStatus actionStatus,
+                             String ipAddress, AuditTrail.AuthMethod authMethod, boolean sensitive,
+                             LocalDateTime actionTimestamp) {
+
+        public PageKey pageKey() {
+            return new PageKey(actionTimestamp, auditId);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.codemaster.switchadmin.repository;
+
+import com.codemaster.switchadmin.dto.ConfigChangeResponse;
+import com.codemaster.switchadmin.entity.converter.TargetingRulesConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+public class ConfigChangeLogJdbcRepository {
+
+    private static final String ADVANCE_REVISION_SQL =
+            "UPDATE CONFIG_REVISION SET REVISION = REVISION + ? WHERE REVISION_ID = 1";
+
+    private static final String CURRENT_REVISION_SQL =
+            "SELECT REVISION FROM CONFIG_REVISION WHERE REVISION_ID = 1";
+
+    private static final String LOCK_REVISION_SQL =
+            "SELECT REVISION FROM CONFIG_REVISION WHERE REVISION_ID = 1 FOR UPDATE";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO CONFIG_CHANGE_LOG (REVISION, CHANGE_TYPE, CONFIG_ID, CONFIG_KEY, PREVIOUS_CONFIG_KEY,
+                                           CONFIG_VALUE, IS_ACTIVE, ROLLOUT_PERCENTAGE, TARGETING_RULES, CHANGED_AT)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String FIND_SINCE_SQL = """
+            SELECT REVISION, CHANGE_TYPE, CONFIG_ID, CONFIG_KEY, PREVIOUS_CONFIG_KEY, CONFIG_VALUE, IS_ACTIVE,
+                   ROLLOUT_PERCENTAGE, TARGETING_RULES, CHANGED_AT
+            FROM CONFIG_CHANGE_LOG
+            WHERE REVISION > ?
+            ORDER BY REVISION
+            FETCH FIRST ? ROWS ONLY
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ConfigChangeLogJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserves {@code count} revisions and returns the last one. The counter row stays
+     * locked until the calling transaction ends, which serialises writers.
+     */
+    public long advanceRevision(int count) {
+        jdbcTemplate.update(ADVANCE_REVISION_SQL, count);
+        return currentRevision();
+    }
+
+    /**
+     * Locks the counter row until the calling transaction ends without reserving a revision,
+     * so that what the transaction reads next cannot be changed by another writer before it
+     * commits.
+     */
+    public void lockRevision() {
+        jdbcTemplate.queryForObject(LOCK_REVISION_SQL, Long.class);
+    }
+
+    public long currentRevision() {
+        Long revision = jdbcTemplate.queryForObject(CURRENT_REVISION_SQL, Long.class);
+        return revision != null ? revision : 0L;
+    }
+
+    public void insert(List<ConfigChangeResponse> changes) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, changes, changes.size(), (ps, change) -> {
+            ps.setLong(1, change.getRevision());
+            ps.setString(2, change.getChangeType().name());
+            ps.setString(3, change.getConfigId());
+            ps.setString(4, change.getConfigKey());
+            ps.setString(5, change.getPreviousConfigKey());
+            ps.setString(6, change.getConfigValue());
+            ps.setInt(7, change.isActive() ? 1 : 0);
+            ps.setBigDecimal(8, change.getRolloutPercentage());
+            ps.setString(9, TargetingRulesConverter.toJson(change.getTargetingRules()));
+            ps.setTimestamp(10, Timestamp.valueOf(change.getChangedAt()));
+        });
+    }
+
+    public List<ConfigChangeResponse> findSince(long revision, int limit) {
+        return jdbcTemplate.query(FIND_SINCE_SQL, this::mapChange, revision, limit);
+    }
+
+    private ConfigChangeResponse mapChange(ResultSet rs, int rowNum) throws SQLException {
+        return ConfigChangeResponse.builder()
+                .revision(rs.getLong("REVISION"))
+                .changeType(ConfigChangeResponse.ChangeType.valueOf(rs.getString("CHANGE_TYPE")))
+                .configId(rs.getString("CONFIG_ID"))
+                .configKey(rs.getString("CONFIG_KEY"))
+                .previousConfigKey(rs.getString("PREVIOUS_CONFIG_KEY"))
+                .configValue(rs.getString("CONFIG_VALUE"))
+                .active(rs.getInt("IS_ACTIVE") == 1)
+                .rolloutPercentage(rs.getBigDecimal("ROLLOUT_PERCENTAGE"))
+                .targetingRules(TargetingRulesConverter.fromJson(rs.getString("TARGETING_RULES")))
+                .changedAt(rs.getTimestamp("CHANGED_AT").toLocalDateTime())
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.codemaster.switchadmin.repository;
+
+import com.codemaster.switchadmin.entity.Permission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface PermissionRepository extends JpaRepository<Permission, String> {
+
+    @Query("SELECT p.name FROM Permission p ORDER BY p.permissionId")
+    List<String> findAllNames();
+}
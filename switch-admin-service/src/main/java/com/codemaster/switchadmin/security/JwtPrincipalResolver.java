@@ -0,0 +1,106 @@
+package com.codemaster.switchadmin.security;
+
+import com.codemaster.switchadmin.event.RolePermissionsChangedEvent;
+import com.codemaster.switchadmin.event.UserAccountChangedEvent;
+import com.codemaster.switchadmin.monitoring.PrincipalLoadEvent;
+import com.codemaster.switchadmin.util.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Builds the request principal for a verified JWT.
+ * <p>
+ * {@link Source#CLAIMS} (the default) trusts the signed claims and never touches the
+ * database. {@link Source#CACHED} loads the account through {@link UserDetailsService}
+ * and keeps it in a bounded cache, so role and active-flag changes take effect as soon
+ * as the entry is invalidated instead of when the token expires. A change to a role or
+ * permission clears the whole cache: those are rare, and finding the users holding the
+ * role would cost more than reloading whoever signs in next.
+ */
+@Component
+public class JwtPrincipalResolver {
+
+    public enum Source {
+        CLAIMS, CACHED
+    }
+
+    private static final String NO_PASSWORD = "";
+
+    private final Source source;
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> principalCache;
+
+    public JwtPrincipalResolver(@Value("${jwt.principal.source}") Source source,
+                                @Value("${jwt.principal.cache.maximum-size}") long maximumSize,
+                                @Value("${jwt.principal.cache.expire-after-write}") Duration expireAfterWrite,
+                                UserDetailsService userDetailsService,
+                                MeterRegistry meterRegistry) {
+        this.source = source;
+        this.userDetailsService = userDetailsService;
+        if (source == Source.CACHED) {
+            this.principalCache = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(expireAfterWrite)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, principalCache, "jwt-principal");
+        } else {
+            this.principalCache = null;
+        }
+    }
+
+    public UserDetails resolve(VerifiedToken token) {
+        PrincipalLoadEvent event = new PrincipalLoadEvent();
+        event.begin();
+        try {
+            if (source == Source.CACHED) {
+                UserDetails cached = principalCache.getIfPresent(token.getSubject());
+                if (cached != null) {
+                    event.source = PrincipalLoadEvent.CACHE;
+                    return cached;
+                }
+                event.source = PrincipalLoadEvent.DATABASE;
+                return principalCache.get(token.getSubject(), userDetailsService::loadUserByUsername);
+            }
+            event.source = PrincipalLoadEvent.CLAIMS;
+            return User.withUsername(token.getSubject())
+                    .password(NO_PASSWORD)
+                    .authorities(token.getPermissions().toArray(String[]::new))
+                    .build();
+        } finally {
+            event.commit();
+        }
+    }
+
+    public void invalidate(String username) {
+        if (principalCache != null) {
+            principalCache.invalidate(username);
+        }
+    }
+
+    public void invalidateAll() {
+        if (principalCache != null) {
+            principalCache.invalidateAll();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        invalidate(event.getEmail());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolePermissionsChanged(RolePermissionsChangedEvent event) {
+        invalidateAll();
+    }
+}
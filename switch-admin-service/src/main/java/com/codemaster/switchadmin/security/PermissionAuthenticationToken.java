@@ -0,0 +1,25 @@
+package com.codemaster.switchadmin.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Authenticated token that also carries the principal's grants as a {@link PermissionSet},
+ * built once when the request is authenticated.
+ */
+public class PermissionAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final transient PermissionSet permissions;
+
+    public PermissionAuthenticationToken(Object principal, Collection<? extends GrantedAuthority> authorities,
+                                         PermissionSet permissions) {
+        super(principal, null, authorities);
+        this.permissions = permissions;
+    }
+
+    public PermissionSet getPermissions() {
+        return permissions;
+    }
+}
@@ -0,0 +1,124 @@
+package com.codemaster.switchadmin.security;
+
+import com.codemaster.switchadmin.monitoring.PermissionDecisionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Authorizes {@link RequirePermissions} methods against the caller's {@link PermissionSet}.
+ * The requirement of every handler method is resolved when the context starts, so a check
+ * is a map lookup and a few word comparisons.
+ */
+@Component
+public class PermissionAuthorizationManager implements AuthorizationManager<MethodInvocation>, SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionAuthorizationManager.class);
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final PermissionCatalogue permissionCatalogue;
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+    private final Map<Method, PermissionSet> requirements = new ConcurrentHashMap<>();
+    private final Counter grantedCounter;
+    private final Counter deniedCounter;
+
+    public PermissionAuthorizationManager(PermissionCatalogue permissionCatalogue,
+                                          ObjectProvider<RequestMappingHandlerMapping> handlerMappings,
+                                          MeterRegistry meterRegistry) {
+        this.permissionCatalogue = permissionCatalogue;
+        this.handlerMappings = handlerMappings;
+        this.grantedCounter = checkCounter("granted", meterRegistry);
+        this.deniedCounter = checkCounter("denied", meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        handlerMappings.orderedStream()
+                .flatMap(mapping -> mapping.getHandlerMethods().values().stream())
+                .forEach(handlerMethod -> requirementFor(handlerMethod.getMethod()));
+        logger.info("Resolved permission requirements for {} handler methods", requirements.size());
+    }
+
+    @Override
+    public AuthorizationDecision authorize(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        PermissionSet required = requirementFor(invocation.getMethod());
+        if (required == null) {
+            return GRANTED;
+        }
+        PermissionDecisionEvent event = new PermissionDecisionEvent();
+        event.begin();
+        PermissionSet granted = grantsOf(authentication.get());
+        boolean allowed = granted != null && granted.containsAll(required);
+        (allowed ? grantedCounter : deniedCounter).increment();
+        event.end();
+        if (event.shouldCommit()) {
+            Method method = invocation.getMethod();
+            event.method = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            event.granted = allowed;
+            event.commit();
+        }
+        return allowed ? GRANTED : DENIED;
+    }
+
+    /**
+     * @deprecated still abstract in {@link AuthorizationManager}; use {@link #authorize}
+     */
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        return authorize(authentication, invocation);
+    }
+
+    /**
+     * The caller's grants: prebuilt for requests authenticated by the JWT filter, otherwise
+     * built from the authorities.
+     */
+    public PermissionSet grantsOf(Authentication authentication) {
+        if (authentication instanceof PermissionAuthenticationToken token) {
+            return token.getPermissions();
+        }
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return permissionCatalogue.granted(authentication.getAuthorities());
+    }
+
+    private static Counter checkCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("authz.permission.checks")
+                .description("@RequirePermissions checks, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private PermissionSet requirementFor(Method method) {
+        PermissionSet required = requirements.get(method);
+        if (required != null) {
+            return required;
+        }
+        RequirePermissions annotation = AnnotatedElementUtils.findMergedAnnotation(method, RequirePermissions.class);
+        if (annotation == null) {
+            return null;
+        }
+        if (annotation.value().length == 0) {
+            throw new IllegalStateException("@RequirePermissions on " + method + " lists no permissions");
+        }
+        return requirements.computeIfAbsent(method, m -> permissionCatalogue.required(annotation.value()));
+    }
+}
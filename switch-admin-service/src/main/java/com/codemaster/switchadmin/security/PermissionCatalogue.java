@@ -0,0 +1,103 @@
+package com.codemaster.switchadmin.security;
+
+import com.codemaster.switchadmin.repository.PermissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dense integer ids for permission names, so grants and requirements can be kept as
+ * {@link PermissionSet} bitsets.
+ * <p>
+ * The PERMISSION table is interned at startup, followed by every name required through
+ * {@link RequirePermissions}. Ids never change once assigned; a granted or required name
+ * that is not known yet (a permission added after startup) gets the next free id.
+ */
+@Component
+public class PermissionCatalogue {
+
+    public static final String ALL = "ALL";
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionCatalogue.class);
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile int size;
+
+    @Autowired
+    public PermissionCatalogue(PermissionRepository permissionRepository) {
+        this(permissionRepository.findAllNames());
+    }
+
+    public PermissionCatalogue(Collection<String> permissionNames) {
+        permissionNames.forEach(this::intern);
+        logger.info("Interned {} permissions", size);
+    }
+
+    /**
+     * Id of {@code name}, assigning the next free id if it is new.
+     */
+    public synchronized int intern(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = size;
+            ids.put(name, id);
+            size = id + 1;
+        }
+        return id;
+    }
+
+    /**
+     * Id of {@code name}, or -1 if it was never interned.
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public PermissionSet required(String... names) {
+        long[] words = new long[wordsFor(size)];
+        for (String name : names) {
+            words = set(words, intern(name));
+        }
+        return new PermissionSet(words, false);
+    }
+
+    public PermissionSet granted(Collection<? extends GrantedAuthority> authorities) {
+        long[] words = new long[wordsFor(size)];
+        boolean all = false;
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (ALL.equals(name)) {
+                all = true;
+            }
+            int id = idOf(name);
+            words = set(words, id >= 0 ? id : intern(name));
+        }
+        return new PermissionSet(words, all);
+    }
+
+    private static long[] set(long[] words, int id) {
+        int word = id >>> 6;
+        if (word >= words.length) {
+            long[] grown = new long[word + 1];
+            System.arraycopy(words, 0, grown, 0, words.length);
+            words = grown;
+        }
+        words[word] |= 1L << id;
+        return words;
+    }
+
+    private static int wordsFor(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
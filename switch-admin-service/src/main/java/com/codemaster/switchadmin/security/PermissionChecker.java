@@ -2,28 +2,41 @@ package com.codemaster.switchadmin.security;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
-import java.util.Arrays;
 
+/**
+ * SpEL entry point ({@code @permissionChecker}) for checks that cannot use
+ * {@link RequirePermissions}. Uses the same {@link PermissionSet} as the annotation.
+ */
 @Component("permissionChecker")
 public class PermissionChecker {
 
+    private final PermissionCatalogue permissionCatalogue;
+    private final PermissionAuthorizationManager authorizationManager;
+
+    public PermissionChecker(PermissionCatalogue permissionCatalogue,
+                             PermissionAuthorizationManager authorizationManager) {
+        this.permissionCatalogue = permissionCatalogue;
+        this.authorizationManager = authorizationManager;
+    }
+
     /**
      * Checks if the user has ALL specified permissions OR the "ALL" permission.
      */
     public boolean hasAllPermissions(Authentication authentication, String... permissions) {
-        // If user has "ALL" permission, grant access immediately
-        boolean hasFullAccess = authentication.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals("ALL"));
-
-        if (hasFullAccess) {
+        PermissionSet granted = authorizationManager.grantsOf(authentication);
+        if (granted == null) {
+            return false;
+        }
+        if (granted.isAll()) {
             return true;
         }
-
-        // Otherwise, check for all required permissions
-        return Arrays.stream(permissions)
-                .allMatch(requiredPerm ->
-                        authentication.getAuthorities().stream()
-                                .anyMatch(userPerm -> userPerm.getAuthority().equals(requiredPerm))
-                );
+        for (String permission : permissions) {
+            // Every granted name is interned, so a name the catalogue never saw is not granted
+            int id = permissionCatalogue.idOf(permission);
+            if (id < 0 || !granted.contains(id)) {
+                return false;
+            }
+        }
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package com.codemaster.switchadmin.security;
+
+/**
+ * Immutable set of permission ids from {@link PermissionCatalogue}, one bit per permission.
+ * A set built from a principal's grants may also carry the "ALL" superuser flag.
+ */
+public final class PermissionSet {
+
+    private final long[] words;
+    private final boolean all;
+
+    PermissionSet(long[] words, boolean all) {
+        this.words = words;
+        this.all = all;
+    }
+
+    public boolean isAll() {
+        return all;
+    }
+
+    public boolean contains(int permissionId) {
+        int word = permissionId >>> 6;
+        return all || (word < words.length && (words[word] & (1L << permissionId)) != 0);
+    }
+
+    /**
+     * True when this set grants everything in {@code required}.
+     */
+    public boolean containsAll(PermissionSet required) {
+        if (all) {
+            return true;
+        }
+        long[] requiredWords = required.words;
+        for (int i = 0; i < requiredWords.length; i++) {
+            long granted = i < words.length ? words[i] : 0L;
+            if ((requiredWords[i] & ~granted) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
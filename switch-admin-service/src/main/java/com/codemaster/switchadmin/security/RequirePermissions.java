@@ -0,0 +1,16 @@
+package com.codemaster.switchadmin.security;
+
+import java.lang.annotation.*;
+
+/**
+ * Grants access when the caller holds every listed permission, or the "ALL" permission.
+ * Resolved to a {@link PermissionSet} once per method at startup by
+ * {@link PermissionAuthorizationManager}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequirePermissions {
+
+    String[] value();
+}
@@ -0,0 +1,188 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.dto.ConfigChangeResponse;
+import com.codemaster.switchadmin.dto.ConfigChangesResponse;
+import com.codemaster.switchadmin.event.AppConfigChangedEvent;
+import com.codemaster.switchadmin.event.AppConfigsImportedEvent;
+import com.codemaster.switchadmin.event.ConfigRevisionAdvancedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, key-indexed cache in front of {@code AppConfigRepository.findByConfigKey}.
+ * Entries are refreshed after the writing transaction commits, so a rolled back
+ * change never becomes visible. Each entry keeps the revision it reflects, and a refresh
+ * older than the entry is ignored. When a newer config revision is seen, from any node,
+ * the keys changed since the previous one are evicted; the expiry only bounds staleness
+ * if that lookup fails.
+ * <p>
+ * Concurrent misses on one key share a single load, run by the first caller. Keys that
+ * do not exist are cached too, for the shorter {@code negative-ttl}.
+ */
+@Component
+public class AppConfigCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppConfigCache.class);
+
+    static final String CACHE_NAME = "app-config";
+
+    // More changes than this between two revisions seen here and the whole cache is dropped
+    private static final int EVICTION_PAGE_SIZE = 1000;
+
+    private final AsyncCache<String, Entry> cache;
+    private final ConfigChangeLogService configChangeLogService;
+    private final AtomicLong seenRevision = new AtomicLong();
+
+    public AppConfigCache(@Value("${app-config.cache.maximum-size}") long maximumSize,
+                          @Value("${app-config.cache.expire-after-write}") Duration expireAfterWrite,
+                          @Value("${app-config.cache.negative-ttl}") Duration negativeTtl,
+                          ConfigChangeLogService configChangeLogService,
+                          MeterRegistry meterRegistry) {
+        this.configChangeLogService = configChangeLogService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpireAfterWrite(expireAfterWrite.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached config for the key, or {@code null} if it does not exist. On a miss
+     * the calling thread runs the loader (a {@code null} result meaning "does not exist")
+     * while other callers for the same key wait for its result.
+     */
+    public AppConfigResponse get(String configKey, Function<String, AppConfigResponse> loader) {
+        CompletableFuture<Entry> load = new CompletableFuture<>();
+        CompletableFuture<Entry> cached = cache.get(configKey, (key, executor) -> load);
+        if (cached == load) {
+            // The load sees at least every revision seen so far, maybe more
+            long revision = seenRevision.get();
+            try {
+                load.complete(new Entry(Optional.ofNullable(loader.apply(configKey)), revision));
+            } catch (RuntimeException | Error e) {
+                // A failed load is not cached; the waiting callers get the same failure
+                load.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return cached.join().config().orElse(null);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onConfigChanged(AppConfigChangedEvent event) {
+        AppConfigResponse config = event.getConfig();
+        String previousKey = event.getPreviousConfigKey();
+        if (previousKey != null && !previousKey.equals(config.getConfigKey())) {
+            cache.synchronous().invalidate(previousKey);
+        }
+        long revision = event.getRevision();
+        // After-commit listeners of concurrent transactions run in any order
+        cache.asMap().merge(config.getConfigKey(),
+                CompletableFuture.completedFuture(new Entry(Optional.of(config), revision)),
+                (current, update) -> revisionOf(current) > revision ? current : update);
+    }
+
+    @TransactionalEventListener
+    public void onConfigsImported(AppConfigsImportedEvent event) {
+        cache.synchronous().invalidateAll(event.getConfigKeys());
+    }
+
+    /**
+     * Evicts every key changed after the previous revision seen here, by this node or
+     * another, including keys cached as "not found" that have since been created. The whole
+     * cache goes when the changes cannot be listed in one page.
+     */
+    @EventListener
+    public void onRevisionAdvanced(ConfigRevisionAdvancedEvent event) {
+        long revision = event.getRevision();
+        long previous = seenRevision.getAndAccumulate(revision, Math::max);
+        if (revision <= previous) {
+            return;
+        }
+        if (previous == 0) {
+            // First revision seen: whatever was loaded before has no revision to start from
+            invalidateAll();
+            return;
+        }
+        try {
+            ConfigChangesResponse changes =
+                    configChangeLogService.getChangesSince(previous, EVICTION_PAGE_SIZE, revision);
+            if (changes.isHasMore()) {
+                invalidateAll();
+                return;
+            }
+            Set<String> changedKeys = new HashSet<>();
+            for (ConfigChangeResponse change : changes.getChanges()) {
+                changedKeys.add(change.getConfigKey());
+                if (change.getPreviousConfigKey() != null) {
+                    changedKeys.add(change.getPreviousConfigKey());
+                }
+            }
+            cache.synchronous().invalidateAll(changedKeys);
+        } catch (RuntimeException e) {
+            logger.warn("Could not read config changes after revision {}, dropping the cache: {}",
+                    previous, e.getMessage());
+            invalidateAll();
+        }
+    }
+
+    private static long revisionOf(CompletableFuture<Entry> future) {
+        // A load still running is replaced: its result may predate the update
+        return future.isDone() && !future.isCompletedExceptionally() ? future.join().revision() : Long.MIN_VALUE;
+    }
+
+    /**
+     * A cached lookup and the revision it reflects at least; an empty config means "does not exist".
+     */
+    private record Entry(Optional<AppConfigResponse> config, long revision) {
+    }
+
+    private record ExpireAfterWrite(long presentNanos, long absentNanos) implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.config().isPresent() ? presentNanos : absentNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
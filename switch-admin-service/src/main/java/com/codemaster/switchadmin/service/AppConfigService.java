@@ -1,44 +1,77 @@
 package com.codemaster.switchadmin.service;
 
+import com.codemaster.switchadmin.datasource.ReplicaRoutingDataSource;
 import com.codemaster.switchadmin.dto.AppConfigRequest;
 import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.dto.AppConfigVersionResponse;
+import com.codemaster.switchadmin.dto.ConfigChangeResponse.ChangeType;
+import com.codemaster.switchadmin.dto.ConfigChangesResponse;
+import com.codemaster.switchadmin.dto.ConfigLookupResponse;
 import com.codemaster.switchadmin.entity.AppConfig;
 import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.model.TargetingRule;
 import com.codemaster.switchadmin.entity.UserAccount;
+import com.codemaster.switchadmin.event.AppConfigChangedEvent;
 import com.codemaster.switchadmin.exception.AppConfigAlreadyExistsException;
 import com.codemaster.switchadmin.exception.AppConfigNotFoundException;
 import com.codemaster.switchadmin.exception.UserAccountNotFoundException;
+import com.codemaster.switchadmin.mapper.AppConfigMapper;
 import com.codemaster.switchadmin.repository.AppConfigRepository;
+import com.codemaster.switchadmin.repository.AppConfigVersionJdbcRepository;
 import com.codemaster.switchadmin.repository.AuditTrailRepository;
 import com.codemaster.switchadmin.repository.UserAccountRepository;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Timed(value = "app.config.service", histogram = true, description = "AppConfigService calls, by method")
 public class AppConfigService {
 
     private final AppConfigRepository appConfigRepository;
     private final AuditService auditService;
     private final UserAccountRepository userAccountRepository;
-    private final ModelMapper modelMapper;
+    private final AppConfigMapper appConfigMapper;
+    private final AppConfigCache appConfigCache;
+    private final ConfigChangeLogService configChangeLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConfigSnapshotService configSnapshotService;
+    private final ConfigRevisionTracker revisionTracker;
+    private final AppConfigVersionJdbcRepository versionRepository;
 
     public AppConfigService(AppConfigRepository appConfigRepository, AuditService auditService,
-                            UserAccountRepository userAccountRepository, ModelMapper modelMapper) {
+                            UserAccountRepository userAccountRepository, AppConfigMapper appConfigMapper,
+                            AppConfigCache appConfigCache, ConfigChangeLogService configChangeLogService,
+                            ApplicationEventPublisher eventPublisher, ConfigSnapshotService configSnapshotService,
+                            ConfigRevisionTracker revisionTracker, AppConfigVersionJdbcRepository versionRepository) {
         this.appConfigRepository = appConfigRepository;
         this.auditService = auditService;
         this.userAccountRepository = userAccountRepository;
-        this.modelMapper = modelMapper;
+        this.appConfigMapper = appConfigMapper;
+        this.appConfigCache = appConfigCache;
+        this.configChangeLogService = configChangeLogService;
+        this.eventPublisher = eventPublisher;
+        this.configSnapshotService = configSnapshotService;
+        this.revisionTracker = revisionTracker;
+        this.versionRepository = versionRepository;
     }
 
-    @Transactional(readOnly = true)
     public List<AppConfigResponse> getAllConfigs() {
-        return appConfigRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return configSnapshotService.getSnapshot().configs();
+    }
+
+    public ConfigSnapshotService.Snapshot getConfigSnapshot() {
+        return configSnapshotService.getSnapshot();
     }
 
     @Transactional(readOnly = true)
@@ -48,13 +81,67 @@ public class AppConfigService {
         return convertToDto(config);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from {@link AppConfigCache}; only a miss opens a (read-only) repository transaction,
+     * and concurrent misses on the same key share it.
+     */
     public AppConfigResponse getConfigByKey(String configKey) {
-        AppConfig config = appConfigRepository.findByConfigKey(configKey)
-                .orElseThrow(() -> new AppConfigNotFoundException("AppConfig not found with key: " + configKey));
-        return convertToDto(config);
+        AppConfigResponse config = appConfigCache.get(configKey, key -> appConfigRepository.findByConfigKey(key)
+                .map(this::convertToDto)
+                .orElse(null));
+        if (config == null) {
+            throw AppConfigNotFoundException.forKey(configKey);
+        }
+        return config;
     }
 
+    /**
+     * Resolves many keys against the snapshot's key index. When that snapshot is behind the
+     * newest known revision, any of its entries may be stale, so all keys are read from the
+     * database instead, with a single IN-list query on a replica that has reached that revision.
+     */
+    public ConfigLookupResponse lookupConfigs(List<String> configKeys) {
+        ConfigSnapshotService.Snapshot snapshot = configSnapshotService.getSnapshot();
+        long lastKnownRevision = revisionTracker.getLastKnownRevision();
+        Map<String, ConfigLookupResponse.ConfigValue> found = new LinkedHashMap<>(configKeys.size() * 2);
+        Set<String> missing = new LinkedHashSet<>();
+        long revision;
+        if (snapshot.revision() >= lastKnownRevision) {
+            Map<String, AppConfigResponse> index = snapshot.configsByKey();
+            for (String key : configKeys) {
+                AppConfigResponse config = index.get(key);
+                if (config != null) {
+                    found.put(key, new ConfigLookupResponse.ConfigValue(config.getConfigValue(), config.isActive()));
+                } else {
+                    missing.add(key);
+                }
+            }
+            revision = snapshot.revision();
+        } else {
+            Map<String, AppConfig> index = new HashMap<>(configKeys.size() * 2);
+            try (ReplicaRoutingDataSource.RevisionScope ignored =
+                         ReplicaRoutingDataSource.requireRevision(lastKnownRevision)) {
+                for (AppConfig config : appConfigRepository.findByConfigKeyIn(new HashSet<>(configKeys))) {
+                    index.put(config.getConfigKey(), config);
+                }
+            }
+            for (String key : configKeys) {
+                AppConfig config = index.get(key);
+                if (config != null) {
+                    found.put(key, new ConfigLookupResponse.ConfigValue(config.getConfigValue(), config.isActive()));
+                } else {
+                    missing.add(key);
+                }
+            }
+            // The rows are at least this new; a later commit may already be in them
+            revision = lastKnownRevision;
+        }
+        return ConfigLookupResponse.builder()
+                .revision(revision)
+                .configs(found)
+                .missing(new ArrayList<>(missing))
+                .build();
+    }
 
     @Transactional
     public AppConfigResponse createConfig(AppConfigRequest request, String email) {
@@ -70,6 +157,8 @@ public class AppConfigService {
                 .configValue(request.getConfigValue())
                 .description(request.getDescription())
                 .active(request.isActive())
+                .rolloutPercentage(request.getRolloutPercentage())
+                .targetingRules(targetingRulesOf(request))
                 .build();
 
         AppConfig savedConfig = appConfigRepository.save(config);
@@ -84,7 +173,10 @@ public class AppConfigService {
                 savedConfig
         );
 
-        return convertToDto(savedConfig);
+        long revision = configChangeLogService.recordChange(ChangeType.CREATE, savedConfig, null);
+        AppConfigResponse response = convertToDto(savedConfig);
+        eventPublisher.publishEvent(new AppConfigChangedEvent(revision, null, response));
+        return response;
     }
 
     @Transactional
@@ -102,12 +194,14 @@ public class AppConfigService {
         }
 
         // Save old values for audit
-        AppConfig oldConfig = modelMapper.map(existingConfig, AppConfig.class);
+        AppConfig oldConfig = appConfigMapper.copy(existingConfig);
 
         existingConfig.setConfigKey(request.getConfigKey());
         existingConfig.setConfigValue(request.getConfigValue());
         existingConfig.setDescription(request.getDescription());
         existingConfig.setActive(request.isActive());
+        existingConfig.setRolloutPercentage(request.getRolloutPercentage());
+        existingConfig.setTargetingRules(targetingRulesOf(request));
 
         AppConfig updatedConfig = appConfigRepository.save(existingConfig);
 
@@ -121,7 +215,10 @@ public class AppConfigService {
                 updatedConfig
         );
 
-        return convertToDto(updatedConfig);
+        long revision = configChangeLogService.recordChange(ChangeType.UPDATE, updatedConfig, oldConfig.getConfigKey());
+        AppConfigResponse response = convertToDto(updatedConfig);
+        eventPublisher.publishEvent(new AppConfigChangedEvent(revision, oldConfig.getConfigKey(), response));
+        return response;
     }
 
 
@@ -146,6 +243,9 @@ public class AppConfigService {
                 config,
                 null
         );
+
+        long revision = configChangeLogService.recordChange(ChangeType.DELETE, config, config.getConfigKey());
+        eventPublisher.publishEvent(new AppConfigChangedEvent(revision, config.getConfigKey(), convertToDto(config)));
     }
 
     @Transactional
@@ -157,7 +257,7 @@ public class AppConfigService {
                 .orElseThrow(() -> new UserAccountNotFoundException("UserAccount not found with email: " + email));
 
         // Save old values for audit
-        AppConfig oldConfig = modelMapper.map(config, AppConfig.class);
+        AppConfig oldConfig = appConfigMapper.copy(config);
 
         config.setActive(active);
         AppConfig updatedConfig = appConfigRepository.save(config);
@@ -172,10 +272,64 @@ public class AppConfigService {
                 updatedConfig
         );
 
-        return convertToDto(updatedConfig);
+        long revision = configChangeLogService.recordChange(ChangeType.UPDATE, updatedConfig, oldConfig.getConfigKey());
+        AppConfigResponse response = convertToDto(updatedConfig);
+        eventPublisher.publishEvent(new AppConfigChangedEvent(revision, oldConfig.getConfigKey(), response));
+        return response;
+    }
+
+    /**
+     * Makes the version that was current at {@code revision} the config's state again. This
+     * is a new change with its own revision; history is never rewritten.
+     */
+    @Transactional
+    public AppConfigResponse rollbackConfig(String configId, long revision, String email) {
+        AppConfig config = appConfigRepository.findById(configId)
+                .orElseThrow(() -> new AppConfigNotFoundException("AppConfig not found with id: " + configId));
+
+        UserAccount userAccount = userAccountRepository.findByEmail(email)
+                .orElseThrow(() -> new UserAccountNotFoundException("UserAccount not found with email: " + email));
+
+        AppConfigVersionResponse version = versionRepository.findByConfigIdAsOf(configId, revision)
+                .orElseThrow(() -> new AppConfigNotFoundException(
+                        "AppConfig " + configId + " has no version at revision " + revision));
+
+        if (!config.getConfigKey().equals(version.getConfigKey()) &&
+                appConfigRepository.existsByConfigKey(version.getConfigKey())) {
+            throw new AppConfigAlreadyExistsException("AppConfig already exists with key: " + version.getConfigKey());
+        }
+
+        // Save old values for audit
+        AppConfig oldConfig = appConfigMapper.copy(config);
+
+        appConfigRepository.restoreVersion(configId, version.getValidFromRevision());
+        AppConfig restoredConfig = appConfigRepository.findById(configId)
+                .orElseThrow(() -> new AppConfigNotFoundException("AppConfig not found with id: " + configId));
+
+        auditService.logConfigChange(
+                userAccount.getUserId(),
+                userAccount.getFullName(),
+                AuditTrail.ActionType.UPDATE,
+                configId,
+                oldConfig,
+                restoredConfig
+        );
+
+        long newRevision = configChangeLogService.recordChange(ChangeType.UPDATE, restoredConfig, oldConfig.getConfigKey());
+        AppConfigResponse response = convertToDto(restoredConfig);
+        eventPublisher.publishEvent(new AppConfigChangedEvent(newRevision, oldConfig.getConfigKey(), response));
+        return response;
+    }
+
+    public ConfigChangesResponse getChangesSince(long since, int limit) {
+        return configChangeLogService.getChangesSince(since, limit);
+    }
+
+    private static List<TargetingRule> targetingRulesOf(AppConfigRequest request) {
+        return request.getTargetingRules() != null ? new ArrayList<>(request.getTargetingRules()) : new ArrayList<>();
     }
 
     private AppConfigResponse convertToDto(AppConfig config) {
-        return modelMapper.map(config, AppConfigResponse.class);
+        return appConfigMapper.toResponse(config);
     }
 }
@@ -0,0 +1,263 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.monitoring.AuditPersistEvent;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background writer used by {@link AuditService} in {@code ASYNC} mode.
+ * <p>
+ * Records are queued in a bounded queue and written by a single thread with JDBC batch
+ * inserts, once {@code batch-size} records are waiting or {@code flush-interval} has
+ * passed since the first one. The queue is drained on shutdown. When the queue is full
+ * the {@link BackpressurePolicy} decides what the calling thread does.
+ */
+@Component
+public class AuditBatchWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditBatchWriter.class);
+
+    public enum BackpressurePolicy {
+        /** Wait up to {@code offer-timeout} for space, then write on the calling thread. */
+        BLOCK,
+        /** Write the record on the calling thread. */
+        CALLER_RUNS,
+        /** Discard the record and log it. */
+        DROP
+    }
+
+    private final AuditTrailJdbcRepository auditTrailJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<AuditTrail> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BackpressurePolicy backpressurePolicy;
+    private final long offerTimeoutNanos;
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    // Time spent in submit(), by what happened to the record
+    private final Timer queuedTimer;
+    private final Timer blockedTimer;
+    private final Timer callerRunsTimer;
+    private final Timer droppedTimer;
+    private final Timer flushTimer;
+    private final Timer failedFlushTimer;
+    private final DistributionSummary flushSize;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditBatchWriter(AuditTrailJdbcRepository auditTrailJdbcRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${audit.writer.queue-capacity}") int queueCapacity,
+                            @Value("${audit.writer.batch-size}") int batchSize,
+                            @Value("${audit.writer.flush-interval}") Duration flushInterval,
+                            @Value("${audit.writer.backpressure}") BackpressurePolicy backpressurePolicy,
+                            @Value("${audit.writer.offer-timeout}") Duration offerTimeout,
+                            MeterRegistry meterRegistry) {
+        this.auditTrailJdbcRepository = auditTrailJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // write() also runs on the caller's thread from afterCommit(), where the caller's
+        // committed transaction is still bound and would swallow the insert
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.backpressurePolicy = backpressurePolicy;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.queuedTimer = enqueueTimer("queued", meterRegistry);
+        this.blockedTimer = enqueueTimer("blocked", meterRegistry);
+        this.callerRunsTimer = enqueueTimer("caller_runs", meterRegistry);
+        this.droppedTimer = enqueueTimer("dropped", meterRegistry);
+        this.flushTimer = flushTimer("success", meterRegistry);
+        this.failedFlushTimer = flushTimer("failure", meterRegistry);
+        this.flushSize = DistributionSummary.builder("audit.flush.size")
+                .description("Audit records per batch insert")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.size", queue, BlockingQueue::size)
+                .description("Audit records waiting for the writer")
+                .register(meterRegistry);
+        FunctionCounter.builder("audit.dropped", droppedCount, AtomicLong::get)
+                .description("Audit records dropped because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a fully built record. Request context must already have been captured,
+     * since the record is written on another thread.
+     */
+    public void submit(AuditTrail audit) {
+        long start = System.nanoTime();
+        Timer outcome = enqueue(audit);
+        outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer enqueue(AuditTrail audit) {
+        if (!running) {
+            write(List.of(audit));
+            return callerRunsTimer;
+        }
+        if (queue.offer(audit)) {
+            return queuedTimer;
+        }
+        return switch (backpressurePolicy) {
+            case BLOCK -> {
+                if (offerWithTimeout(audit)) {
+                    yield blockedTimer;
+                }
+                write(List.of(audit));
+                yield callerRunsTimer;
+            }
+            case CALLER_RUNS -> {
+                write(List.of(audit));
+                yield callerRunsTimer;
+            }
+            case DROP -> {
+                logger.warn("Audit queue full, dropped record for {} {} ({} dropped so far)",
+                        audit.getTargetEntity(), audit.getTargetEntityId(), droppedCount.incrementAndGet());
+                yield droppedTimer;
+            }
+        };
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private boolean offerWithTimeout(AuditTrail audit) {
+        try {
+            return queue.offer(audit, offerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditTrail> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditTrail first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    AuditTrail next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                if (!batch.isEmpty()) {
+                    write(batch);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void write(List<AuditTrail> batch) {
+        AuditPersistEvent event = new AuditPersistEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> auditTrailJdbcRepository.batchInsert(batch));
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            failedFlushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.error("Failed to write {} audit record(s): {}", batch.size(), e.getMessage(), e);
+        }
+        flushSize.record(batch.size());
+        event.mode = AuditPersistEvent.ASYNC_FLUSH;
+        event.records = batch.size();
+        event.commit();
+    }
+
+    private void flushRemaining() {
+        List<AuditTrail> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private static Timer enqueueTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("audit.enqueue")
+                .description("Time to hand an audit record to the writer")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Timer flushTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("audit.flush")
+                .description("Time to write one batch of audit records")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "audit-batch-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        // No interrupt: an interrupted thread would close the JDBC socket mid-batch.
+        // The writer notices the flag within one flush interval.
+        running = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushRemaining();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,100 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.repository.AuditOutboxJdbcRepository;
+import com.codemaster.switchadmin.repository.AuditOutboxJdbcRepository.OutboxRecord;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves AUDIT_OUTBOX rows into AUDIT_TRAIL. Each batch is locked, copied with one JDBC
+ * batch insert and marked done in a single transaction, so every outbox row produces
+ * exactly one audit row. {@code SKIP LOCKED} lets several nodes relay at the same time.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditOutboxRelay.class);
+
+    private final AuditOutboxJdbcRepository auditOutboxRepository;
+    private final AuditTrailJdbcRepository auditTrailJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+
+    public AuditOutboxRelay(AuditOutboxJdbcRepository auditOutboxRepository,
+                            AuditTrailJdbcRepository auditTrailJdbcRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${audit.outbox.relay.batch-size}") int batchSize,
+                            @Value("${audit.outbox.relay.max-batches-per-run}") int maxBatchesPerRun,
+                            @Value("${audit.outbox.retention}") Duration retention) {
+        this.auditOutboxRepository = auditOutboxRepository;
+        this.auditTrailJdbcRepository = auditTrailJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = retention;
+    }
+
+    /**
+     * Relays until the outbox has no more pending rows, or for at most
+     * {@code maxBatchesPerRun} batches. A large backlog is then worked off over several runs
+     * and does not hold the scheduler from the other tasks in the meantime.
+     *
+     * @return number of rows relayed
+     */
+    @Scheduled(fixedDelayString = "${audit.outbox.relay.interval}")
+    public long relayPending() {
+        long total = 0;
+        int batches = 0;
+        int relayed;
+        do {
+            relayed = relayBatch();
+            total += relayed;
+        } while (relayed == batchSize && ++batches < maxBatchesPerRun);
+        if (total > 0) {
+            logger.debug("Relayed {} audit record(s) from the outbox", total);
+        }
+        return total;
+    }
+
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxRecord> records = auditOutboxRepository.lockPending(batchSize);
+            if (records.isEmpty()) {
+                return 0;
+            }
+            List<AuditTrail> audits = new ArrayList<>(records.size());
+            for (OutboxRecord record : records) {
+                audits.add(record.audit());
+            }
+            auditTrailJdbcRepository.batchInsert(audits);
+            auditOutboxRepository.markDone(records);
+            return records.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${audit.outbox.purge-interval}")
+    public void purgeRelayed() {
+        int purged = auditOutboxRepository.purgeDone(Timestamp.from(Instant.now().minus(retention)));
+        if (purged > 0) {
+            logger.debug("Purged {} relayed outbox record(s)", purged);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.dto.AuditTrailDetailResponse;
+import com.codemaster.switchadmin.dto.AuditTrailPageResponse;
+import com.codemaster.switchadmin.dto.AuditTrailSummaryResponse;
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.exception.AuditTrailNotFoundException;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Read side of AUDIT_TRAIL. Pages are addressed by an opaque cursor holding the
+ * (ACTION_TIMESTAMP, AUDIT_ID) of the last record returned, so reading page n costs the
+ * same as reading the first one.
+ */
+@Service
+public class AuditQueryService {
+
+    private static final String INVALID_CURSOR = "Invalid cursor";
+
+    private final AuditTrailJdbcRepository auditTrailJdbcRepository;
+    private final AuditValueSerializer auditValueSerializer;
+    private final int maxPageSize;
+
+    public AuditQueryService(AuditTrailJdbcRepository auditTrailJdbcRepository,
+                             AuditValueSerializer auditValueSerializer,
+                             @Value("${audit.query.max-page-size}") int maxPageSize) {
+        this.auditTrailJdbcRepository = auditTrailJdbcRepository;
+        this.auditValueSerializer = auditValueSerializer;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Transactional(readOnly = true)
+    public AuditTrailPageResponse findAudits(AuditTrailJdbcRepository.Filter filter, String after, int limit) {
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        // One extra row tells whether there is a next page
+        List<AuditTrailJdbcRepository.SummaryRow> rows =
+                auditTrailJdbcRepository.findPage(filter, decodeCursor(after), pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        return AuditTrailPageResponse.builder()
+                .records(rows.stream().map(AuditQueryService::toSummary).toList())
+                .nextCursor(hasMore ? encodeCursor(rows.get(rows.size() - 1).pageKey()) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public AuditTrailDetailResponse getAudit(String auditId) {
+        AuditTrail audit = auditTrailJdbcRepository.findById(auditId)
+                .orElseThrow(() -> new AuditTrailNotFoundException("Audit record not found with id: " + auditId));
+        return AuditTrailDetailResponse.builder()
+                .auditId(audit.getAuditId())
+                .userId(audit.getUserId())
+                .userName(audit.getUserName())
+                .actionType(audit.getActionType())
+                .targetEntity(audit.getTargetEntity())
+                .targetEntityId(audit.getTargetEntityId())
+                .actionStatus(audit.getActionStatus())
+                .ipAddress(audit.getIpAddress())
+                .authMethod(audit.getAuthMethod())
+                .sensitive(audit.isSensitive())
+                .actionTimestamp(audit.getActionTimestamp())
+                .actionDescription(audit.getActionDescription())
+                .errorMessage(audit.getErrorMessage())
+                .userAgent(audit.getUserAgent())
+                .valueFormat(audit.getValueFormat())
+                .oldValue(decodeValue(audit.getOldValue(), audit.getValueFormat()))
+                .newValue(decodeValue(audit.getNewValue(), audit.getValueFormat()))
+                .build();
+    }
+
+    private Object decodeValue(String value, AuditTrail.ValueFormat format) {
+        return format == AuditTrail.ValueFormat.JSON_DIFF ? auditValueSerializer.decode(value, format) : value;
+    }
+
+    private static AuditTrailSummaryResponse toSummary(AuditTrailJdbcRepository.SummaryRow row) {
+        return AuditTrailSummaryResponse.builder()
+                .auditId(row.auditId())
+                .userId(row.userId())
+                .userName(row.userName())
+                .actionType(row.actionType())
+                .targetEntity(row.targetEntity())
+                .targetEntityId(row.targetEntityId())
+                .actionStatus(row.actionStatus())
+                .ipAddress(row.ipAddress())
+                .authMethod(row.authMethod())
+                .sensitive(row.sensitive())
+                .actionTimestamp(row.actionTimestamp())
+                .build();
+    }
+
+    private static String encodeCursor(AuditTrailJdbcRepository.PageKey key) {
+        String value = key.actionTimestamp() + "|" + key.auditId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Every malformed cursor is an {@link IllegalArgumentException} (400). The message does
+     * not echo the cursor, which the client controls.
+     */
+    private static AuditTrailJdbcRepository.PageKey decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.indexOf('|');
+            if (separator < 0 || separator == key.length() - 1) {
+                throw new IllegalArgumentException(INVALID_CURSOR);
+            }
+            return new AuditTrailJdbcRepository.PageKey(LocalDateTime.parse(key.substring(0, separator)),
+                    key.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+    }
+}
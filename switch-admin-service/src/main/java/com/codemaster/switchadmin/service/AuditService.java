@@ -2,22 +2,54 @@ package com.codemaster.switchadmin.service;
 
 import com.codemaster.switchadmin.entity.AppConfig;
 import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.monitoring.AuditPersistEvent;
+import com.codemaster.switchadmin.repository.AuditOutboxJdbcRepository;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
 import com.codemaster.switchadmin.repository.AuditTrailRepository;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Service
 public class AuditService {
-    private final AuditTrailRepository auditTrailRepository;
 
-    public AuditService(AuditTrailRepository auditTrailRepository) {
+    /**
+     * How audit records are persisted.
+     */
+    public enum Mode {
+        /** Saved in the caller's transaction. */
+        SYNC,
+        /** Written to AUDIT_OUTBOX in the caller's transaction and relayed by {@link AuditOutboxRelay}. */
+        OUTBOX,
+        /** Queued after the caller commits and written in batches by {@link AuditBatchWriter}. Fire-and-forget. */
+        ASYNC
+    }
+
+    private final AuditTrailRepository auditTrailRepository;
+    private final AuditTrailJdbcRepository auditTrailJdbcRepository;
+    private final AuditOutboxJdbcRepository auditOutboxRepository;
+    private final AuditBatchWriter auditBatchWriter;
+    private final AuditValueSerializer auditValueSerializer;
+    private final Mode mode;
+
+    public AuditService(AuditTrailRepository auditTrailRepository, AuditTrailJdbcRepository auditTrailJdbcRepository,
+                        AuditOutboxJdbcRepository auditOutboxRepository, AuditBatchWriter auditBatchWriter,
+                        AuditValueSerializer auditValueSerializer, @Value("${audit.mode}") Mode mode) {
         this.auditTrailRepository = auditTrailRepository;
+        this.auditTrailJdbcRepository = auditTrailJdbcRepository;
+        this.auditOutboxRepository = auditOutboxRepository;
+        this.auditBatchWriter = auditBatchWriter;
+        this.auditValueSerializer = auditValueSerializer;
+        this.mode = mode;
     }
 
     public void logConfigChange(String userId,
@@ -32,23 +64,9 @@ public class AuditService {
                 .getRequestAttributes())
                 .getRequest();
 
-        AuditTrail audit = AuditTrail.builder()
-                .userId(userId)
-                .userName(userName)
-                .actionType(actionType)
-                .targetEntity("APP_CONFIG")
-                .targetEntityId(configId)
-                .oldValue(serializeConfig(oldConfig))
-                .newValue(serializeConfig(newConfig))
-                .actionDescription(getActionDescription(actionType, configId))
-                .actionStatus(AuditTrail.ActionStatus.SUCCESS)
-                .isSensitive(isConfigSensitive(newConfig != null ? newConfig : oldConfig))
-                .ipAddress(getClientIpAddress(request))
-                .userAgent(request.getHeader("User-Agent"))
-                .authMethod(determineAuthMethod(request))
-                .build();
-
-        auditTrailRepository.save(audit);
+        persist(buildAudit(userId, userName, actionType, configId, oldConfig, newConfig,
+                getClientIpAddress(request), request.getHeader("User-Agent"), determineAuthMethod(request),
+                LocalDateTime.now()));
     }
 
     public void logConfigChange(String userId,
@@ -60,25 +78,89 @@ public class AuditService {
                                 String ipAddress,
                                 String userAgent,
                                 AuditTrail.AuthMethod authMethod) {
+        persist(buildAudit(userId, userName, actionType, configId, oldConfig, newConfig,
+                ipAddress, userAgent, authMethod, LocalDateTime.now()));
+    }
 
+    /**
+     * Audits a batch of changes by one user with a single batched write (SYNC, OUTBOX) or
+     * a single hand-over after commit (ASYNC). Request details are read once, when present.
+     */
+    public void logConfigChanges(String userId, String userName, List<ConfigAudit> changes) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        HttpServletRequest request = attributes != null ? attributes.getRequest() : null;
+        String ipAddress = request != null ? getClientIpAddress(request) : null;
+        String userAgent = request != null ? request.getHeader("User-Agent") : null;
+        AuditTrail.AuthMethod authMethod = request != null ? determineAuthMethod(request) : null;
+        LocalDateTime actionTimestamp = LocalDateTime.now();
+
+        List<AuditTrail> audits = new ArrayList<>(changes.size());
+        for (ConfigAudit change : changes) {
+            audits.add(buildAudit(userId, userName, change.actionType(), change.configId(), change.oldConfig(),
+                    change.newConfig(), ipAddress, userAgent, authMethod, actionTimestamp));
+        }
 
-        AuditTrail audit = AuditTrail.builder()
-                .userId(userId)
-                .userName(userName)
-                .actionType(actionType)
-                .targetEntity("APP_CONFIG")
-                .targetEntityId(configId)
-                .oldValue(serializeConfig(oldConfig))
-                .newValue(serializeConfig(newConfig))
-                .actionDescription(getActionDescription(actionType, configId))
-                .actionStatus(AuditTrail.ActionStatus.SUCCESS)
-                .isSensitive(isConfigSensitive(newConfig != null ? newConfig : oldConfig))
-                .ipAddress(ipAddress)
-                .userAgent(userAgent)
-                .authMethod(authMethod)
-                .build();
+        AuditPersistEvent event = new AuditPersistEvent();
+        event.begin();
+        try {
+            if (mode == Mode.SYNC) {
+                auditTrailJdbcRepository.batchInsert(audits);
+                return;
+            }
+            if (mode == Mode.OUTBOX) {
+                auditOutboxRepository.batchInsert(audits);
+                return;
+            }
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        audits.forEach(auditBatchWriter::submit);
+                    }
+                });
+            } else {
+                audits.forEach(auditBatchWriter::submit);
+            }
+        } finally {
+            commit(event, audits.size());
+        }
+    }
+
+    private void persist(AuditTrail audit) {
+        AuditPersistEvent event = new AuditPersistEvent();
+        event.begin();
+        try {
+            if (mode == Mode.SYNC) {
+                auditTrailRepository.save(audit);
+                return;
+            }
+            if (mode == Mode.OUTBOX) {
+                auditOutboxRepository.insert(audit);
+                return;
+            }
+            // Request context is already captured in the record; only hand it over once the change is committed
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        auditBatchWriter.submit(audit);
+                    }
+                });
+            } else {
+                auditBatchWriter.submit(audit);
+            }
+        } finally {
+            commit(event, 1);
+        }
+    }
 
-        auditTrailRepository.save(audit);
+    private void commit(AuditPersistEvent event, int records) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.mode = mode.name();
+            event.records = records;
+            event.commit();
+        }
     }
 
     private String getClientIpAddress(HttpServletRequest request) {
@@ -104,23 +186,33 @@ public class AuditService {
     }
 
 
-    private String serializeConfig(AppConfig config) {
-        if (config == null) return null;
-
-        Map<String, Object> configMap = new HashMap<>();
-        configMap.put("configKey", config.getConfigKey());
-        configMap.put("configValue", isConfigSensitive(config) ? "*****" : config.getConfigValue());
-        configMap.put("description", config.getDescription());
-        configMap.put("active", config.isActive());
-
-        return configMap.toString();
-    }
-
-    private boolean isConfigSensitive(AppConfig config) {
-        return config != null &&
-                (config.getConfigKey().contains("password") ||
-                        config.getConfigKey().contains("secret") ||
-                        config.getConfigKey().contains("token"));
+    private AuditTrail buildAudit(String userId,
+                                  String userName,
+                                  AuditTrail.ActionType actionType,
+                                  String configId,
+                                  AppConfig oldConfig,
+                                  AppConfig newConfig,
+                                  String ipAddress,
+                                  String userAgent,
+                                  AuditTrail.AuthMethod authMethod,
+                                  LocalDateTime actionTimestamp) {
+        AuditValueSerializer.ConfigDiff diff = auditValueSerializer.diff(oldConfig, newConfig);
+        return AuditTrail.builder()
+                .userId(userId)
+                .userName(userName)
+                .actionType(actionType)
+                .targetEntity("APP_CONFIG")
+                .targetEntityId(configId)
+                .oldValue(diff.oldValue())
+                .newValue(diff.newValue())
+                .actionDescription(getActionDescription(actionType, configId))
+                .actionStatus(AuditTrail.ActionStatus.SUCCESS)
+                .isSensitive(auditValueSerializer.isConfigSensitive(newConfig != null ? newConfig : oldConfig))
+                .ipAddress(ipAddress)
+                .userAgent(userAgent)
+                .authMethod(authMethod)
+                .actionTimestamp(actionTimestamp)
+                .build();
     }
 
     private String getActionDescription(AuditTrail.ActionType actionType, String configId) {
@@ -128,4 +220,11 @@ public class AuditService {
                 actionType.toString().toLowerCase(),
                 configId);
     }
+
+    /**
+     * One config change for {@link #logConfigChanges}; {@code oldConfig} is {@code null} on create.
+     */
+    public record ConfigAudit(AuditTrail.ActionType actionType, String configId, AppConfig oldConfig,
+                              AppConfig newConfig) {
+    }
 }
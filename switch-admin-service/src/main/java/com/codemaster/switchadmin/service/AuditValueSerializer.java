@@ -0,0 +1,135 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.entity.AppConfig;
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Renders the before/after images of a config stored in AUDIT_TRAIL.OLD_VALUE/NEW_VALUE as
+ * {@link AuditTrail.ValueFormat#JSON_DIFF}: one JSON object per side holding only the fields
+ * that changed, e.g. {@code {"configValue":"false"}} and {@code {"configValue":"true"}}. A
+ * create has no old side and a delete no new side; the other side then holds every field
+ * that is set. Values of sensitive configs are masked on both sides.
+ */
+@Component
+public class AuditValueSerializer {
+
+    private static final String MASK = "*****";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectWriter WRITER = OBJECT_MAPPER.writer();
+    // Rollout percentages decode as BigDecimal, like the entity field, not double
+    private static final ObjectReader READER = OBJECT_MAPPER.readerFor(new TypeReference<Map<String, Object>>() {
+    }).with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    public ConfigDiff diff(AppConfig oldConfig, AppConfig newConfig) {
+        if (oldConfig == null && newConfig == null) {
+            return new ConfigDiff(null, null);
+        }
+        boolean sensitive = isConfigSensitive(oldConfig) || isConfigSensitive(newConfig);
+        Map<String, Object> oldFields = fields(oldConfig, sensitive);
+        Map<String, Object> newFields = fields(newConfig, sensitive);
+        if (oldFields != null && newFields != null) {
+            Set<String> names = new LinkedHashSet<>(oldFields.keySet());
+            names.addAll(newFields.keySet());
+            for (String name : names) {
+                // A masked value shows up as changed only when it actually did
+                boolean unchanged = name.equals("configValue")
+                        ? Objects.equals(oldConfig.getConfigValue(), newConfig.getConfigValue())
+                        : sameValue(oldFields.get(name), newFields.get(name));
+                if (unchanged) {
+                    oldFields.remove(name);
+                    newFields.remove(name);
+                } else {
+                    // A cleared field is written as null rather than left out
+                    oldFields.putIfAbsent(name, null);
+                    newFields.putIfAbsent(name, null);
+                }
+            }
+        }
+        return new ConfigDiff(toJson(oldFields), toJson(newFields));
+    }
+
+    /**
+     * The fields of a stored OLD_VALUE or NEW_VALUE, or {@code null} when there is none. Only
+     * {@link AuditTrail.ValueFormat#JSON_DIFF} values can be decoded; {@code TEXT} values are
+     * the {@code Map.toString()} of records written before it and are not parseable.
+     */
+    public Map<String, Object> decode(String value, AuditTrail.ValueFormat format) {
+        if (value == null) {
+            return null;
+        }
+        if (format != AuditTrail.ValueFormat.JSON_DIFF) {
+            throw new IllegalArgumentException("Audit values in format " + format + " cannot be decoded");
+        }
+        try {
+            return READER.readValue(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid audit value: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    public boolean isConfigSensitive(AppConfig config) {
+        return config != null &&
+                (config.getConfigKey().contains("password") ||
+                        config.getConfigKey().contains("secret") ||
+                        config.getConfigKey().contains("token"));
+    }
+
+    private static Map<String, Object> fields(AppConfig config, boolean sensitive) {
+        if (config == null) return null;
+
+        // Insertion order keeps the output stable; absent fields are left out, not written as null
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("configKey", config.getConfigKey());
+        fields.put("configValue", sensitive ? MASK : config.getConfigValue());
+        if (config.getDescription() != null) {
+            fields.put("description", config.getDescription());
+        }
+        fields.put("active", config.isActive());
+        if (config.getRolloutPercentage() != null) {
+            fields.put("rolloutPercentage", config.getRolloutPercentage());
+        }
+        if (config.getTargetingRules() != null && !config.getTargetingRules().isEmpty()) {
+            fields.put("targetingRules", config.getTargetingRules());
+        }
+        return fields;
+    }
+
+    private static boolean sameValue(Object before, Object after) {
+        if (before instanceof BigDecimal decimal && after instanceof BigDecimal other) {
+            return decimal.compareTo(other) == 0;
+        }
+        return Objects.equals(before, after);
+    }
+
+    private static String toJson(Map<String, Object> fields) {
+        if (fields == null) {
+            return null;
+        }
+        try {
+            return WRITER.writeValueAsString(fields);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize audit value", e);
+        }
+    }
+
+    /**
+     * OLD_VALUE and NEW_VALUE of one change; either is {@code null} when that side has no config.
+     */
+    public record ConfigDiff(String oldValue, String newValue) {
+    }
+}
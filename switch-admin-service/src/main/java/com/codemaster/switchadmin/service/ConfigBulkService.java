@@ -0,0 +1,469 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.dto.AppConfigRequest;
+import com.codemaster.switchadmin.dto.ConfigChangeResponse.ChangeType;
+import com.codemaster.switchadmin.dto.ConfigImportResponse;
+import com.codemaster.switchadmin.entity.AppConfig;
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.entity.UserAccount;
+import com.codemaster.switchadmin.entity.converter.TargetingRulesConverter;
+import com.codemaster.switchadmin.event.AppConfigsImportedEvent;
+import com.codemaster.switchadmin.exception.ConfigImportException;
+import com.codemaster.switchadmin.exception.UserAccountNotFoundException;
+import com.codemaster.switchadmin.mapper.AppConfigMapper;
+import com.codemaster.switchadmin.repository.AppConfigJdbcRepository;
+import com.codemaster.switchadmin.repository.UserAccountRepository;
+import com.codemaster.switchadmin.service.AuditService.ConfigAudit;
+import com.codemaster.switchadmin.service.ConfigChangeLogService.ConfigChange;
+import com.codemaster.switchadmin.util.CsvReader;
+import com.codemaster.switchadmin.util.CsvWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk import and export of AppConfigs as JSON lines or CSV. Neither direction
+ * holds more than one chunk in memory.
+ * <p>
+ * Import upserts by key, one transaction per chunk: one IN-list select for the chunk's
+ * keys, one batched MERGE, one batched audit write, one change log batch and one
+ * {@link AppConfigsImportedEvent}. A failing record stops the import; the chunks before
+ * it stay committed.
+ */
+@Service
+public class ConfigBulkService {
+
+    /**
+     * Wire formats; both carry the {@link AppConfigRequest} fields and ignore anything else,
+     * so an export can be imported as is. CSV holds the targeting rules as a JSON array.
+     */
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format of(MediaType contentType) {
+            for (Format format : values()) {
+                if (format.mediaType.isCompatibleWith(contentType)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported import format: " + contentType);
+        }
+    }
+
+    private static final String[] CSV_HEADER =
+            {"configId", "configKey", "configValue", "description", "active", "rolloutPercentage", "targetingRules",
+                    "createdAt", "updatedAt"};
+
+    private final AppConfigJdbcRepository appConfigJdbcRepository;
+    private final UserAccountRepository userAccountRepository;
+    private final AuditService auditService;
+    private final ConfigChangeLogService configChangeLogService;
+    private final AppConfigMapper appConfigMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final ObjectWriter ndjsonWriter;
+    private final int chunkSize;
+    private final int exportFetchSize;
+
+    public ConfigBulkService(AppConfigJdbcRepository appConfigJdbcRepository,
+                             UserAccountRepository userAccountRepository, AuditService auditService,
+                             ConfigChangeLogService configChangeLogService, AppConfigMapper appConfigMapper,
+                             ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                             Validator validator, ObjectMapper objectMapper,
+                             @Value("${config.import.chunk-size}") int chunkSize,
+                             @Value("${config.export.fetch-size}") int exportFetchSize) {
+        this.appConfigJdbcRepository = appConfigJdbcRepository;
+        this.userAccountRepository = userAccountRepository;
+        this.auditService = auditService;
+        this.configChangeLogService = configChangeLogService;
+        this.appConfigMapper = appConfigMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(AppConfigRequest.class);
+        // One value per line; flushing is left to the generator's buffer
+        this.ndjsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .withRootValueSeparator((String) null);
+        this.chunkSize = chunkSize;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    public ConfigImportResponse importConfigs(InputStream body, Format format, String email) {
+        UserAccount userAccount = userAccountRepository.findByEmail(email)
+                .orElseThrow(() -> new UserAccountNotFoundException("UserAccount not found with email: " + email));
+        return importConfigs(body, format, userAccount);
+    }
+
+    public ConfigImportResponse importConfigs(InputStream body, Format format, UserAccount userAccount) {
+        ImportProgress progress = new ImportProgress();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long line = 0;
+        try (RecordSource source = format == Format.CSV ? new CsvSource(body) : new NdjsonSource(body)) {
+            AppConfigRequest request;
+            while ((request = source.next()) != null) {
+                line = source.line();
+                validate(request, line, progress);
+                chunk.add(new ImportRow(line, request));
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, userAccount, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, userAccount, progress);
+            }
+        } catch (IOException e) {
+            throw new ConfigImportException(String.format("Unreadable input after line %d: %s; %d records committed",
+                    line, e.getMessage(), progress.committed()), e);
+        }
+        return ConfigImportResponse.builder()
+                .created(progress.created)
+                .updated(progress.updated)
+                .unchanged(progress.unchanged)
+                .duplicates(progress.duplicates)
+                .revision(progress.revision > 0 ? progress.revision : configChangeLogService.currentRevision())
+                .build();
+    }
+
+    /**
+     * Writes every config, in key order, from a forward-only cursor straight to {@code out}.
+     */
+    public void exportConfigs(OutputStream out, Format format) throws IOException {
+        try {
+            if (format == Format.CSV) {
+                CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+                csv.writeRecord(CSV_HEADER);
+                appConfigJdbcRepository.streamAll(exportFetchSize, config -> writeCsv(csv, config));
+                csv.flush();
+            } else {
+                JsonGenerator generator = ndjsonWriter.createGenerator(out);
+                appConfigJdbcRepository.streamAll(exportFetchSize, config -> writeNdjson(generator, config));
+                generator.flush();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeChunk(List<ImportRow> rows, UserAccount userAccount, ImportProgress progress) {
+        // A key repeated within the chunk: the last row wins
+        Map<String, ImportRow> rowsByKey = new LinkedHashMap<>();
+        for (ImportRow row : rows) {
+            rowsByKey.put(row.request().getConfigKey(), row);
+        }
+        try {
+            ChunkResult result = transactionTemplate.execute(status -> {
+                // Without the lock a config updated between this read and the commit would be
+                // overwritten with a diff computed against its old state
+                configChangeLogService.lockRevision();
+                Map<String, AppConfig> existing = appConfigJdbcRepository.findByConfigKeys(rowsByKey.keySet());
+                List<AppConfig> upserts = new ArrayList<>();
+                List<AppConfig> previous = new ArrayList<>();
+                for (ImportRow row : rowsByKey.values()) {
+                    AppConfigRequest request = row.request();
+                    AppConfig current = existing.get(request.getConfigKey());
+                    if (current != null && isUnchanged(current, request)) {
+                        continue;
+                    }
+                    AppConfig config = current != null ? appConfigMapper.copy(current) : new AppConfig();
+                    config.setConfigKey(request.getConfigKey());
+                    config.setConfigValue(request.getConfigValue());
+                    config.setDescription(request.getDescription());
+                    config.setActive(request.isActive());
+                    config.setRolloutPercentage(request.getRolloutPercentage());
+                    config.setTargetingRules(request.getTargetingRules() != null
+                            ? new ArrayList<>(request.getTargetingRules()) : new ArrayList<>());
+                    upserts.add(config);
+                    previous.add(current);
+                }
+                if (upserts.isEmpty()) {
+                    return new ChunkResult(0, 0, 0);
+                }
+                appConfigJdbcRepository.merge(upserts);
+
+                List<ConfigAudit> audits = new ArrayList<>(upserts.size());
+                List<ConfigChange> changes = new ArrayList<>(upserts.size());
+                int created = 0;
+                for (int i = 0; i < upserts.size(); i++) {
+                    AppConfig config = upserts.get(i);
+                    AppConfig oldConfig = previous.get(i);
+                    if (oldConfig == null) {
+                        created++;
+                    }
+                    audits.add(new ConfigAudit(oldConfig == null ? AuditTrail.ActionType.CREATE : AuditTrail.ActionType.UPDATE,
+                            config.getConfigId(), oldConfig, config));
+                    changes.add(new ConfigChange(oldConfig == null ? ChangeType.CREATE : ChangeType.UPDATE, config));
+                }
+                auditService.logConfigChanges(userAccount.getUserId(), userAccount.getFullName(), audits);
+                long revision = configChangeLogService.recordChanges(changes);
+                eventPublisher.publishEvent(new AppConfigsImportedEvent(revision,
+                        upserts.stream().map(AppConfig::getConfigKey).toList()));
+                return new ChunkResult(created, upserts.size() - created, revision);
+            });
+            progress.created += result.created();
+            progress.updated += result.updated();
+            progress.unchanged += rowsByKey.size() - result.created() - result.updated();
+            progress.duplicates += rows.size() - rowsByKey.size();
+            progress.revision = Math.max(progress.revision, result.revision());
+        } catch (DataIntegrityViolationException e) {
+            throw new ConfigImportException(String.format("Chunk starting on line %d was rejected: %s; %d records committed",
+                    rows.get(0).line(), e.getMostSpecificCause().getMessage(), progress.committed()), e);
+        }
+    }
+
+    private void validate(AppConfigRequest request, long line, ImportProgress progress) {
+        Set<ConstraintViolation<AppConfigRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return;
+        }
+        String problems = violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+        throw new ConfigImportException(String.format("Line %d: %s; %d records committed",
+                line, problems, progress.committed()));
+    }
+
+    private static boolean isUnchanged(AppConfig config, AppConfigRequest request) {
+        return Objects.equals(config.getConfigValue(), request.getConfigValue())
+                && Objects.equals(config.getDescription(), request.getDescription())
+                && config.isActive() == request.isActive()
+                && compare(config.getRolloutPercentage(), request.getRolloutPercentage()) == 0
+                && Objects.equals(config.getTargetingRules(),
+                request.getTargetingRules() != null ? request.getTargetingRules() : List.of());
+    }
+
+    private static int compare(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return a == b ? 0 : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    private void writeNdjson(JsonGenerator generator, AppConfig config) {
+        try {
+            ndjsonWriter.writeValue(generator, appConfigMapper.toResponse(config));
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsv(CsvWriter csv, AppConfig config) {
+        try {
+            csv.writeRecord(config.getConfigId(), config.getConfigKey(), config.getConfigValue(),
+                    config.getDescription(), Boolean.toString(config.isActive()),
+                    config.getRolloutPercentage() != null ? config.getRolloutPercentage().toPlainString() : null,
+                    TargetingRulesConverter.toJson(config.getTargetingRules()),
+                    toString(config.getCreatedAt()), toString(config.getUpdatedAt()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toString(LocalDateTime value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private record ImportRow(long line, AppConfigRequest request) {
+    }
+
+    private record ChunkResult(int created, int updated, long revision) {
+    }
+
+    private static final class ImportProgress {
+        int created;
+        int updated;
+        int unchanged;
+        int duplicates;
+        long revision;
+
+        int committed() {
+            return created + updated + unchanged + duplicates;
+        }
+    }
+
+    private interface RecordSource extends Closeable {
+
+        /**
+         * Next record, or {@code null} at end of input. Blank lines are skipped.
+         */
+        AppConfigRequest next() throws IOException;
+
+        /**
+         * Line of the record last returned by {@link #next()}.
+         */
+        long line();
+    }
+
+    private final class NdjsonSource implements RecordSource {
+
+        private final MappingIterator<AppConfigRequest> iterator;
+        private long line;
+
+        NdjsonSource(InputStream body) throws IOException {
+            this.iterator = requestReader.readValues(body);
+        }
+
+        @Override
+        public AppConfigRequest next() throws IOException {
+            if (!iterator.hasNextValue()) {
+                return null;
+            }
+            AppConfigRequest request = iterator.nextValue();
+            line = iterator.getCurrentLocation().getLineNr();
+            return request;
+        }
+
+        @Override
+        public long line() {
+            return line;
+        }
+
+        @Override
+        public void close() throws IOException {
+            iterator.close();
+        }
+    }
+
+    private static final class CsvSource implements RecordSource {
+
+        private final BufferedReader reader;
+        private final CsvReader csv;
+        private final int keyColumn;
+        private final int valueColumn;
+        private final int descriptionColumn;
+        private final int activeColumn;
+        private final int rolloutColumn;
+        private final int rulesColumn;
+
+        CsvSource(InputStream body) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            this.csv = new CsvReader(reader);
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                header = List.of();
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                // Spreadsheet exports often start with a byte order mark
+                String name = i == 0 ? header.get(i).replace("\uFEFF", "") : header.get(i);
+                columns.put(name.trim().toLowerCase(Locale.ROOT), i);
+            }
+            // Without active every row would import as inactive, switching off whatever it updates
+            if (!columns.containsKey("configkey") || !columns.containsKey("configvalue") || !columns.containsKey("active")) {
+                throw new IOException("CSV header must name the configKey, configValue and active columns");
+            }
+            this.keyColumn = columns.get("configkey");
+            this.valueColumn = columns.get("configvalue");
+            this.descriptionColumn = columns.getOrDefault("description", -1);
+            this.activeColumn = columns.get("active");
+            this.rolloutColumn = columns.getOrDefault("rolloutpercentage", -1);
+            this.rulesColumn = columns.getOrDefault("targetingrules", -1);
+        }
+
+        @Override
+        public AppConfigRequest next() throws IOException {
+            List<String> fields;
+            do {
+                fields = csv.readRecord();
+            } while (fields != null && fields.size() == 1 && fields.get(0).isBlank());
+            if (fields == null) {
+                return null;
+            }
+            AppConfigRequest request = new AppConfigRequest();
+            request.setConfigKey(field(fields, keyColumn));
+            request.setConfigValue(field(fields, valueColumn));
+            request.setDescription(field(fields, descriptionColumn));
+            request.setActive(parseActive(field(fields, activeColumn)));
+            String rolloutPercentage = field(fields, rolloutColumn);
+            String targetingRules = field(fields, rulesColumn);
+            try {
+                request.setRolloutPercentage(rolloutPercentage != null ? new BigDecimal(rolloutPercentage.trim()) : null);
+                request.setTargetingRules(TargetingRulesConverter.fromJson(targetingRules));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Line " + line() + ": " + e.getMessage(), e);
+            }
+            return request;
+        }
+
+        @Override
+        public long line() {
+            return csv.getRecordLineNumber();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private boolean parseActive(String value) throws IOException {
+            String active = value != null ? value.trim() : "";
+            if ("true".equalsIgnoreCase(active) || "1".equals(active)) {
+                return true;
+            }
+            if ("false".equalsIgnoreCase(active) || "0".equals(active)) {
+                return false;
+            }
+            throw new IOException("Line " + line() + ": active must be true or false");
+        }
+
+        private static String field(List<String> fields, int column) {
+            if (column < 0 || column >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(column);
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.datasource.ReplicaRoutingDataSource;
+import com.codemaster.switchadmin.dto.ConfigChangeResponse;
+import com.codemaster.switchadmin.dto.ConfigChangesResponse;
+import com.codemaster.switchadmin.entity.AppConfig;
+import com.codemaster.switchadmin.repository.AppConfigVersionJdbcRepository;
+import com.codemaster.switchadmin.repository.ConfigChangeLogJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ConfigChangeLogService {
+
+    private final ConfigChangeLogJdbcRepository changeLogRepository;
+    private final AppConfigVersionJdbcRepository versionRepository;
+    private final int maxPageSize;
+
+    public ConfigChangeLogService(ConfigChangeLogJdbcRepository changeLogRepository,
+                                  AppConfigVersionJdbcRepository versionRepository,
+                                  @Value("${config.change-log.max-page-size}") int maxPageSize) {
+        this.changeLogRepository = changeLogRepository;
+        this.versionRepository = versionRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Appends a change, and the config's new version, in the caller's transaction and
+     * returns its revision.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordChange(ConfigChangeResponse.ChangeType changeType, AppConfig config, String previousConfigKey) {
+        long revision = changeLogRepository.advanceRevision(1);
+        LocalDateTime changedAt = LocalDateTime.now();
+        changeLogRepository.insert(List.of(ConfigChangeResponse.builder()
+                .revision(revision)
+                .changeType(changeType)
+                .configId(config.getConfigId())
+                .configKey(config.getConfigKey())
+                .previousConfigKey(config.getConfigKey().equals(previousConfigKey) ? null : previousConfigKey)
+                .configValue(config.getConfigValue())
+                .active(config.isActive())
+                .rolloutPercentage(config.getRolloutPercentage())
+                .targetingRules(config.getTargetingRules())
+                .changedAt(changedAt)
+                .build()));
+        versionRepository.append(List.of(config), revision, changedAt);
+        return revision;
+    }
+
+    /**
+     * Appends the changes and new versions, in order, under consecutive revisions reserved
+     * with one counter update. Returns the last revision.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordChanges(List<ConfigChange> changes) {
+        long lastRevision = changeLogRepository.advanceRevision(changes.size());
+        long revision = lastRevision - changes.size();
+        LocalDateTime changedAt = LocalDateTime.now();
+        List<ConfigChangeResponse> entries = new ArrayList<>(changes.size());
+        for (ConfigChange change : changes) {
+            AppConfig config = change.config();
+            entries.add(ConfigChangeResponse.builder()
+                    .revision(++revision)
+                    .changeType(change.changeType())
+                    .configId(config.getConfigId())
+                    .configKey(config.getConfigKey())
+                    .configValue(config.getConfigValue())
+                    .active(config.isActive())
+                    .rolloutPercentage(config.getRolloutPercentage())
+                    .targetingRules(config.getTargetingRules())
+                    .changedAt(changedAt)
+                    .build());
+        }
+        changeLogRepository.insert(entries);
+        versionRepository.append(changes.stream().map(ConfigChange::config).toList(),
+                lastRevision - changes.size() + 1, changedAt);
+        return lastRevision;
+    }
+
+    /**
+     * Serialises the caller's transaction with every other config writer from now until it
+     * ends; see {@link ConfigChangeLogJdbcRepository#lockRevision()}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockRevision() {
+        changeLogRepository.lockRevision();
+    }
+
+    @Transactional(readOnly = true)
+    public long currentRevision() {
+        return changeLogRepository.currentRevision();
+    }
+
+    /**
+     * Only read from a replica that has reached {@code since}; an older one would report a
+     * high-water mark behind the client's.
+     */
+    @Transactional(readOnly = true)
+    public ConfigChangesResponse getChangesSince(long since, int limit) {
+        return getChangesSince(since, limit, since);
+    }
+
+    /**
+     * As {@link #getChangesSince(long, int)}, but only read from a replica that has reached
+     * {@code minRevision}, a revision the caller knows was committed. Watchers woken for a
+     * revision pass it here; a replica that has only reached {@code since} would answer them
+     * with no changes and they would come straight back.
+     */
+    @Transactional(readOnly = true)
+    public ConfigChangesResponse getChangesSince(long since, int limit, long minRevision) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        try (ReplicaRoutingDataSource.RevisionScope ignored =
+                     ReplicaRoutingDataSource.requireRevision(Math.max(since, minRevision))) {
+            // One extra row tells whether the client has to come back for more
+            List<ConfigChangeResponse> changes = changeLogRepository.findSince(since, pageSize + 1);
+            boolean hasMore = changes.size() > pageSize;
+            if (hasMore) {
+                changes = changes.subList(0, pageSize);
+            }
+            long highWaterMark = changes.isEmpty()
+                    ? changeLogRepository.currentRevision()
+                    : changes.get(changes.size() - 1).getRevision();
+            return ConfigChangesResponse.builder()
+                    .changes(changes)
+                    .highWaterMark(highWaterMark)
+                    .hasMore(hasMore)
+                    .build();
+        }
+    }
+
+    /**
+     * A change whose key did not change, as written by bulk imports.
+     */
+    public record ConfigChange(ConfigChangeResponse.ChangeType changeType, AppConfig config) {
+    }
+}
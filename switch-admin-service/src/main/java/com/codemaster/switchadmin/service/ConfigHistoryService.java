@@ -0,0 +1,82 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.datasource.ReplicaRoutingDataSource;
+import com.codemaster.switchadmin.dto.AppConfigVersionResponse;
+import com.codemaster.switchadmin.dto.ConfigAsOfResponse;
+import com.codemaster.switchadmin.exception.AppConfigNotFoundException;
+import com.codemaster.switchadmin.repository.AppConfigVersionJdbcRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Point-in-time reads over APP_CONFIG_VERSION. A point is either a revision or a timestamp,
+ * which stands for the last revision recorded at or before it. Reads go to a replica only
+ * once it has reached that point (for timestamps: the newest revision this node knows of).
+ */
+@Service
+public class ConfigHistoryService {
+
+    private final AppConfigVersionJdbcRepository versionRepository;
+    private final ConfigRevisionTracker revisionTracker;
+
+    public ConfigHistoryService(AppConfigVersionJdbcRepository versionRepository,
+                                ConfigRevisionTracker revisionTracker) {
+        this.versionRepository = versionRepository;
+        this.revisionTracker = revisionTracker;
+    }
+
+    @Transactional(readOnly = true)
+    public AppConfigVersionResponse getConfigAsOf(String configKey, Long revision, LocalDateTime at) {
+        try (ReplicaRoutingDataSource.RevisionScope ignored = requireReplicaAt(revision)) {
+            long asOf = resolveRevision(revision, at);
+            return versionRepository.findByConfigKeyAsOf(configKey, asOf)
+                    .orElseThrow(() -> new AppConfigNotFoundException(
+                            "AppConfig not found with key: " + configKey + " at revision " + asOf));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ConfigAsOfResponse getConfigsAsOf(Long revision, LocalDateTime at) {
+        try (ReplicaRoutingDataSource.RevisionScope ignored = requireReplicaAt(revision)) {
+            long asOf = resolveRevision(revision, at);
+            return ConfigAsOfResponse.builder()
+                    .revision(asOf)
+                    .configs(versionRepository.findAllAsOf(asOf))
+                    .build();
+        }
+    }
+
+    /**
+     * Every version of the config, newest first.
+     */
+    @Transactional(readOnly = true)
+    public List<AppConfigVersionResponse> getVersions(String configId) {
+        try (ReplicaRoutingDataSource.RevisionScope ignored = requireReplicaAt(null)) {
+            List<AppConfigVersionResponse> versions = versionRepository.findByConfigId(configId);
+            if (versions.isEmpty()) {
+                throw new AppConfigNotFoundException("AppConfig not found with id: " + configId);
+            }
+            return versions;
+        }
+    }
+
+    private ReplicaRoutingDataSource.RevisionScope requireReplicaAt(Long revision) {
+        return ReplicaRoutingDataSource.requireRevision(revision != null ? revision : revisionTracker.getLastKnownRevision());
+    }
+
+    private long resolveRevision(Long revision, LocalDateTime at) {
+        if ((revision == null) == (at == null)) {
+            throw new IllegalArgumentException("Pass exactly one of revision or at");
+        }
+        if (revision != null) {
+            if (revision < 0) {
+                throw new IllegalArgumentException("Revision must not be negative");
+            }
+            return revision;
+        }
+        return versionRepository.revisionAt(at);
+    }
+}
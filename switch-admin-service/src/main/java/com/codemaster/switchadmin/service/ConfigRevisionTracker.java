@@ -0,0 +1,67 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.event.AppConfigChangedEvent;
+import com.codemaster.switchadmin.event.AppConfigsImportedEvent;
+import com.codemaster.switchadmin.event.ConfigRevisionAdvancedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the highest committed config revision known to this node. Local commits are
+ * seen immediately; commits on other nodes are picked up by polling CONFIG_REVISION.
+ */
+@Component
+public class ConfigRevisionTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigRevisionTracker.class);
+
+    private final ConfigChangeLogService configChangeLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicLong lastKnownRevision = new AtomicLong();
+
+    public ConfigRevisionTracker(ConfigChangeLogService configChangeLogService,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.configChangeLogService = configChangeLogService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public long getLastKnownRevision() {
+        return lastKnownRevision.get();
+    }
+
+    @TransactionalEventListener
+    public void onConfigChanged(AppConfigChangedEvent event) {
+        advanceTo(event.getRevision());
+    }
+
+    @TransactionalEventListener
+    public void onConfigsImported(AppConfigsImportedEvent event) {
+        advanceTo(event.getRevision());
+    }
+
+    @Scheduled(fixedDelayString = "${config.revision.poll-interval}")
+    public void pollRevision() {
+        try {
+            advanceTo(configChangeLogService.currentRevision());
+        } catch (RuntimeException e) {
+            logger.warn("Could not read the current config revision: {}", e.getMessage());
+        }
+    }
+
+    void advanceTo(long revision) {
+        long known;
+        do {
+            known = lastKnownRevision.get();
+            if (revision <= known) {
+                return;
+            }
+        } while (!lastKnownRevision.compareAndSet(known, revision));
+        eventPublisher.publishEvent(new ConfigRevisionAdvancedEvent(revision));
+    }
+}
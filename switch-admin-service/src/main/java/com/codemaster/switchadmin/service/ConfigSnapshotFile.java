@@ -0,0 +1,219 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.entity.converter.TargetingRulesConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary copy of the config snapshot on local disk, so a restarting node can serve configs
+ * before it has read them from the database. Disabled unless {@code config.snapshot.file} is set.
+ * <p>
+ * Layout (big-endian): magic, format version, revision, config count, the configs, the
+ * encoded JSON bodies (plain and gzip, so loading does not serialize them again) and a CRC32
+ * of everything before it. Strings are a length (-1 for {@code null}) followed by UTF-8
+ * bytes; timestamps are UTC epoch seconds and nanos. Files are replaced with an atomic move,
+ * so a reader sees either the previous or the new snapshot, never a partial one.
+ */
+@Component
+public class ConfigSnapshotFile {
+
+    private static final int MAGIC = 0x5357_434E; // "SWCN"
+    private static final int FORMAT_VERSION = 1;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final Path path;
+
+    public ConfigSnapshotFile(@Value("${config.snapshot.file:}") String path) {
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Maps and decodes the file.
+     *
+     * @return {@code null} when the file does not exist
+     * @throws IOException when it cannot be read, or is truncated, corrupt or of another format version
+     */
+    public Contents read() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 24 || size > Integer.MAX_VALUE) {
+                throw new IOException("Config snapshot file " + path + " has an invalid size: " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return decode(buffer);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the configs to a temporary file next to the target, forces it to disk and moves
+     * it into place.
+     */
+    public void write(Contents contents) throws IOException {
+        byte[] bytes = encode(contents);
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static byte[] encode(Contents contents) {
+        List<AppConfigResponse> configs = contents.configs();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                configs.size() * 128 + contents.json().length + contents.gzipJson().length + 64);
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(bytes, crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(contents.revision());
+            out.writeInt(configs.size());
+            for (AppConfigResponse config : configs) {
+                writeString(out, config.getConfigId());
+                writeString(out, config.getConfigKey());
+                writeString(out, config.getConfigValue());
+                writeString(out, config.getDescription());
+                out.writeBoolean(config.isActive());
+                writeString(out, config.getRolloutPercentage() != null ? config.getRolloutPercentage().toPlainString() : null);
+                writeString(out, TargetingRulesConverter.toJson(config.getTargetingRules()));
+                writeTimestamp(out, config.getCreatedAt());
+                writeTimestamp(out, config.getUpdatedAt());
+            }
+            writeBytes(out, contents.json());
+            writeBytes(out, contents.gzipJson());
+            out.flush();
+            new DataOutputStream(bytes).writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory write failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Contents decode(ByteBuffer buffer) throws IOException {
+        int checksumOffset = buffer.limit() - Integer.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(checksumOffset));
+        if ((int) crc.getValue() != buffer.getInt(checksumOffset)) {
+            throw new IOException("Config snapshot file checksum mismatch");
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a config snapshot file");
+        }
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported config snapshot format version: " + version);
+        }
+        long revision = buffer.getLong();
+        int count = buffer.getInt();
+        List<AppConfigResponse> configs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AppConfigResponse config = new AppConfigResponse();
+            config.setConfigId(readString(buffer));
+            config.setConfigKey(readString(buffer));
+            config.setConfigValue(readString(buffer));
+            config.setDescription(readString(buffer));
+            config.setActive(buffer.get() != 0);
+            String rolloutPercentage = readString(buffer);
+            config.setRolloutPercentage(rolloutPercentage != null ? new BigDecimal(rolloutPercentage) : null);
+            config.setTargetingRules(TargetingRulesConverter.fromJson(readString(buffer)));
+            config.setCreatedAt(readTimestamp(buffer));
+            config.setUpdatedAt(readTimestamp(buffer));
+            configs.add(config);
+        }
+        byte[] json = readBytes(buffer);
+        byte[] gzipJson = readBytes(buffer);
+        if (buffer.position() != checksumOffset) {
+            throw new IOException("Config snapshot file has trailing data");
+        }
+        return new Contents(revision, configs, json, gzipJson);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = readBytes(buffer);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime timestamp) throws IOException {
+        if (timestamp == null) {
+            out.writeLong(NO_TIMESTAMP);
+            return;
+        }
+        out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(timestamp.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer buffer) {
+        long epochSecond = buffer.getLong();
+        if (epochSecond == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(epochSecond, buffer.getInt(), ZoneOffset.UTC);
+    }
+
+    public record Contents(long revision, List<AppConfigResponse> configs, byte[] json, byte[] gzipJson) {
+    }
+}
@@ -0,0 +1,269 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.datasource.ReplicaRoutingDataSource;
+import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.event.ConfigRevisionAdvancedEvent;
+import com.codemaster.switchadmin.mapper.AppConfigMapper;
+import com.codemaster.switchadmin.repository.AppConfigRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable snapshot of every config, with the JSON body already encoded (plain and gzip).
+ * <p>
+ * The snapshot is rebuilt on the first read after {@link ConfigRevisionTracker} reports a newer
+ * revision, so bursts of changes cost one rebuild. While a rebuild runs, other readers keep
+ * getting the previous snapshot rather than queueing behind it.
+ * <p>
+ * With a {@link ConfigSnapshotFile} configured, the snapshot is loaded from that file on
+ * startup and served straight away; once the application is ready a background thread
+ * compares its revision with the database and rebuilds only if they differ. Every newer
+ * snapshot is then written back to the file from the same thread.
+ */
+@Service
+public class ConfigSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshotService.class);
+
+    private final AppConfigRepository appConfigRepository;
+    private final ConfigChangeLogService configChangeLogService;
+    private final ConfigRevisionTracker revisionTracker;
+    private final AppConfigMapper appConfigMapper;
+    private final ObjectMapper objectMapper;
+    private final ConfigSnapshotFile snapshotFile;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean fileRefreshPending = new AtomicBoolean();
+    private final ExecutorService fileExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "config-snapshot-file");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Snapshot snapshot;
+    private long writtenRevision = -1;
+
+    public ConfigSnapshotService(AppConfigRepository appConfigRepository,
+                                 ConfigChangeLogService configChangeLogService,
+                                 ConfigRevisionTracker revisionTracker,
+                                 AppConfigMapper appConfigMapper,
+                                 ObjectMapper objectMapper,
+                                 ConfigSnapshotFile snapshotFile,
+                                 PlatformTransactionManager transactionManager) {
+        this.appConfigRepository = appConfigRepository;
+        this.configChangeLogService = configChangeLogService;
+        this.revisionTracker = revisionTracker;
+        this.appConfigMapper = appConfigMapper;
+        this.objectMapper = objectMapper;
+        this.snapshotFile = snapshotFile;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Seeds the snapshot from the snapshot file. A missing or unreadable file is not an
+     * error; the first read then builds from the database as usual.
+     */
+    @PostConstruct
+    public void loadSnapshotFile() {
+        if (!snapshotFile.isEnabled()) {
+            return;
+        }
+        try {
+            ConfigSnapshotFile.Contents contents = snapshotFile.read();
+            if (contents == null) {
+                logger.info("No config snapshot file yet; configs will be loaded from the database");
+                return;
+            }
+            List<AppConfigResponse> configs = List.copyOf(contents.configs());
+            Snapshot loaded = new Snapshot(contents.revision(), configs, indexByKey(configs),
+                    contents.json(), contents.gzipJson());
+            snapshot = loaded;
+            writtenRevision = loaded.revision();
+            logger.info("Loaded {} configs at revision {} from the config snapshot file",
+                    loaded.configs().size(), loaded.revision());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable config snapshot file: {}", e.toString());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileInBackground() {
+        if (snapshotFile.isEnabled()) {
+            fileExecutor.execute(this::reconcile);
+        }
+    }
+
+    @EventListener
+    public void onRevisionAdvanced(ConfigRevisionAdvancedEvent event) {
+        // Bursts of revisions are coalesced into one rebuild and one file write
+        if (snapshotFile.isEnabled() && fileRefreshPending.compareAndSet(false, true)) {
+            fileExecutor.execute(() -> {
+                fileRefreshPending.set(false);
+                refreshSnapshotFile();
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fileExecutor.shutdownNow();
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.revision() >= revisionTracker.getLastKnownRevision()) {
+            return current;
+        }
+        if (current != null && !rebuildLock.tryLock()) {
+            return current;
+        }
+        if (current == null) {
+            rebuildLock.lock();
+        }
+        try {
+            current = snapshot;
+            if (current == null || current.revision() < revisionTracker.getLastKnownRevision()) {
+                current = build();
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Makes the snapshot match the database revision exactly. A snapshot from the file that
+     * is ahead of the database (restored or rebuilt database) is replaced as well.
+     */
+    void reconcile() {
+        try {
+            rebuildLock.lock();
+            try {
+                long revision = configChangeLogService.currentRevision();
+                Snapshot current = snapshot;
+                if (current == null || current.revision() != revision) {
+                    logger.info("Config snapshot at revision {} differs from database revision {}; rebuilding",
+                            current != null ? current.revision() : null, revision);
+                    snapshot = build();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+            writeSnapshotFile(snapshot);
+        } catch (RuntimeException e) {
+            logger.warn("Could not reconcile the config snapshot with the database: {}", e.toString());
+        }
+    }
+
+    private void refreshSnapshotFile() {
+        try {
+            writeSnapshotFile(getSnapshot());
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh the config snapshot: {}", e.toString());
+        }
+    }
+
+    private void writeSnapshotFile(Snapshot current) {
+        if (current.revision() == writtenRevision) {
+            return;
+        }
+        try {
+            snapshotFile.write(new ConfigSnapshotFile.Contents(current.revision(), current.configs(),
+                    current.json(), current.gzipJson()));
+            writtenRevision = current.revision();
+            logger.debug("Wrote config snapshot file at revision {}", current.revision());
+        } catch (IOException e) {
+            logger.warn("Could not write the config snapshot file: {}", e.toString());
+        }
+    }
+
+    private Snapshot build() {
+        // Revision and rows come from one database: a replica that has not reached the newest
+        // known revision would only produce a snapshot that is stale on arrival.
+        record Rows(long revision, List<AppConfigResponse> configs) {
+        }
+        Rows rows;
+        try (ReplicaRoutingDataSource.RevisionScope ignored =
+                     ReplicaRoutingDataSource.requireRevision(revisionTracker.getLastKnownRevision())) {
+            rows = readOnlyTransaction.execute(status -> {
+                // Read the revision first: the rows can then only be newer than the revision they
+                // are labelled with, never older, and a newer label always follows.
+                long revision = configChangeLogService.currentRevision();
+                return new Rows(revision, List.copyOf(appConfigMapper.toResponseList(appConfigRepository.findAll())));
+            });
+        }
+        long revision = rows.revision();
+        List<AppConfigResponse> configs = rows.configs();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(configs);
+            Snapshot built = new Snapshot(revision, configs, indexByKey(configs), json, gzip(json));
+            logger.debug("Built config snapshot at revision {} ({} configs, {} bytes)", revision, configs.size(), json.length);
+            return built;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize config snapshot", e);
+        }
+    }
+
+    private static Map<String, AppConfigResponse> indexByKey(List<AppConfigResponse> configs) {
+        Map<String, AppConfigResponse> index = new HashMap<>(configs.size() * 2);
+        for (AppConfigResponse config : configs) {
+            index.put(config.getConfigKey(), config);
+        }
+        return Map.copyOf(index);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Shared by every reader: neither the list, its elements nor the byte arrays may be modified.
+     */
+    public record Snapshot(long revision, List<AppConfigResponse> configs, Map<String, AppConfigResponse> configsByKey,
+                           byte[] json, byte[] gzipJson) {
+
+        /**
+         * Strong validator of {@link #json()}.
+         */
+        public String etag() {
+            return "\"rev-" + revision + "\"";
+        }
+
+        /**
+         * Strong validator of {@link #gzipJson()}; a strong ETag may not be shared by two encodings.
+         * switch-admin-client strips the {@code -gzip} suffix to read the revision, so keep the format.
+         */
+        public String gzipEtag() {
+            return "\"rev-" + revision + "-gzip\"";
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.dto.ConfigChangesResponse;
+import com.codemaster.switchadmin.event.ConfigRevisionAdvancedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-poll watches on the config change log.
+ * <p>
+ * A watch that is already behind is answered straight away. Otherwise its
+ * {@link DeferredResult} is parked, grouped by the revision it is waiting after, and no
+ * request thread is held. When the revision advances each group is answered from one
+ * change-log query and one serialized payload shared by every watcher in the group.
+ */
+@Service
+public class ConfigWatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigWatchService.class);
+
+    private final ConfigChangeLogService configChangeLogService;
+    private final ConfigRevisionTracker revisionTracker;
+    private final ObjectMapper objectMapper;
+    private final int maxWatchers;
+    private final int pageSize;
+
+    private final Map<Long, Set<DeferredResult<ResponseEntity<byte[]>>>> watchersBySince = new ConcurrentHashMap<>();
+    private final AtomicInteger watcherCount = new AtomicInteger();
+    private final ExecutorService fanOutExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "config-watch-fan-out");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ConfigWatchService(ConfigChangeLogService configChangeLogService,
+                              ConfigRevisionTracker revisionTracker,
+                              ObjectMapper objectMapper,
+                              @Value("${config.watch.max-watchers}") int maxWatchers,
+                              @Value("${config.change-log.max-page-size}") int pageSize) {
+        this.configChangeLogService = configChangeLogService;
+        this.revisionTracker = revisionTracker;
+        this.objectMapper = objectMapper;
+        this.maxWatchers = maxWatchers;
+        this.pageSize = pageSize;
+    }
+
+    public DeferredResult<ResponseEntity<byte[]>> watch(long since, Duration timeout) {
+        DeferredResult<ResponseEntity<byte[]>> result =
+                new DeferredResult<>(timeout.toMillis(), () -> noChanges(since));
+
+        long lastKnownRevision = revisionTracker.getLastKnownRevision();
+        if (since < lastKnownRevision) {
+            result.setResult(changesSince(since, lastKnownRevision));
+            return result;
+        }
+        if (watcherCount.incrementAndGet() > maxWatchers) {
+            watcherCount.decrementAndGet();
+            result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            return result;
+        }
+
+        // compute() is atomic with the remove() in fanOut, so a watcher never lands in a group that was already answered
+        watchersBySince.compute(since, (key, watchers) -> {
+            Set<DeferredResult<ResponseEntity<byte[]>>> group = watchers != null ? watchers : ConcurrentHashMap.newKeySet();
+            group.add(result);
+            return group;
+        });
+        result.onCompletion(() -> {
+            watchersBySince.computeIfPresent(since, (key, group) -> {
+                group.remove(result);
+                return group.isEmpty() ? null : group;
+            });
+            watcherCount.decrementAndGet();
+        });
+
+        // The revision may have moved between the first check and registration
+        lastKnownRevision = revisionTracker.getLastKnownRevision();
+        if (since < lastKnownRevision) {
+            result.setResult(changesSince(since, lastKnownRevision));
+        }
+        return result;
+    }
+
+    public int getWatcherCount() {
+        return watcherCount.get();
+    }
+
+    @EventListener
+    public void onRevisionAdvanced(ConfigRevisionAdvancedEvent event) {
+        fanOutExecutor.execute(() -> fanOut(event.getRevision()));
+    }
+
+    /**
+     * Answers every group waiting on a revision older than {@code revision}.
+     */
+    public void fanOut(long revision) {
+        for (Long since : List.copyOf(watchersBySince.keySet())) {
+            if (since >= revision) {
+                continue;
+            }
+            Set<DeferredResult<ResponseEntity<byte[]>>> group = watchersBySince.remove(since);
+            if (group == null || group.isEmpty()) {
+                continue;
+            }
+            try {
+                ResponseEntity<byte[]> payload = changesSince(since, revision);
+                for (DeferredResult<ResponseEntity<byte[]>> watcher : group) {
+                    watcher.setResult(payload);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to notify {} config watcher(s) waiting after revision {}", group.size(), since, e);
+                for (DeferredResult<ResponseEntity<byte[]>> watcher : group) {
+                    watcher.setErrorResult(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Changes after {@code since}, read where {@code knownRevision} is visible so that a lagging
+     * replica cannot answer with an empty page.
+     */
+    private ResponseEntity<byte[]> changesSince(long since, long knownRevision) {
+        return toResponse(configChangeLogService.getChangesSince(since, pageSize, knownRevision));
+    }
+
+    private ResponseEntity<byte[]> noChanges(long since) {
+        return toResponse(ConfigChangesResponse.builder()
+                .changes(List.of())
+                .highWaterMark(since)
+                .hasMore(false)
+                .build());
+    }
+
+    private ResponseEntity<byte[]> toResponse(ConfigChangesResponse changes) {
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writeValueAsBytes(changes));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize config changes", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,83 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.dto.SwitchEvaluationResponse;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates switches for a user against {@link SwitchEvaluator}s compiled from the current
+ * {@link ConfigSnapshotService} snapshot. Evaluators are recompiled when the snapshot
+ * revision moves; configs whose state did not change keep their existing evaluator.
+ */
+@Service
+public class SwitchEvaluationService {
+
+    private final ConfigSnapshotService configSnapshotService;
+
+    private volatile CompiledSwitches compiled = new CompiledSwitches(-1, Map.of());
+
+    public SwitchEvaluationService(ConfigSnapshotService configSnapshotService) {
+        this.configSnapshotService = configSnapshotService;
+    }
+
+    public SwitchEvaluationResponse evaluate(String userId, Map<String, String> attributes, List<String> configKeys) {
+        CompiledSwitches current = currentSwitches();
+        Map<String, String> context = attributes != null ? attributes : Map.of();
+        Map<String, Boolean> switches = new LinkedHashMap<>(configKeys.size() * 2);
+        Set<String> missing = new LinkedHashSet<>();
+        for (String key : configKeys) {
+            SwitchEvaluator evaluator = current.evaluators().get(key);
+            if (evaluator != null) {
+                switches.put(key, evaluator.isEnabled(userId, context));
+            } else {
+                missing.add(key);
+            }
+        }
+        return SwitchEvaluationResponse.builder()
+                .revision(current.revision())
+                .switches(switches)
+                .missing(new ArrayList<>(missing))
+                .build();
+    }
+
+    /**
+     * Evaluator for one key at the current revision, or {@code null} when there is no such config.
+     */
+    public SwitchEvaluator getEvaluator(String configKey) {
+        return currentSwitches().evaluators().get(configKey);
+    }
+
+    private CompiledSwitches currentSwitches() {
+        ConfigSnapshotService.Snapshot snapshot = configSnapshotService.getSnapshot();
+        CompiledSwitches current = compiled;
+        if (current.revision() >= snapshot.revision()) {
+            return current;
+        }
+        // Racing recompiles of the same snapshot are equal; an older result that wins is replaced on the next call
+        CompiledSwitches recompiled = compile(snapshot, current);
+        compiled = recompiled;
+        return recompiled;
+    }
+
+    private static CompiledSwitches compile(ConfigSnapshotService.Snapshot snapshot, CompiledSwitches previous) {
+        Map<String, SwitchEvaluator> evaluators = new HashMap<>(snapshot.configs().size() * 2);
+        for (AppConfigResponse config : snapshot.configs()) {
+            SwitchEvaluator existing = previous.evaluators().get(config.getConfigKey());
+            evaluators.put(config.getConfigKey(), existing != null && existing.source().equals(config)
+                    ? existing
+                    : SwitchEvaluator.compile(config));
+        }
+        return new CompiledSwitches(snapshot.revision(), Map.copyOf(evaluators));
+    }
+
+    private record CompiledSwitches(long revision, Map<String, SwitchEvaluator> evaluators) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.model.TargetingRule;
+import com.codemaster.switchadmin.util.Murmur3;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, precompiled form of one config's rollout: the active flag, then the targeting
+ * rules in order (first match wins), then the percentage. Users are bucketed into
+ * {@value #BUCKETS} buckets by a Murmur3 hash of the user id seeded with the config key, so
+ * a user keeps their bucket as the percentage grows and buckets differ between switches.
+ * {@link #isEnabled} does not allocate.
+ */
+public final class SwitchEvaluator {
+
+    static final int BUCKETS = 10_000;
+
+    private final AppConfigResponse source;
+    private final boolean active;
+    private final Rule[] rules;
+    private final int enabledBuckets;
+    private final int seed;
+
+    private SwitchEvaluator(AppConfigResponse source, Rule[] rules, int enabledBuckets) {
+        this.source = source;
+        this.active = source.isActive();
+        this.rules = rules;
+        this.enabledBuckets = enabledBuckets;
+        this.seed = Murmur3.hash32(source.getConfigKey(), 0);
+    }
+
+    public static SwitchEvaluator compile(AppConfigResponse config) {
+        List<TargetingRule> targetingRules = config.getTargetingRules() != null ? config.getTargetingRules() : List.of();
+        Rule[] rules = new Rule[targetingRules.size()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = compile(targetingRules.get(i));
+        }
+        BigDecimal percentage = config.getRolloutPercentage();
+        int enabledBuckets = percentage == null
+                ? BUCKETS
+                : percentage.movePointRight(2).intValue();
+        return new SwitchEvaluator(config, rules, Math.max(0, Math.min(BUCKETS, enabledBuckets)));
+    }
+
+    /**
+     * @param userId     may be {@code null}; such callers only see the config when it is fully rolled out
+     * @param attributes context attributes for the rules, never {@code null}
+     */
+    public boolean isEnabled(String userId, Map<String, String> attributes) {
+        if (!active) {
+            return false;
+        }
+        for (Rule rule : rules) {
+            if (rule.matches(userId, attributes)) {
+                return rule.serve();
+            }
+        }
+        if (enabledBuckets >= BUCKETS) {
+            return true;
+        }
+        if (enabledBuckets == 0 || userId == null) {
+            return false;
+        }
+        return bucketOf(userId) < enabledBuckets;
+    }
+
+    int bucketOf(String userId) {
+        return Integer.remainderUnsigned(Murmur3.hash32(userId, seed), BUCKETS);
+    }
+
+    /**
+     * The config this evaluator was compiled from.
+     */
+    AppConfigResponse source() {
+        return source;
+    }
+
+    private static Rule compile(TargetingRule rule) {
+        List<String> values = rule.getValues() != null ? rule.getValues() : List.of();
+        return switch (rule.getType()) {
+            case USER_ID -> new UserIdRule(Set.copyOf(values), rule.isServe());
+            case ATTRIBUTE_EQUALS -> new AttributeEqualsRule(rule.getAttribute(),
+                    values.isEmpty() ? null : values.get(0), rule.isServe());
+            case ATTRIBUTE_IN -> new AttributeInRule(rule.getAttribute(), Set.copyOf(values), rule.isServe());
+        };
+    }
+
+    private sealed interface Rule permits UserIdRule, AttributeEqualsRule, AttributeInRule {
+
+        boolean matches(String userId, Map<String, String> attributes);
+
+        boolean serve();
+    }
+
+    private record UserIdRule(Set<String> userIds, boolean serve) implements Rule {
+
+        @Override
+        public boolean matches(String userId, Map<String, String> attributes) {
+            return userId != null && userIds.contains(userId);
+        }
+    }
+
+    private record AttributeEqualsRule(String attribute, String value, boolean serve) implements Rule {
+
+        @Override
+        public boolean matches(String userId, Map<String, String> attributes) {
+            return attribute != null && value != null && value.equals(attributes.get(attribute));
+        }
+    }
+
+    private record AttributeInRule(String attribute, Set<String> values, boolean serve) implements Rule {
+
+        @Override
+        public boolean matches(String userId, Map<String, String> attributes) {
+            String actual = attribute != null ? attributes.get(attribute) : null;
+            return actual != null && values.contains(actual);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.codemaster.switchadmin.entity.Role;
 import com.codemaster.switchadmin.entity.UserAccount;
 import com.codemaster.switchadmin.repository.UserAccountRepository;
 import com.codemaster.switchadmin.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,28 +16,40 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
 
     private UserAccountRepository userAccountRepository;
+    private final Timer foundTimer;
+    private final Timer notFoundTimer;
 
     @Autowired
-    public UserDetailsServiceImpl(UserAccountRepository userAccountRepository) {
+    public UserDetailsServiceImpl(UserAccountRepository userAccountRepository, MeterRegistry meterRegistry) {
         this.userAccountRepository = userAccountRepository;
+        this.foundTimer = loadTimer("found", meterRegistry);
+        this.notFoundTimer = loadTimer("not_found", meterRegistry);
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         logger.debug("Loading user by username: {}", username);
-        UserAccount user = userAccountRepository.findByEmailWithRolesAndPermissions(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
+        long start = System.nanoTime();
+        UserAccount user = userAccountRepository.findByEmailWithRolesAndPermissions(username).orElse(null);
+        if (user == null) {
+            notFoundTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new UsernameNotFoundException("User not found with email: " + username);
+        }
+        foundTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
 
         return User.builder()
                 .username(user.getEmail())
                 .password(user.getPassword())
+                .disabled(!user.isActive())
                 .authorities(
                         user.getRoles().stream()
                                 .flatMap(role -> role.getPermissions().stream())
@@ -45,4 +59,12 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 )
                 .build();
     }
+
+    private static Timer loadTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("auth.user.load")
+                .description("Time to load a user account with its roles and permissions")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
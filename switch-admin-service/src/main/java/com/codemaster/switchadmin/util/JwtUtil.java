@@ -1,9 +1,14 @@
 package com.codemaster.switchadmin.util;
 
+import com.codemaster.switchadmin.monitoring.JwtVerificationEvent;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +19,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -22,11 +28,71 @@ public class JwtUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    /**
+     * How {@link #generateToken(UserDetails)} writes the caller's permissions.
+     * {@link #verify(String)} accepts either.
+     */
+    public enum PermissionClaimFormat {
+        /** Permission names in the {@code permissions} claim. */
+        LIST,
+        /** {@link PermissionBitmapCodec} bitmap in {@code pbits}, with its catalogue version in {@code pver}. */
+        BITMAP
+    }
+
+    static final String PERMISSIONS_CLAIM = "permissions";
+    static final String PERMISSION_BITS_CLAIM = "pbits";
+    static final String PERMISSION_VERSION_CLAIM = "pver";
+
+    static final String VERIFY_TIMER = "jwt.verify";
+
+    private final long jwtExpiration;
+    private final PermissionClaimFormat permissionClaimFormat;
+    private final PermissionBitmapCodec permissionBitmapCodec;
+
+    // Built once; both are immutable and thread-safe.
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    // Parse + signature check, by outcome
+    private final Timer validTimer;
+    private final Timer expiredTimer;
+    private final Timer invalidTimer;
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    public JwtUtil(String secretKey, long jwtExpiration) {
+        this(secretKey, jwtExpiration, PermissionClaimFormat.LIST, null);
+    }
+
+    public JwtUtil(String secretKey, long jwtExpiration, PermissionClaimFormat permissionClaimFormat,
+                   PermissionBitmapCodec permissionBitmapCodec) {
+        this(secretKey, jwtExpiration, permissionClaimFormat, permissionBitmapCodec, new CompositeMeterRegistry());
+    }
+
+    @Autowired
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.expiration}") long jwtExpiration,
+                   @Value("${jwt.permissions-claim-format}") PermissionClaimFormat permissionClaimFormat,
+                   PermissionBitmapCodec permissionBitmapCodec,
+                   MeterRegistry meterRegistry) {
+        this.jwtExpiration = jwtExpiration;
+        this.permissionClaimFormat = permissionClaimFormat;
+        this.permissionBitmapCodec = permissionBitmapCodec;
+        this.signingKey = buildSigningKey(secretKey);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.validTimer = verifyTimer("valid", meterRegistry);
+        this.expiredTimer = verifyTimer("expired", meterRegistry);
+        this.invalidTimer = verifyTimer("invalid", meterRegistry);
+    }
+
+    /**
+     * Verifies the signature and expiry of the token and returns its claims.
+     * This is the only parse the request path needs.
+     */
+    public VerifiedToken verify(String token) throws JwtException {
+        final Claims claims = extractAllClaims(token);
+        return new VerifiedToken(claims, readPermissions(claims));
+    }
 
     public String extractUsername(String token) throws JwtException {
         return extractClaim(token, Claims::getSubject);
@@ -40,9 +106,19 @@ public class JwtUtil {
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         // Add permissions to claims
-        claims.put("permissions", userDetails.getAuthorities().stream()
+        List<String> permissions = userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList()));
+                .collect(Collectors.toList());
+        String bitmap = permissionClaimFormat == PermissionClaimFormat.BITMAP
+                ? permissionBitmapCodec.encode(permissions)
+                : null;
+        if (bitmap != null) {
+            claims.put(PERMISSION_BITS_CLAIM, bitmap);
+            claims.put(PERMISSION_VERSION_CLAIM, permissionBitmapCodec.version());
+        } else {
+            // Also the fallback for a permission that has no bit assigned
+            claims.put(PERMISSIONS_CLAIM, permissions);
+        }
         return buildToken(claims, userDetails);
     }
 
@@ -51,7 +127,7 @@ public class JwtUtil {
         return Jwts.builder().claims(extraClaims).subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration((new Date(System.currentTimeMillis() + jwtExpiration)))
-                .signWith(getSigningKey(), Jwts.SIG.HS256)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
@@ -59,47 +135,75 @@ public class JwtUtil {
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+            return isTokenValid(verify(token), userDetails);
         } catch (JwtException e) {
             logger.warn("Invalid JWT token: {}", e.getMessage());
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) throws JwtException {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) throws JwtException {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.getSubject().equals(userDetails.getUsername()) && !token.isExpired();
     }
 
     private Claims extractAllClaims(String token) throws JwtException {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        long start = System.nanoTime();
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
+            Claims claims = jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
+            validTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.result = "valid";
+            return claims;
         } catch (ExpiredJwtException e) {
+            expiredTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.result = "expired";
             logger.info("Expired JWT token: {}", e.getMessage());
             throw e;
         } catch (UnsupportedJwtException | MalformedJwtException | SecurityException e) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.result = "invalid";
             logger.warn("Invalid JWT token: {}", e.getMessage());
             throw e;
         } catch (IllegalArgumentException e) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.result = "invalid";
             logger.warn("JWT claims string is empty: {}", e.getMessage());
             throw e;
+        } finally {
+            event.commit();
         }
     }
 
     public List<String> extractPermissions(String token) {
-        final Claims claims = extractAllClaims(token);
-        return claims.get("permissions", List.class);
+        return readPermissions(extractAllClaims(token));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> readPermissions(Claims claims) {
+        String bitmap = claims.get(PERMISSION_BITS_CLAIM, String.class);
+        if (bitmap != null) {
+            if (permissionBitmapCodec == null) {
+                throw new UnsupportedJwtException("Bitmap permission claims are not supported here");
+            }
+            Integer version = claims.get(PERMISSION_VERSION_CLAIM, Integer.class);
+            return permissionBitmapCodec.decode(bitmap, version != null ? version : 0);
+        }
+        List<String> permissions = claims.get(PERMISSIONS_CLAIM, List.class);
+        return permissions != null ? List.copyOf(permissions) : List.of();
+    }
+
+    private static Timer verifyTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder(VERIFY_TIMER)
+                .description("Time to parse a JWT and verify its signature and expiry")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
-    private SecretKey getSigningKey() {
+    private static SecretKey buildSigningKey(String secretKey) {
         byte[] keyBytes = secretKey.getBytes();
         if (keyBytes.length < 32) {
             throw new IllegalStateException("JWT secret key must be at least 256 bits (32 characters) long");
@@ -0,0 +1,148 @@
+package com.codemaster.switchadmin.util;
+
+import com.codemaster.switchadmin.entity.Permission;
+import com.codemaster.switchadmin.repository.PermissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Encodes permission names as a bitmap over PERMISSION.BIT_INDEX, base64url without padding.
+ * <p>
+ * The catalogue version is the number of bit positions assigned so far. Bits are never
+ * reused, so a token stays decodable by any catalogue at least as new as the one it was
+ * issued with; a token from a newer catalogue triggers a reload. When a reload does not reach
+ * the version asked for, the next one waits for {@code retryInterval}, whatever version the
+ * next token claims; until then such tokens decode with the bits the catalogue knows.
+ */
+@Component
+public class PermissionBitmapCodec {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionBitmapCodec.class);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Supplier<List<Permission>> permissionLoader;
+    private final long retryIntervalNanos;
+    private volatile Catalogue catalogue;
+    // System.nanoTime() of the last reload that came up short, null after one that did not
+    private volatile Long failedReloadAt;
+
+    @Autowired
+    public PermissionBitmapCodec(PermissionRepository permissionRepository,
+                                 @Value("${jwt.permissions-catalogue.retry-interval}") Duration retryInterval) {
+        this((Supplier<List<Permission>>) permissionRepository::findAll, retryInterval);
+    }
+
+    public PermissionBitmapCodec(Supplier<List<Permission>> permissionLoader, Duration retryInterval) {
+        this.permissionLoader = permissionLoader;
+        this.retryIntervalNanos = retryInterval.toNanos();
+    }
+
+    public int version() {
+        return catalogue(0).version();
+    }
+
+    /**
+     * The bitmap for {@code names}, or null if one of them has no bit even after a reload.
+     */
+    public String encode(Collection<String> names) {
+        Catalogue current = catalogue(0);
+        byte[] bitmap = current.encode(names);
+        if (bitmap == null) {
+            current = reload(current.version() + 1);
+            bitmap = current.encode(names);
+        }
+        return bitmap != null ? ENCODER.encodeToString(bitmap) : null;
+    }
+
+    public List<String> decode(String encoded, int version) {
+        return catalogue(version).decode(DECODER.decode(encoded));
+    }
+
+    private Catalogue catalogue(int minimumVersion) {
+        Catalogue current = catalogue;
+        if (current != null && (current.version() >= minimumVersion || retryPending())) {
+            return current;
+        }
+        return reload(minimumVersion);
+    }
+
+    private synchronized Catalogue reload(int minimumVersion) {
+        Catalogue current = catalogue;
+        if (current != null && (current.version() >= minimumVersion || retryPending())) {
+            return current;
+        }
+        Catalogue loaded = Catalogue.of(permissionLoader.get());
+        if (loaded.version() < minimumVersion) {
+            logger.warn("Permission catalogue version {} is older than token version {}, not reloading for {} ms",
+                    loaded.version(), minimumVersion, Duration.ofNanos(retryIntervalNanos).toMillis());
+            failedReloadAt = System.nanoTime();
+        } else {
+            failedReloadAt = null;
+        }
+        catalogue = loaded;
+        return loaded;
+    }
+
+    private boolean retryPending() {
+        Long failedAt = failedReloadAt;
+        return failedAt != null && System.nanoTime() - failedAt < retryIntervalNanos;
+    }
+
+    private record Catalogue(int version, String[] namesByBit, Map<String, Integer> bitsByName) {
+
+        static Catalogue of(List<Permission> permissions) {
+            int version = 0;
+            for (Permission permission : permissions) {
+                version = Math.max(version, permission.getBitIndex() + 1);
+            }
+            String[] namesByBit = new String[version];
+            Map<String, Integer> bitsByName = new HashMap<>();
+            for (Permission permission : permissions) {
+                namesByBit[permission.getBitIndex()] = permission.getName();
+                bitsByName.put(permission.getName(), permission.getBitIndex());
+            }
+            return new Catalogue(version, namesByBit, bitsByName);
+        }
+
+        byte[] encode(Collection<String> names) {
+            byte[] bitmap = new byte[(version + 7) >>> 3];
+            for (String name : names) {
+                Integer bit = bitsByName.get(name);
+                if (bit == null) {
+                    return null;
+                }
+                bitmap[bit >>> 3] |= (byte) (1 << (bit & 7));
+            }
+            return bitmap;
+        }
+
+        List<String> decode(byte[] bitmap) {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < bitmap.length; i++) {
+                int bits = bitmap[i] & 0xFF;
+                while (bits != 0) {
+                    int bit = (i << 3) + Integer.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (bit < namesByBit.length && namesByBit[bit] != null) {
+                        names.add(namesByBit[bit]);
+                    }
+                }
+            }
+            return List.copyOf(names);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.codemaster.switchadmin.util;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A JWT whose signature and expiry have already been checked by {@link JwtUtil#verify(String)}.
+ * Holds the claims the request path needs so the token is parsed only once per request.
+ */
+@Getter
+public final class VerifiedToken {
+
+    private final String subject;
+    private final List<String> permissions;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final Claims claims;
+
+    VerifiedToken(Claims claims, List<String> permissions) {
+        this.subject = claims.getSubject();
+        this.permissions = permissions;
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+        this.claims = claims;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() < System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,44 @@
+-- Stable bit position of each permission in the compact JWT permission claim. Bits are
+-- assigned once and never reused, so tokens issued against an older catalogue still decode.
+ALTER TABLE PERMISSION ADD BIT_INDEX NUMBER(5);
+
+MERGE INTO PERMISSION p
+USING (SELECT PERMISSION_ID, ROW_NUMBER() OVER (ORDER BY PERMISSION_ID) - 1 AS BIT_INDEX FROM PERMISSION) n
+ON (p.PERMISSION_ID = n.PERMISSION_ID)
+WHEN MATCHED THEN UPDATE SET p.BIT_INDEX = n.BIT_INDEX;
+
+ALTER TABLE PERMISSION MODIFY BIT_INDEX NOT NULL;
+ALTER TABLE PERMISSION ADD CONSTRAINT UK_PERMISSION_BIT_INDEX UNIQUE (BIT_INDEX);
+
+-- Continue after the bits assigned above
+DECLARE
+    next_bit NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO next_bit FROM PERMISSION;
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE PERMISSION_BIT_SEQ START WITH ' || next_bit
+        || ' MINVALUE 0 INCREMENT BY 1 NOCACHE NOCYCLE ORDER';
+END;
+/
+
+CREATE OR REPLACE TRIGGER PERMISSION_BI
+BEFORE INSERT ON PERMISSION
+FOR EACH ROW
+BEGIN
+    IF :NEW.PERMISSION_ID IS NULL THEN
+        SELECT 'PERM' || LPAD(PERMISSION_SEQ.NEXTVAL, 8, '0')
+        INTO :NEW.PERMISSION_ID
+        FROM DUAL;
+    END IF;
+
+    IF :NEW.BIT_INDEX IS NULL THEN
+        SELECT PERMISSION_BIT_SEQ.NEXTVAL
+        INTO :NEW.BIT_INDEX
+        FROM DUAL;
+    END IF;
+
+    -- Force consistent timestamps
+    :NEW.CREATED_AT := SYSTIMESTAMP;
+END;
+/
+
+COMMENT ON COLUMN PERMISSION.BIT_INDEX IS 'Bit position in the compact JWT permission claim; never reused';
@@ -0,0 +1,8 @@
+-- Each NEXTVAL now reserves a block of 50 ids that Hibernate's pooled-lo optimizer (and
+-- PooledIdAllocator for the JDBC audit path) hands out locally, so inserts can be batched
+-- without a sequence round trip per row. Rows inserted without an id still get one from
+-- the BEFORE INSERT triggers; they use the first value of a block and leave the rest unused.
+-- Blocks are disjoint, so the two paths can never collide.
+ALTER SEQUENCE APP_CONFIG_SEQ INCREMENT BY 50 CACHE 20;
+ALTER SEQUENCE USER_ACCOUNT_SEQ INCREMENT BY 50 CACHE 20;
+ALTER SEQUENCE AUDIT_TRAIL_SEQ INCREMENT BY 50 CACHE 20;
@@ -0,0 +1,12 @@
+-- Gradual rollout per config. A NULL percentage keeps the old behaviour: an active config
+-- is on for everyone. TARGETING_RULES holds an ordered JSON array of rules that are
+-- checked before the percentage.
+ALTER TABLE APP_CONFIG ADD (
+    ROLLOUT_PERCENTAGE NUMBER(5,2),
+    TARGETING_RULES CLOB,
+    CONSTRAINT CHK_APP_CONFIG_ROLLOUT CHECK (ROLLOUT_PERCENTAGE BETWEEN 0 AND 100),
+    CONSTRAINT CHK_APP_CONFIG_RULES_JSON CHECK (TARGETING_RULES IS JSON)
+);
+
+COMMENT ON COLUMN APP_CONFIG.ROLLOUT_PERCENTAGE IS 'Share of users (0-100, two decimals) the active config is on for; NULL means everyone';
+COMMENT ON COLUMN APP_CONFIG.TARGETING_RULES IS 'JSON array of targeting rules, first match wins';
@@ -0,0 +1,60 @@
+-- Append-only history of APP_CONFIG. Every change closes the config's open version and
+-- adds a new one, so a version holds for the revisions [VALID_FROM, VALID_TO). The open
+-- version has VALID_TO = 9223372036854775807 rather than NULL, so "as of revision R"
+-- (VALID_FROM <= R AND VALID_TO > R) is a plain range predicate an index can serve.
+CREATE TABLE APP_CONFIG_VERSION (
+    CONFIG_ID VARCHAR2(12) NOT NULL,
+    VALID_FROM NUMBER(19) NOT NULL,
+    VALID_TO NUMBER(19) NOT NULL,
+    CONFIG_KEY VARCHAR2(100) NOT NULL,
+    CONFIG_VALUE NVARCHAR2(500) NOT NULL,
+    DESCRIPTION NVARCHAR2(1000),
+    IS_ACTIVE NUMBER(1) NOT NULL,
+    ROLLOUT_PERCENTAGE NUMBER(5,2),
+    TARGETING_RULES CLOB,
+    CHANGED_AT TIMESTAMP(6) NOT NULL,
+    CONSTRAINT PK_APP_CONFIG_VERSION PRIMARY KEY (CONFIG_ID, VALID_FROM),
+    -- At most one open version per config; also serves closing it and one config as of R
+    CONSTRAINT UK_APP_CONFIG_VERSION_OPEN UNIQUE (CONFIG_ID, VALID_TO),
+    CONSTRAINT CHK_APP_CONFIG_VERSION_RANGE CHECK (VALID_FROM < VALID_TO),
+    CONSTRAINT CHK_APP_CONFIG_VERSION_ACTIVE CHECK (IS_ACTIVE IN (0, 1))
+);
+
+-- One key as of R: the first entry with CONFIG_KEY = ? AND VALID_TO > R, which holds R if
+-- its VALID_FROM <= R. A key belongs to one config at a time, so no other entry can.
+CREATE INDEX IDX_APP_CONFIG_VERSION_KEY ON APP_CONFIG_VERSION(CONFIG_KEY, VALID_TO, VALID_FROM);
+
+-- All configs as of R: VALID_TO > R, VALID_FROM filtered in the index. The scan covers the
+-- open versions plus those closed after R, so recent revisions are the cheap ones.
+CREATE INDEX IDX_APP_CONFIG_VERSION_RANGE ON APP_CONFIG_VERSION(VALID_TO, VALID_FROM);
+
+-- Timestamp to revision: the newest version changed at or before it
+CREATE INDEX IDX_APP_CONFIG_VERSION_CHANGED ON APP_CONFIG_VERSION(CHANGED_AT, VALID_FROM);
+
+-- Backfill from CONFIG_CHANGE_LOG. The log only knows key, value and active flag, so
+-- earlier versions carry the config's current description, rollout and rules.
+INSERT INTO APP_CONFIG_VERSION (CONFIG_ID, VALID_FROM, VALID_TO, CONFIG_KEY, CONFIG_VALUE, DESCRIPTION, IS_ACTIVE,
+                                ROLLOUT_PERCENTAGE, TARGETING_RULES, CHANGED_AT)
+SELECT l.CONFIG_ID, l.REVISION, l.NEXT_REVISION, l.CONFIG_KEY, l.CONFIG_VALUE, c.DESCRIPTION, l.IS_ACTIVE,
+       c.ROLLOUT_PERCENTAGE, c.TARGETING_RULES, l.CHANGED_AT
+FROM (SELECT CONFIG_ID, REVISION, CONFIG_KEY, CONFIG_VALUE, IS_ACTIVE, CHANGED_AT,
+             LEAD(REVISION) OVER (PARTITION BY CONFIG_ID ORDER BY REVISION) AS NEXT_REVISION
+      FROM CONFIG_CHANGE_LOG) l
+LEFT JOIN APP_CONFIG c ON c.CONFIG_ID = l.CONFIG_ID
+WHERE l.NEXT_REVISION IS NOT NULL;
+
+-- The open version is the current row, from the config's last logged revision
+INSERT INTO APP_CONFIG_VERSION (CONFIG_ID, VALID_FROM, VALID_TO, CONFIG_KEY, CONFIG_VALUE, DESCRIPTION, IS_ACTIVE,
+                                ROLLOUT_PERCENTAGE, TARGETING_RULES, CHANGED_AT)
+SELECT c.CONFIG_ID, NVL(l.REVISION, 0), 9223372036854775807, c.CONFIG_KEY, c.CONFIG_VALUE, c.DESCRIPTION,
+       c.IS_ACTIVE, c.ROLLOUT_PERCENTAGE, c.TARGETING_RULES, NVL(l.CHANGED_AT, c.CREATED_AT)
+FROM APP_CONFIG c
+LEFT JOIN (SELECT CONFIG_ID, MAX(REVISION) AS REVISION, MAX(CHANGED_AT) AS CHANGED_AT
+           FROM CONFIG_CHANGE_LOG
+           GROUP BY CONFIG_ID) l ON l.CONFIG_ID = c.CONFIG_ID;
+
+COMMENT ON TABLE APP_CONFIG_VERSION IS 'Append-only history of APP_CONFIG, one row per version';
+COMMENT ON COLUMN APP_CONFIG_VERSION.CONFIG_ID IS 'Reference to APP_CONFIG';
+COMMENT ON COLUMN APP_CONFIG_VERSION.VALID_FROM IS 'Revision that created this version';
+COMMENT ON COLUMN APP_CONFIG_VERSION.VALID_TO IS 'Revision that replaced it (exclusive); 9223372036854775807 while current';
+COMMENT ON COLUMN APP_CONFIG_VERSION.CHANGED_AT IS 'Timestamp of the change that created this version';
@@ -0,0 +1,19 @@
+-- OLD_VALUE/NEW_VALUE used to hold Map.toString() of the whole config on both sides. New
+-- records hold JSON objects with only the changed fields; VALUE_FORMAT tells them apart.
+-- Adding the column with a default is a dictionary-only change, existing rows read as TEXT.
+ALTER TABLE AUDIT_TRAIL ADD VALUE_FORMAT VARCHAR2(10) DEFAULT 'TEXT' NOT NULL;
+ALTER TABLE AUDIT_OUTBOX ADD VALUE_FORMAT VARCHAR2(10) DEFAULT 'TEXT' NOT NULL;
+
+ALTER TABLE AUDIT_TRAIL ADD CONSTRAINT CHK_AUDIT_TRAIL_VALUE_FORMAT CHECK (VALUE_FORMAT IN ('TEXT', 'JSON_DIFF'));
+ALTER TABLE AUDIT_OUTBOX ADD CONSTRAINT CHK_AUDIT_OUTBOX_VALUE_FORMAT CHECK (VALUE_FORMAT IN ('TEXT', 'JSON_DIFF'));
+
+-- Lets queries read fields with JSON_VALUE(OLD_VALUE, '$.configValue') and the optimizer
+-- trust that JSON_DIFF rows parse. Legacy TEXT rows are exempt.
+ALTER TABLE AUDIT_TRAIL ADD CONSTRAINT CHK_AUDIT_TRAIL_VALUE_JSON CHECK (
+    VALUE_FORMAT <> 'JSON_DIFF' OR (OLD_VALUE IS JSON AND NEW_VALUE IS JSON)
+);
+
+COMMENT ON COLUMN AUDIT_TRAIL.OLD_VALUE IS 'Changed fields before the action as a JSON object (JSON_DIFF); NULL on create';
+COMMENT ON COLUMN AUDIT_TRAIL.NEW_VALUE IS 'Changed fields after the action as a JSON object (JSON_DIFF); NULL on delete';
+COMMENT ON COLUMN AUDIT_TRAIL.VALUE_FORMAT IS 'Format of OLD_VALUE/NEW_VALUE: TEXT (legacy Map.toString) or JSON_DIFF';
+COMMENT ON COLUMN AUDIT_OUTBOX.VALUE_FORMAT IS 'Format of OLD_VALUE/NEW_VALUE, copied to AUDIT_TRAIL';
@@ -0,0 +1,26 @@
+-- The audit query API reads newest first and seeks on (ACTION_TIMESTAMP, AUDIT_ID) instead
+-- of using OFFSET. Each single-column index from V7 is replaced by one extended with those
+-- two columns, so a filtered page is a descending range scan that stops after one page, with
+-- no sort. The leading column is unchanged, so anything using the old indexes still can.
+-- The new indexes are built ONLINE under new names before the old ones go, so AUDIT_TRAIL
+-- stays writable and indexed throughout.
+CREATE INDEX IDX_AUDIT_TRAIL_TIMESTAMP_ID ON AUDIT_TRAIL(ACTION_TIMESTAMP, AUDIT_ID) ONLINE;
+CREATE INDEX IDX_AUDIT_TRAIL_USER_TIMESTAMP ON AUDIT_TRAIL(USER_ID, ACTION_TIMESTAMP, AUDIT_ID) ONLINE;
+CREATE INDEX IDX_AUDIT_TRAIL_TYPE_TIMESTAMP ON AUDIT_TRAIL(ACTION_TYPE, ACTION_TIMESTAMP, AUDIT_ID) ONLINE;
+-- Entity and id together: the history of one record
+CREATE INDEX IDX_AUDIT_TRAIL_ENTITY_TIMESTAMP
+    ON AUDIT_TRAIL(TARGET_ENTITY, TARGET_ENTITY_ID, ACTION_TIMESTAMP, AUDIT_ID) ONLINE;
+
+DROP INDEX IDX_AUDIT_TRAIL_ACTION_TIMESTAMP ONLINE;
+DROP INDEX IDX_AUDIT_TRAIL_USER_ID ONLINE;
+DROP INDEX IDX_AUDIT_TRAIL_ACTION_TYPE ONLINE;
+DROP INDEX IDX_AUDIT_TRAIL_TARGET_ENTITY ONLINE;
+
+INSERT INTO PERMISSION (NAME, DESCRIPTION) VALUES ('AUDIT_READ', 'Read the audit trail');
+
+-- SUPER_ADMIN already passes through "ALL"; the explicit grant keeps audit access if that is narrowed
+INSERT INTO ROLE_PERMISSION (ROLE_ID, PERMISSION_ID)
+SELECT
+    (SELECT ROLE_ID FROM "ROLE" WHERE NAME = 'SUPER_ADMIN'),
+    (SELECT PERMISSION_ID FROM PERMISSION WHERE NAME = 'AUDIT_READ')
+FROM DUAL;
@@ -0,0 +1,18 @@
+-- The change log carries the rollout of each change so that clients following it can
+-- evaluate percentages and targeting rules locally, as the service does.
+ALTER TABLE CONFIG_CHANGE_LOG ADD (
+    ROLLOUT_PERCENTAGE NUMBER(5,2),
+    TARGETING_RULES CLOB,
+    CONSTRAINT CHK_CONFIG_CHANGE_LOG_RULES_JSON CHECK (TARGETING_RULES IS JSON)
+);
+
+-- Backfill from the version written with each change (V13 approximated versions older than it)
+UPDATE CONFIG_CHANGE_LOG l
+SET (ROLLOUT_PERCENTAGE, TARGETING_RULES) = (
+    SELECT v.ROLLOUT_PERCENTAGE, v.TARGETING_RULES
+    FROM APP_CONFIG_VERSION v
+    WHERE v.CONFIG_ID = l.CONFIG_ID
+      AND v.VALID_FROM = l.REVISION);
+
+COMMENT ON COLUMN CONFIG_CHANGE_LOG.ROLLOUT_PERCENTAGE IS 'Rollout percentage after the change; NULL means everyone';
+COMMENT ON COLUMN CONFIG_CHANGE_LOG.TARGETING_RULES IS 'JSON array of targeting rules after the change';
@@ -0,0 +1,16 @@
+-- A create or delete audits the whole config, and targeting rules have no size limit, so
+-- OLD_VALUE/NEW_VALUE become CLOB as in AUDIT_TRAIL. Oracle cannot MODIFY an NVARCHAR2
+-- column to CLOB: add CLOB columns, copy pending rows across, then swap the names.
+ALTER TABLE AUDIT_OUTBOX ADD (
+    OLD_VALUE_CLOB CLOB,
+    NEW_VALUE_CLOB CLOB
+);
+
+UPDATE AUDIT_OUTBOX SET OLD_VALUE_CLOB = OLD_VALUE, NEW_VALUE_CLOB = NEW_VALUE;
+
+ALTER TABLE AUDIT_OUTBOX DROP (OLD_VALUE, NEW_VALUE);
+ALTER TABLE AUDIT_OUTBOX RENAME COLUMN OLD_VALUE_CLOB TO OLD_VALUE;
+ALTER TABLE AUDIT_OUTBOX RENAME COLUMN NEW_VALUE_CLOB TO NEW_VALUE;
+
+COMMENT ON COLUMN AUDIT_OUTBOX.OLD_VALUE IS 'Previous value before the action (for updates)';
+COMMENT ON COLUMN AUDIT_OUTBOX.NEW_VALUE IS 'New value after the action';
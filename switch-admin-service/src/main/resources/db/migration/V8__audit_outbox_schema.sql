@@ -0,0 +1,61 @@
+-- Transactional outbox for audit records.
+-- Written in the same transaction as the APP_CONFIG change; kept narrow (no CLOBs)
+-- so the insert stays cheap. AuditOutboxRelay moves rows into AUDIT_TRAIL in bulk.
+CREATE TABLE AUDIT_OUTBOX (
+    OUTBOX_ID NUMBER(19) NOT NULL,
+    USER_ID VARCHAR2(12) NOT NULL,
+    USER_NAME VARCHAR2(100) NOT NULL,
+    ACTION_TYPE VARCHAR2(50) NOT NULL,
+    TARGET_ENTITY VARCHAR2(100) NOT NULL,
+    TARGET_ENTITY_ID VARCHAR2(12),
+    OLD_VALUE NVARCHAR2(2000),
+    NEW_VALUE NVARCHAR2(2000),
+    ACTION_DESCRIPTION VARCHAR2(500) NOT NULL,
+    ACTION_STATUS VARCHAR2(20) NOT NULL,
+    IP_ADDRESS VARCHAR2(45),
+    USER_AGENT VARCHAR2(500),
+    AUTH_METHOD VARCHAR2(20),
+    IS_SENSITIVE NUMBER(1) DEFAULT 1 NOT NULL,
+    ACTION_TIMESTAMP TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+    STATUS VARCHAR2(10) DEFAULT 'PENDING' NOT NULL,
+    PROCESSED_AT TIMESTAMP(6),
+    CONSTRAINT PK_AUDIT_OUTBOX PRIMARY KEY (OUTBOX_ID),
+    CONSTRAINT CHK_AUDIT_OUTBOX_STATUS CHECK (STATUS IN ('PENDING', 'DONE')),
+    CONSTRAINT CHK_AUDIT_OUTBOX_IS_SENSITIVE CHECK (IS_SENSITIVE IN (0, 1))
+);
+
+CREATE INDEX IDX_AUDIT_OUTBOX_STATUS ON AUDIT_OUTBOX(STATUS, OUTBOX_ID);
+
+-- Ids only need to be unique, not ordered
+CREATE SEQUENCE AUDIT_OUTBOX_SEQ
+    START WITH 1
+    INCREMENT BY 1
+    CACHE 100
+    NOCYCLE;
+
+-- Keep the time the action happened when a record is relayed later;
+-- only default the timestamp when none is supplied.
+CREATE OR REPLACE TRIGGER AUDIT_TRAIL_BI
+BEFORE INSERT ON AUDIT_TRAIL
+FOR EACH ROW
+BEGIN
+    IF :NEW.AUDIT_ID IS NULL THEN
+        SELECT 'ADTL' || LPAD(AUDIT_TRAIL_SEQ.NEXTVAL, 8, '0')
+        INTO :NEW.AUDIT_ID
+        FROM DUAL;
+    END IF;
+
+    IF :NEW.ACTION_TIMESTAMP IS NULL THEN
+        :NEW.ACTION_TIMESTAMP := SYSTIMESTAMP;
+    END IF;
+END;
+/
+
+COMMENT ON TABLE AUDIT_OUTBOX IS 'Audit records waiting to be relayed into AUDIT_TRAIL';
+COMMENT ON COLUMN AUDIT_OUTBOX.OUTBOX_ID IS 'Surrogate key from AUDIT_OUTBOX_SEQ';
+COMMENT ON COLUMN AUDIT_OUTBOX.OLD_VALUE IS 'Previous value before the action (for updates)';
+COMMENT ON COLUMN AUDIT_OUTBOX.NEW_VALUE IS 'New value after the action';
+COMMENT ON COLUMN AUDIT_OUTBOX.USER_AGENT IS 'User agent, truncated to 500 characters';
+COMMENT ON COLUMN AUDIT_OUTBOX.ACTION_TIMESTAMP IS 'Timestamp when the action occurred';
+COMMENT ON COLUMN AUDIT_OUTBOX.STATUS IS 'PENDING until relayed into AUDIT_TRAIL, then DONE';
+COMMENT ON COLUMN AUDIT_OUTBOX.PROCESSED_AT IS 'Timestamp when the record was relayed';
@@ -0,0 +1,43 @@
+-- Single-row revision counter. Writers increment it inside their transaction, so the
+-- row lock orders commits and revisions become visible strictly in sequence.
+CREATE TABLE CONFIG_REVISION (
+    REVISION_ID NUMBER(1) NOT NULL,
+    REVISION NUMBER(19) NOT NULL,
+    CONSTRAINT PK_CONFIG_REVISION PRIMARY KEY (REVISION_ID),
+    CONSTRAINT CHK_CONFIG_REVISION_SINGLE_ROW CHECK (REVISION_ID = 1)
+);
+
+-- One row per APP_CONFIG mutation, keyed by revision
+CREATE TABLE CONFIG_CHANGE_LOG (
+    REVISION NUMBER(19) NOT NULL,
+    CHANGE_TYPE VARCHAR2(10) NOT NULL,
+    CONFIG_ID VARCHAR2(12) NOT NULL,
+    CONFIG_KEY VARCHAR2(100) NOT NULL,
+    PREVIOUS_CONFIG_KEY VARCHAR2(100),
+    CONFIG_VALUE NVARCHAR2(500) NOT NULL,
+    IS_ACTIVE NUMBER(1) NOT NULL,
+    CHANGED_AT TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+    CONSTRAINT PK_CONFIG_CHANGE_LOG PRIMARY KEY (REVISION),
+    CONSTRAINT CHK_CONFIG_CHANGE_LOG_TYPE CHECK (CHANGE_TYPE IN ('CREATE', 'UPDATE', 'DELETE')),
+    CONSTRAINT CHK_CONFIG_CHANGE_LOG_ACTIVE CHECK (IS_ACTIVE IN (0, 1))
+);
+
+-- Seed the log with the current configs so a client syncing from revision 0 sees everything
+INSERT INTO CONFIG_CHANGE_LOG (REVISION, CHANGE_TYPE, CONFIG_ID, CONFIG_KEY, CONFIG_VALUE, IS_ACTIVE)
+SELECT ROWNUM, 'CREATE', CONFIG_ID, CONFIG_KEY, CONFIG_VALUE, IS_ACTIVE
+FROM (SELECT CONFIG_ID, CONFIG_KEY, CONFIG_VALUE, IS_ACTIVE FROM APP_CONFIG ORDER BY CONFIG_ID);
+
+INSERT INTO CONFIG_REVISION (REVISION_ID, REVISION)
+SELECT 1, COUNT(*) FROM CONFIG_CHANGE_LOG;
+
+COMMENT ON TABLE CONFIG_REVISION IS 'High-water mark of CONFIG_CHANGE_LOG (single row)';
+COMMENT ON COLUMN CONFIG_REVISION.REVISION IS 'Last revision handed out';
+COMMENT ON TABLE CONFIG_CHANGE_LOG IS 'Ordered log of APP_CONFIG changes used for delta sync';
+COMMENT ON COLUMN CONFIG_CHANGE_LOG.REVISION IS 'Monotonically increasing change number';
+COMMENT ON COLUMN CONFIG_CHANGE_LOG.CHANGE_TYPE IS 'Kind of change (CREATE, UPDATE, DELETE)';
+COMMENT ON COLUMN CONFIG_CHANGE_LOG.CONFIG_ID IS 'Reference to APP_CONFIG';
+COMMENT ON COLUMN CONFIG_CHANGE_LOG.CONFIG_KEY IS 'Configuration key after the change';
+COMMENT ON COLUMN CONFIG_CHANGE_LOG.PREVIOUS_CONFIG_KEY IS 'Configuration key before the change, when it was renamed';
+COMMENT ON COLUMN CONFIG_CHANGE_LOG.CONFIG_VALUE IS 'Configuration value after the change';
+COMMENT ON COLUMN CONFIG_CHANGE_LOG.IS_ACTIVE IS 'Active flag after the change (1=active, 0=inactive)';
+COMMENT ON COLUMN CONFIG_CHANGE_LOG.CHANGED_AT IS 'Timestamp when the change was recorded';
@@ -0,0 +1,73 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.exception.AppConfigNotFoundException;
+import com.codemaster.switchadmin.service.AppConfigCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sixteen threads probing a key that does not exist, with a loader that takes about 1 ms
+ * like a database round trip. {@code PLAIN_CACHE} is the previous behaviour (a synchronous
+ * cache whose {@code null} results are not cached), {@code COALESCED} shares concurrent loads
+ * but caches nothing, {@code NEGATIVE_CACHED} also remembers the miss.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class AppConfigCacheBenchmark {
+
+    public enum Strategy {
+        PLAIN_CACHE,
+        COALESCED,
+        NEGATIVE_CACHED
+    }
+
+    private static final String MISSING_KEY = "feature.does-not-exist";
+
+    @Param({"PLAIN_CACHE", "COALESCED", "NEGATIVE_CACHED"})
+    public Strategy strategy;
+
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+    private Cache<String, AppConfigResponse> plainCache;
+    private AppConfigCache appConfigCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plainCache = Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(5)).build();
+        Duration negativeTtl = strategy == Strategy.NEGATIVE_CACHED ? Duration.ofSeconds(5) : Duration.ZERO;
+        appConfigCache = new AppConfigCache(10_000, Duration.ofMinutes(5), negativeTtl, null, new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%n%s: %.4f loads per lookup%n", strategy, (double) loads.get() / lookups.get());
+    }
+
+    @Benchmark
+    public Object lookupMissingKey() {
+        lookups.incrementAndGet();
+        AppConfigResponse config = strategy == Strategy.PLAIN_CACHE
+                ? plainCache.get(MISSING_KEY, this::load)
+                : appConfigCache.get(MISSING_KEY, this::load);
+        return config != null ? config : AppConfigNotFoundException.forKey(MISSING_KEY);
+    }
+
+    private AppConfigResponse load(String key) {
+        loads.incrementAndGet();
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        return null;
+    }
+}
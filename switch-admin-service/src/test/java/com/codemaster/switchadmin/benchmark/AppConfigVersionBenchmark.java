@@ -0,0 +1,100 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.dto.AppConfigVersionResponse;
+import com.codemaster.switchadmin.entity.AppConfig;
+import com.codemaster.switchadmin.repository.AppConfigVersionJdbcRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time reads on APP_CONFIG_VERSION holding {@code configs * versionsPerConfig}
+ * versions (a million by default), written through
+ * {@link AppConfigVersionJdbcRepository#append} in chunks of {@code configs} changes to
+ * randomly chosen configs, one minute apart.
+ * <p>
+ * Reading one key or one config's history is an index range scan whatever the table size.
+ * The whole set as of a revision scans the open versions plus those closed after it, so
+ * {@code allAsOfRecent} stays close to the size of the set while {@code allAsOfEarly},
+ * 10% into the history, reads most of the index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AppConfigVersionBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Param({"10000"})
+    public int configs;
+
+    @Param({"100"})
+    public int versionsPerConfig;
+
+    private AppConfigVersionJdbcRepository repository;
+    private long lastRevision;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new AppConfigVersionJdbcRepository(new JdbcTemplate(BenchmarkDatabase.create()));
+        SplittableRandom random = new SplittableRandom(42);
+        long revision = 0;
+        for (int chunk = 0; chunk < versionsPerConfig; chunk++) {
+            List<AppConfig> changes = new ArrayList<>(configs);
+            for (int i = 0; i < configs; i++) {
+                // The first chunk creates every config once
+                int config = chunk == 0 ? i : random.nextInt(configs);
+                changes.add(AppConfig.builder()
+                        .configId(String.format("CONF%08d", config))
+                        .configKey("feature.flag-" + config)
+                        .configValue("value-" + chunk)
+                        .active(random.nextInt(10) != 0)
+                        .build());
+            }
+            repository.append(changes, revision + 1, START.plusMinutes(chunk));
+            revision += configs;
+        }
+        lastRevision = revision;
+        int current = repository.findAllAsOf(lastRevision).size();
+        if (current != configs) {
+            throw new IllegalStateException("Expected " + configs + " configs as of the last revision, got " + current);
+        }
+    }
+
+    @Benchmark
+    public Optional<AppConfigVersionResponse> keyAsOf() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return repository.findByConfigKeyAsOf("feature.flag-" + random.nextInt(configs),
+                random.nextLong(configs, lastRevision + 1));
+    }
+
+    @Benchmark
+    public List<AppConfigVersionResponse> configHistory() {
+        return repository.findByConfigId(String.format("CONF%08d", ThreadLocalRandom.current().nextInt(configs)));
+    }
+
+    @Benchmark
+    public long revisionAtTimestamp() {
+        return repository.revisionAt(START.plusSeconds(ThreadLocalRandom.current().nextLong(versionsPerConfig * 60L)));
+    }
+
+    @Benchmark
+    public List<AppConfigVersionResponse> allAsOfRecent() {
+        return repository.findAllAsOf(lastRevision - configs / 10);
+    }
+
+    @Benchmark
+    public List<AppConfigVersionResponse> allAsOfEarly() {
+        return repository.findAllAsOf(lastRevision / 10);
+    }
+}
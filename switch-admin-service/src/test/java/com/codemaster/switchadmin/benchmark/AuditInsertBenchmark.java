@@ -0,0 +1,63 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AUDIT_TRAIL inserts per second on H2: one sequence fetch, String.format and one insert
+ * statement per row (increment-1 sequence, what Hibernate did before) against ids from a
+ * local pooled-lo block and one JDBC batch. H2 in memory has no network round trip, so the
+ * gap on Oracle is larger.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditInsertBenchmark {
+
+    private static final int ROWS = 500;
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditTrailJdbcRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jdbcTemplate = new JdbcTemplate(BenchmarkDatabase.create());
+        jdbcTemplate.execute("CREATE SEQUENCE AUDIT_TRAIL_SEQ_SINGLE START WITH 1 INCREMENT BY 1");
+        repository = new AuditTrailJdbcRepository(jdbcTemplate);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE AUDIT_TRAIL");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void sequencePerRow() {
+        for (int i = 0; i < ROWS; i++) {
+            AuditTrail audit = AuditOutboxRelayBenchmark.sampleAudit(i);
+            Long value = jdbcTemplate.queryForObject("SELECT AUDIT_TRAIL_SEQ_SINGLE.NEXTVAL FROM DUAL", Long.class);
+            audit.setAuditId("ADTL" + String.format("%08d", value));
+            repository.batchInsert(List.of(audit));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void pooledBatch() {
+        List<AuditTrail> audits = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            audits.add(AuditOutboxRelayBenchmark.sampleAudit(i));
+        }
+        repository.batchInsert(audits);
+    }
+}
@@ -0,0 +1,83 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.repository.AuditOutboxJdbcRepository;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
+import com.codemaster.switchadmin.service.AuditOutboxRelay;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per outbox row for {@link AuditOutboxRelay} to copy a backlog of pending rows
+ * into AUDIT_TRAIL and mark them done, on an in-memory H2 database.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditOutboxRelayBenchmark {
+
+    private static final int PENDING_ROWS = 10_000;
+
+    @Param({"100", "500"})
+    public int batchSize;
+
+    private AuditOutboxJdbcRepository outboxRepository;
+    private TransactionTemplate transactionTemplate;
+    private AuditOutboxRelay relay;
+
+    @Setup(Level.Trial)
+    public void setUpDatabase() {
+        DataSource dataSource = BenchmarkDatabase.create();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        outboxRepository = new AuditOutboxJdbcRepository(jdbcTemplate);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        relay = new AuditOutboxRelay(outboxRepository, new AuditTrailJdbcRepository(jdbcTemplate),
+                transactionManager, batchSize, Integer.MAX_VALUE, Duration.ofDays(1));
+    }
+
+    @Setup(Level.Invocation)
+    public void fillOutbox() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < PENDING_ROWS; i++) {
+                outboxRepository.insert(sampleAudit(i));
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PENDING_ROWS)
+    public long relayBacklog() {
+        return relay.relayPending();
+    }
+
+    static AuditTrail sampleAudit(int i) {
+        String configId = String.format("CONF%08d", i);
+        return AuditTrail.builder()
+                .userId("USER00000001")
+                .userName("System Admin")
+                .actionType(AuditTrail.ActionType.UPDATE)
+                .targetEntity("APP_CONFIG")
+                .targetEntityId(configId)
+                .oldValue("{\"configValue\":\"false\"}")
+                .newValue("{\"configValue\":\"true\"}")
+                .actionDescription("AppConfig update for config ID: " + configId)
+                .actionStatus(AuditTrail.ActionStatus.SUCCESS)
+                .ipAddress("10.0.0.1")
+                .userAgent("Mozilla/5.0 (X11; Linux x86_64)")
+                .authMethod(AuditTrail.AuthMethod.JWT)
+                .isSensitive(false)
+                .actionTimestamp(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of 100 audit records out of {@code rows}, newest first, on H2. A page 90% of the
+ * way back costs about the same as the first one with the (ACTION_TIMESTAMP, AUDIT_ID) seek,
+ * while OFFSET walks every row before it. Two records share each timestamp, so the seek
+ * has to break ties on AUDIT_ID.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditTrailQueryBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int USERS = 100;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final AuditTrailJdbcRepository.Filter NO_FILTER =
+            new AuditTrailJdbcRepository.Filter(null, null, null, null, null, null, null);
+
+    private static final String OFFSET_SQL = """
+            SELECT AUDIT_ID, USER_ID, USER_NAME, ACTION_TYPE, TARGET_ENTITY, TARGET_ENTITY_ID, ACTION_STATUS,
+                   IP_ADDRESS, AUTH_METHOD, IS_SENSITIVE, ACTION_TIMESTAMP
+            FROM AUDIT_TRAIL
+            ORDER BY ACTION_TIMESTAMP DESC, AUDIT_ID DESC
+            OFFSET ? ROWS FETCH FIRST ? ROWS ONLY
+            """;
+
+    @Param({"200000"})
+    public int rows;
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditTrailJdbcRepository repository;
+    private AuditTrailJdbcRepository.PageKey deepKey;
+    private AuditTrailJdbcRepository.PageKey deepUserKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jdbcTemplate = new JdbcTemplate(BenchmarkDatabase.create());
+        repository = new AuditTrailJdbcRepository(jdbcTemplate);
+        List<AuditTrail> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            AuditTrail audit = AuditOutboxRelayBenchmark.sampleAudit(i % 1000);
+            audit.setUserId(String.format("USER%08d", i % USERS));
+            audit.setActionTimestamp(START.plusSeconds(i / 2));
+            batch.add(audit);
+            if (batch.size() == 5000) {
+                repository.batchInsert(batch);
+                batch.clear();
+            }
+        }
+        repository.batchInsert(batch);
+
+        // Walking every page of one user must see each of its records exactly once
+        Set<String> seen = new HashSet<>();
+        AuditTrailJdbcRepository.PageKey key = null;
+        List<AuditTrailJdbcRepository.SummaryRow> page;
+        while (!(page = repository.findPage(userFilter(), key, PAGE_SIZE)).isEmpty()) {
+            page.forEach(audit -> seen.add(audit.auditId()));
+            key = page.get(page.size() - 1).pageKey();
+        }
+        if (seen.size() != rows / USERS) {
+            throw new IllegalStateException("Expected " + rows / USERS + " records for the user, paged " + seen.size());
+        }
+
+        deepKey = keyAt(NO_FILTER, rows * 9 / 10);
+        deepUserKey = keyAt(userFilter(), rows / USERS * 9 / 10);
+    }
+
+    @Benchmark
+    public List<AuditTrailJdbcRepository.SummaryRow> firstPage() {
+        return repository.findPage(NO_FILTER, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<AuditTrailJdbcRepository.SummaryRow> deepPageKeyset() {
+        return repository.findPage(NO_FILTER, deepKey, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> deepPageOffset() {
+        return jdbcTemplate.queryForList(OFFSET_SQL, rows * 9 / 10, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<AuditTrailJdbcRepository.SummaryRow> deepUserPageKeyset() {
+        return repository.findPage(userFilter(), deepUserKey, PAGE_SIZE);
+    }
+
+    private AuditTrailJdbcRepository.PageKey keyAt(AuditTrailJdbcRepository.Filter filter, int position) {
+        AuditTrailJdbcRepository.PageKey key = null;
+        for (int read = 0; read < position; read += PAGE_SIZE) {
+            List<AuditTrailJdbcRepository.SummaryRow> page = repository.findPage(filter, key, PAGE_SIZE);
+            key = page.get(page.size() - 1).pageKey();
+        }
+        return key;
+    }
+
+    private static AuditTrailJdbcRepository.Filter userFilter() {
+        return new AuditTrailJdbcRepository.Filter("USER00000007", null, null, null, null, null, null);
+    }
+}
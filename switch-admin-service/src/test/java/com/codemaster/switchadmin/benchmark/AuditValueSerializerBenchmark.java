@@ -0,0 +1,85 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.entity.AppConfig;
+import com.codemaster.switchadmin.model.TargetingRule;
+import com.codemaster.switchadmin.service.AuditValueSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of the audit before/after images, done for every config change: the field-level
+ * JSON diff against the previous {@code Map.toString()} of both whole configs, for an update
+ * that flips the value of a config with a description, rollout and one targeting rule.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditValueSerializerBenchmark {
+
+    private final AuditValueSerializer serializer = new AuditValueSerializer();
+    private AppConfig plainBefore;
+    private AppConfig plainAfter;
+    private AppConfig sensitiveBefore;
+    private AppConfig sensitiveAfter;
+
+    @Setup
+    public void setUp() {
+        plainBefore = config("CONF00000001", "feature.checkout.enabled", "false");
+        plainAfter = config("CONF00000001", "feature.checkout.enabled", "true");
+        sensitiveBefore = config("CONF00000002", "payment.gateway.secret", "s3cr3t-value");
+        sensitiveAfter = config("CONF00000002", "payment.gateway.secret", "n3w-s3cr3t");
+    }
+
+    @Benchmark
+    public AuditValueSerializer.ConfigDiff diffPlain() {
+        return serializer.diff(plainBefore, plainAfter);
+    }
+
+    @Benchmark
+    public AuditValueSerializer.ConfigDiff diffSensitive() {
+        return serializer.diff(sensitiveBefore, sensitiveAfter);
+    }
+
+    @Benchmark
+    public String[] wholeMapPlain() {
+        return new String[]{wholeMap(plainBefore), wholeMap(plainAfter)};
+    }
+
+    /**
+     * What was stored before: the whole config on both sides, not parseable back.
+     */
+    static String wholeMap(AppConfig config) {
+        Map<String, Object> configMap = new HashMap<>();
+        configMap.put("configKey", config.getConfigKey());
+        configMap.put("configValue", config.getConfigValue());
+        configMap.put("description", config.getDescription());
+        configMap.put("active", config.isActive());
+        configMap.put("rolloutPercentage", config.getRolloutPercentage());
+        configMap.put("targetingRules", config.getTargetingRules());
+        return configMap.toString();
+    }
+
+    private static AppConfig config(String configId, String configKey, String configValue) {
+        return AppConfig.builder()
+                .configId(configId)
+                .configKey(configKey)
+                .configValue(configValue)
+                .description("Enables the new checkout flow for the selected markets")
+                .active(true)
+                .rolloutPercentage(new BigDecimal("25.00"))
+                .targetingRules(List.of(TargetingRule.builder()
+                        .type(TargetingRule.Type.ATTRIBUTE_IN)
+                        .attribute("country")
+                        .values(List.of("DE", "NL", "PL"))
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.codemaster.switchadmin.benchmark;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * Fresh in-memory H2 database in Oracle mode with the benchmark schema applied.
+ */
+final class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {
+    }
+
+    static DataSource create() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=Oracle;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("benchmark/h2-schema.sql")).execute(dataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,103 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.entity.UserAccount;
+import com.codemaster.switchadmin.mapper.AppConfigMapper;
+import com.codemaster.switchadmin.repository.AppConfigJdbcRepository;
+import com.codemaster.switchadmin.repository.AppConfigVersionJdbcRepository;
+import com.codemaster.switchadmin.repository.AuditOutboxJdbcRepository;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
+import com.codemaster.switchadmin.repository.ConfigChangeLogJdbcRepository;
+import com.codemaster.switchadmin.service.AuditService;
+import com.codemaster.switchadmin.service.AuditValueSerializer;
+import com.codemaster.switchadmin.service.ConfigBulkService;
+import com.codemaster.switchadmin.service.ConfigChangeLogService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall time to import {@value #CONFIGS} configs into an empty APP_CONFIG, including
+ * parsing, validation, MERGE, SYNC audit rows and change log, and to export them again.
+ * Runs on in-memory H2, so Oracle adds one network round trip per batch on top.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigBulkBenchmark {
+
+    static final int CONFIGS = 100_000;
+
+    @Param({"NDJSON", "CSV"})
+    public ConfigBulkService.Format format;
+
+    private byte[] body;
+    private UserAccount userAccount;
+    private ConfigBulkService emptyDatabaseService;
+    private ConfigBulkService populatedDatabaseService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder content = new StringBuilder(CONFIGS * 120);
+        if (format == ConfigBulkService.Format.CSV) {
+            content.append("configKey,configValue,description,active\n");
+        }
+        for (int i = 0; i < CONFIGS; i++) {
+            if (format == ConfigBulkService.Format.CSV) {
+                content.append("feature.switch.").append(i).append(",true,\"Imported switch, batch\",true\n");
+            } else {
+                content.append("{\"configKey\":\"feature.switch.").append(i)
+                        .append("\",\"configValue\":\"true\",\"description\":\"Imported switch, batch\",\"active\":true}\n");
+            }
+        }
+        body = content.toString().getBytes(StandardCharsets.UTF_8);
+        userAccount = UserAccount.builder().userId("USER00000001").firstName("System").lastName("Admin").build();
+        populatedDatabaseService = createService();
+        populatedDatabaseService.importConfigs(new ByteArrayInputStream(body), format, userAccount);
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyDatabase() {
+        emptyDatabaseService = createService();
+    }
+
+    @Benchmark
+    public Object importAll() {
+        return emptyDatabaseService.importConfigs(new ByteArrayInputStream(body), format, userAccount);
+    }
+
+    @Benchmark
+    public int exportAll() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length * 2);
+        populatedDatabaseService.exportConfigs(out, format);
+        return out.size();
+    }
+
+    private static ConfigBulkService createService() {
+        DataSource dataSource = BenchmarkDatabase.create();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        AuditService auditService = new AuditService(null, new AuditTrailJdbcRepository(jdbcTemplate),
+                new AuditOutboxJdbcRepository(jdbcTemplate), null, new AuditValueSerializer(), AuditService.Mode.SYNC);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return new ConfigBulkService(new AppConfigJdbcRepository(jdbcTemplate), null, auditService,
+                new ConfigChangeLogService(new ConfigChangeLogJdbcRepository(jdbcTemplate),
+                        new AppConfigVersionJdbcRepository(jdbcTemplate), 1000),
+                new AppConfigMapper(), event -> { }, new DataSourceTransactionManager(dataSource),
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, 500, 1000);
+    }
+}
@@ -0,0 +1,141 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.entity.AppConfig;
+import com.codemaster.switchadmin.entity.UserAccount;
+import com.codemaster.switchadmin.mapper.AppConfigMapper;
+import com.codemaster.switchadmin.repository.AppConfigJdbcRepository;
+import com.codemaster.switchadmin.repository.AppConfigRepository;
+import com.codemaster.switchadmin.repository.AppConfigVersionJdbcRepository;
+import com.codemaster.switchadmin.repository.AuditOutboxJdbcRepository;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
+import com.codemaster.switchadmin.repository.ConfigChangeLogJdbcRepository;
+import com.codemaster.switchadmin.service.AuditService;
+import com.codemaster.switchadmin.service.AuditValueSerializer;
+import com.codemaster.switchadmin.service.ConfigBulkService;
+import com.codemaster.switchadmin.service.ConfigChangeLogService;
+import com.codemaster.switchadmin.service.ConfigRevisionTracker;
+import com.codemaster.switchadmin.service.ConfigSnapshotFile;
+import com.codemaster.switchadmin.service.ConfigSnapshotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from constructing {@link ConfigSnapshotService} to answering the first config read,
+ * on a fresh node: built from APP_CONFIG versus loaded from the snapshot file. Runs on
+ * in-memory H2, so against Oracle the database path is slower still.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigSnapshotStartupBenchmark {
+
+    @Param({"10000", "100000"})
+    public int configs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AppConfigMapper appConfigMapper = new AppConfigMapper();
+
+    private Path directory;
+    private ConfigSnapshotFile snapshotFile;
+    private AppConfigRepository appConfigRepository;
+    private ConfigChangeLogService configChangeLogService;
+    private DataSourceTransactionManager transactionManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DataSource dataSource = BenchmarkDatabase.create();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        AppConfigJdbcRepository jdbcRepository = new AppConfigJdbcRepository(jdbcTemplate);
+        configChangeLogService = new ConfigChangeLogService(new ConfigChangeLogJdbcRepository(jdbcTemplate),
+                new AppConfigVersionJdbcRepository(jdbcTemplate), 1000);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        importConfigs(jdbcTemplate, dataSource, jdbcRepository);
+        appConfigRepository = findAllVia(jdbcRepository);
+
+        directory = Files.createTempDirectory("config-snapshot");
+        snapshotFile = new ConfigSnapshotFile(directory.resolve("configs.snapshot").toString());
+        ConfigSnapshotService.Snapshot snapshot = newService(new ConfigSnapshotFile("")).getSnapshot();
+        snapshotFile.write(new ConfigSnapshotFile.Contents(snapshot.revision(), snapshot.configs(),
+                snapshot.json(), snapshot.gzipJson()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public Object fromDatabase() {
+        ConfigSnapshotService service = newService(new ConfigSnapshotFile(""));
+        return service.getSnapshot().configsByKey().get("feature.switch.0");
+    }
+
+    @Benchmark
+    public Object fromSnapshotFile() {
+        ConfigSnapshotService service = newService(snapshotFile);
+        service.loadSnapshotFile();
+        return service.getSnapshot().configsByKey().get("feature.switch.0");
+    }
+
+    private ConfigSnapshotService newService(ConfigSnapshotFile file) {
+        ConfigRevisionTracker revisionTracker = new ConfigRevisionTracker(configChangeLogService, event -> { });
+        return new ConfigSnapshotService(appConfigRepository, configChangeLogService, revisionTracker,
+                appConfigMapper, objectMapper, file, transactionManager);
+    }
+
+    private void importConfigs(JdbcTemplate jdbcTemplate, DataSource dataSource, AppConfigJdbcRepository jdbcRepository) {
+        StringBuilder content = new StringBuilder(configs * 120);
+        for (int i = 0; i < configs; i++) {
+            content.append("{\"configKey\":\"feature.switch.").append(i)
+                    .append("\",\"configValue\":\"true\",\"description\":\"Imported switch\",\"active\":true")
+                    .append(i % 10 == 0 ? ",\"rolloutPercentage\":25.5" : "")
+                    .append("}\n");
+        }
+        AuditService auditService = new AuditService(null, new AuditTrailJdbcRepository(jdbcTemplate),
+                new AuditOutboxJdbcRepository(jdbcTemplate), null, new AuditValueSerializer(), AuditService.Mode.SYNC);
+        ConfigBulkService bulkService = new ConfigBulkService(jdbcRepository, null, auditService, configChangeLogService,
+                appConfigMapper, event -> { }, new DataSourceTransactionManager(dataSource),
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, 500, 1000);
+        UserAccount userAccount = UserAccount.builder().userId("USER00000001").firstName("System").lastName("Admin").build();
+        bulkService.importConfigs(new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8)),
+                ConfigBulkService.Format.NDJSON, userAccount);
+    }
+
+    /**
+     * The snapshot only needs {@code findAll()}; serve it from the JDBC repository instead of JPA.
+     */
+    private static AppConfigRepository findAllVia(AppConfigJdbcRepository jdbcRepository) {
+        return (AppConfigRepository) Proxy.newProxyInstance(AppConfigRepository.class.getClassLoader(),
+                new Class<?>[]{AppConfigRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("findAll") || method.getParameterCount() != 0) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    List<AppConfig> all = new ArrayList<>();
+                    jdbcRepository.streamAll(1000, all::add);
+                    return all;
+                });
+    }
+}
@@ -0,0 +1,335 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.dto.ConfigChangeResponse;
+import com.codemaster.switchadmin.repository.AppConfigVersionJdbcRepository;
+import com.codemaster.switchadmin.repository.ConfigChangeLogJdbcRepository;
+import com.codemaster.switchadmin.service.ConfigChangeLogService;
+import com.codemaster.switchadmin.service.ConfigRevisionTracker;
+import com.codemaster.switchadmin.service.ConfigWatchService;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.apache.catalina.Context;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cost of parking idle watchers and of waking all of them for one change.
+ * <p>
+ * Run with {@code -prof gc}: {@code gc.alloc.rate.norm} of {@code parkWatchers} divided by
+ * the watcher count is the heap held per parked watcher (the servlet container's own
+ * per-connection state comes on top).
+ * <p>
+ * {@code holdHttpLongPolls} adds the container: that many real {@code /watch} requests, sent
+ * from a separate client process, are parked in embedded Tomcat with the connector settings
+ * of application.properties, and the heap (after GC), resident memory and file descriptors
+ * of this process are reported per connection. 50000 needs {@code ulimit -n} above that for
+ * both processes.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ConfigWatchBenchmark {
+
+    private static final Duration WATCH_TIMEOUT = Duration.ofMinutes(5);
+
+    @State(Scope.Benchmark)
+    public static class Watchers {
+
+        @Param({"1000", "10000", "50000"})
+        public int watchers;
+
+        ConfigChangeLogJdbcRepository changeLogRepository;
+        ConfigRevisionTracker revisionTracker;
+        ConfigWatchService watchService;
+
+        @Setup(Level.Trial)
+        public void setUpService() {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(BenchmarkDatabase.create());
+            changeLogRepository = new ConfigChangeLogJdbcRepository(jdbcTemplate);
+            ConfigChangeLogService changeLogService = new ConfigChangeLogService(changeLogRepository,
+                    new AppConfigVersionJdbcRepository(jdbcTemplate), 1000);
+            revisionTracker = new ConfigRevisionTracker(changeLogService, event -> { });
+            watchService = new ConfigWatchService(changeLogService, revisionTracker,
+                    JsonMapper.builder().findAndAddModules().build(), Integer.MAX_VALUE, 1000);
+        }
+
+        void park() {
+            long since = revisionTracker.getLastKnownRevision();
+            for (int i = 0; i < watchers; i++) {
+                watchService.watch(since, WATCH_TIMEOUT);
+            }
+        }
+
+        long commitChange() {
+            long revision = changeLogRepository.advanceRevision(1);
+            changeLogRepository.insert(List.of(ConfigChangeResponse.builder()
+                    .revision(revision)
+                    .changeType(ConfigChangeResponse.ChangeType.UPDATE)
+                    .configId("CONF00000001")
+                    .configKey("feature.checkout.enabled")
+                    .configValue("true")
+                    .active(true)
+                    .changedAt(LocalDateTime.now())
+                    .build()));
+            revisionTracker.pollRevision();
+            return revision;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ParkedWatchers extends Watchers {
+
+        long revision;
+
+        @Setup(Level.Invocation)
+        public void parkAndCommit() {
+            park();
+            revision = commitChange();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class EmptyWatchers extends Watchers {
+
+        @TearDown(Level.Invocation)
+        public void wakeAll() {
+            watchService.fanOut(commitChange());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class HttpWatchers {
+
+        Watchers service;
+        Tomcat tomcat;
+        int port;
+        Process clients;
+        PrintWriter commands;
+        BufferedReader replies;
+        long baselineHeap;
+        long baselineRss;
+        long baselineFds;
+
+        @Setup(Level.Trial)
+        public void startServer(Watchers service) throws Exception {
+            // JMH sets up the Watchers state, and its ConfigWatchService, first
+            this.service = service;
+            tomcat = new Tomcat();
+            tomcat.setBaseDir(Files.createTempDirectory("config-watch-tomcat").toString());
+            Connector connector = new Connector(Http11NioProtocol.class.getName());
+            connector.setPort(0);
+            connector.setProperty("maxConnections", "50000");
+            connector.setProperty("acceptCount", "1000");
+            tomcat.setConnector(connector);
+
+            GenericWebApplicationContext webContext = new GenericWebApplicationContext();
+            AnnotationConfigUtils.registerAnnotationConfigProcessors(webContext);
+            webContext.registerBean(ConfigWatchService.class, () -> service.watchService);
+            webContext.registerBean(WatchController.class);
+            Context context = tomcat.addContext("", null);
+            Wrapper dispatcher = Tomcat.addServlet(context, "dispatcher", new DispatcherServlet(webContext));
+            dispatcher.setAsyncSupported(true);
+            dispatcher.setLoadOnStartup(1);
+            context.addServletMappingDecoded("/", "dispatcher");
+            tomcat.start();
+            port = connector.getLocalPort();
+
+            String java = ProcessHandle.current().info().command().orElse("java");
+            clients = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    LongPollClients.class.getName())
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            commands = new PrintWriter(clients.getOutputStream(), true, StandardCharsets.US_ASCII);
+            replies = new BufferedReader(new InputStreamReader(clients.getInputStream(), StandardCharsets.US_ASCII));
+        }
+
+        @Setup(Level.Invocation)
+        public void measureBaseline() throws IOException {
+            baselineHeap = usedHeapAfterGc();
+            baselineRss = residentBytes();
+            baselineFds = openFileDescriptors();
+        }
+
+        void openConnections() throws IOException {
+            int watchers = service.watchers;
+            send("open " + watchers + " " + port + " " + service.revisionTracker.getLastKnownRevision(), "opened");
+            long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+            while (service.watchService.getWatcherCount() < watchers) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Only " + service.watchService.getWatcherCount() + " of "
+                            + watchers + " watchers parked");
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void reportAndRelease() throws IOException {
+            int watchers = service.watchers;
+            double heap = (double) (usedHeapAfterGc() - baselineHeap) / watchers;
+            double rss = (double) (residentBytes() - baselineRss) / watchers;
+            double fds = (double) (openFileDescriptors() - baselineFds) / watchers;
+            System.out.printf("%n%d HTTP long polls: %.0f bytes heap, %.0f bytes resident, %.2f file descriptors"
+                    + " per connection%n", watchers, heap, rss, fds);
+            service.watchService.fanOut(service.commitChange());
+            send("drain", "drained");
+        }
+
+        @TearDown(Level.Trial)
+        public void stopServer() throws Exception {
+            commands.close();
+            clients.waitFor(30, TimeUnit.SECONDS);
+            clients.destroy();
+            tomcat.stop();
+            tomcat.destroy();
+        }
+
+        private void send(String command, String expectedReply) throws IOException {
+            commands.println(command);
+            String reply;
+            while ((reply = replies.readLine()) != null && !reply.equals(expectedReply)) {
+                System.out.println(reply);
+            }
+            if (reply == null) {
+                throw new IllegalStateException("Client process exited before replying to: " + command);
+            }
+        }
+
+        private static long usedHeapAfterGc() {
+            System.gc();
+            System.gc();
+            return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+
+        private static long residentBytes() throws IOException {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+            return 0;
+        }
+
+        private static long openFileDescriptors() {
+            return ManagementFactory.getOperatingSystemMXBean() instanceof UnixOperatingSystemMXBean os
+                    ? os.getOpenFileDescriptorCount()
+                    : 0;
+        }
+    }
+
+    /**
+     * The {@code /watch} endpoint of AppConfigController without the security layer.
+     */
+    @RestController
+    public static class WatchController {
+
+        private final ConfigWatchService watchService;
+
+        public WatchController(ConfigWatchService watchService) {
+            this.watchService = watchService;
+        }
+
+        @GetMapping("/watch")
+        public DeferredResult<ResponseEntity<byte[]>> watch(@RequestParam("since") long since) {
+            return watchService.watch(since, WATCH_TIMEOUT);
+        }
+    }
+
+    /**
+     * Runs in its own process so that its sockets, heap and file descriptors are not counted
+     * against the server. Reads commands from stdin: {@code open <count> <port> <since>} opens
+     * that many connections and sends a watch request on each; {@code drain} reads one
+     * response from every connection and closes it.
+     */
+    public static final class LongPollClients {
+
+        // Each loopback source address has its own ~28000 ephemeral ports towards the server
+        private static final int CONNECTIONS_PER_SOURCE_ADDRESS = 20_000;
+
+        public static void main(String[] args) throws IOException {
+            BufferedReader commands = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.US_ASCII));
+            List<SocketChannel> channels = new ArrayList<>();
+            String command;
+            while ((command = commands.readLine()) != null) {
+                String[] parts = command.split(" ");
+                if (parts[0].equals("open")) {
+                    int count = Integer.parseInt(parts[1]);
+                    InetSocketAddress server = new InetSocketAddress("127.0.0.1", Integer.parseInt(parts[2]));
+                    byte[] request = ("GET /watch?since=" + parts[3] + " HTTP/1.1\r\nHost: localhost\r\n\r\n")
+                            .getBytes(StandardCharsets.US_ASCII);
+                    for (int i = 0; i < count; i++) {
+                        SocketChannel channel = SocketChannel.open();
+                        channel.bind(new InetSocketAddress("127.0.0." + (2 + i / CONNECTIONS_PER_SOURCE_ADDRESS), 0));
+                        channel.connect(server);
+                        ByteBuffer buffer = ByteBuffer.wrap(request);
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                        channels.add(channel);
+                    }
+                    System.out.println("opened");
+                } else if (parts[0].equals("drain")) {
+                    ByteBuffer response = ByteBuffer.allocate(4096);
+                    for (SocketChannel channel : channels) {
+                        response.clear();
+                        if (channel.read(response) <= 0) {
+                            throw new IllegalStateException("No response on " + channel);
+                        }
+                        channel.close();
+                    }
+                    channels.clear();
+                    System.out.println("drained");
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public void holdHttpLongPolls(HttpWatchers state) throws IOException {
+        state.openConnections();
+    }
+
+    @Benchmark
+    public void fanOutOneChange(ParkedWatchers state) {
+        state.watchService.fanOut(state.revision);
+    }
+
+    @Benchmark
+    public void parkWatchers(EmptyWatchers state) {
+        state.park();
+    }
+}
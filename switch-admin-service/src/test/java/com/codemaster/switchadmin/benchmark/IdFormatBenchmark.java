@@ -0,0 +1,33 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.entity.generator.PrefixedIdFormatter;
+import com.codemaster.switchadmin.entity.generator.StringPrefixedSequenceIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting of sequence values into ids by {@link StringPrefixedSequenceIdGenerator}
+ * ("CONF" + "%08d"); the sequence fetch itself is not included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IdFormatBenchmark {
+
+    private final PrefixedIdFormatter formatter = new PrefixedIdFormatter("CONF", "%08d");
+    private long nextValue = 1;
+
+    @Benchmark
+    public String formatConfigId() {
+        return formatter.format(nextValue++);
+    }
+
+    @Benchmark
+    public String stringFormatConfigId() {
+        return "CONF" + String.format("%08d", nextValue++);
+    }
+}
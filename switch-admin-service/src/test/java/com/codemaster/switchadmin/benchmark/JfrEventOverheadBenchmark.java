@@ -0,0 +1,159 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.monitoring.JfrEvents;
+import com.codemaster.switchadmin.monitoring.PermissionDecisionEvent;
+import com.codemaster.switchadmin.monitoring.PrincipalLoadEvent;
+import com.codemaster.switchadmin.monitoring.RepositoryCallEvent;
+import com.codemaster.switchadmin.monitoring.RepositoryCallInterceptor;
+import com.codemaster.switchadmin.security.JwtPrincipalResolver;
+import com.codemaster.switchadmin.security.PermissionAuthenticationToken;
+import com.codemaster.switchadmin.security.PermissionAuthorizationManager;
+import com.codemaster.switchadmin.security.PermissionCatalogue;
+import com.codemaster.switchadmin.security.RequirePermissions;
+import com.codemaster.switchadmin.util.JwtUtil;
+import com.codemaster.switchadmin.util.VerifiedToken;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import jdk.jfr.Recording;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the JFR events on the request path. {@code OFF} is the default (events never
+ * registered), {@code REGISTERED} has them registered with no recording running, and
+ * {@code RECORDING} has a recording capturing all of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JfrEventOverheadBenchmark {
+
+    public enum State {
+        OFF,
+        REGISTERED,
+        RECORDING
+    }
+
+    @Param({"OFF", "REGISTERED", "RECORDING"})
+    public State state;
+
+    private Recording recording;
+    private PermissionAuthorizationManager authorizationManager;
+    private Authentication user;
+    private MethodInvocation invocation;
+    private JwtPrincipalResolver principalResolver;
+    private VerifiedToken token;
+    private LookupRepository repository;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        if (state != State.OFF) {
+            JfrEvents.register();
+        }
+        if (state == State.RECORDING) {
+            recording = new Recording();
+            recording.enable(PermissionDecisionEvent.class);
+            recording.enable(PrincipalLoadEvent.class);
+            recording.enable(RepositoryCallEvent.class);
+            recording.start();
+        }
+
+        CompositeMeterRegistry meterRegistry = new CompositeMeterRegistry();
+        PermissionCatalogue catalogue = new PermissionCatalogue(List.of("ALL", "CONFIG_READ", "CONFIG_UPDATE"));
+        authorizationManager = new PermissionAuthorizationManager(catalogue,
+                new StaticListableBeanFactory().getBeanProvider(RequestMappingHandlerMapping.class), meterRegistry);
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("CONFIG_READ");
+        user = new PermissionAuthenticationToken("user@company.com", authorities, catalogue.granted(authorities));
+        invocation = new SecuredInvocation(LookupRepository.class.getMethod("findByKey", String.class));
+
+        JwtUtil jwtUtil = new JwtUtil(JwtVerificationBenchmark.SECRET, TimeUnit.HOURS.toMillis(1));
+        UserDetails account = User.withUsername("user@company.com").password("").authorities("CONFIG_READ").build();
+        token = jwtUtil.verify(jwtUtil.generateToken(account));
+        principalResolver = new JwtPrincipalResolver(JwtPrincipalResolver.Source.CACHED, 100, Duration.ofHours(1),
+                username -> account, meterRegistry);
+        principalResolver.resolve(token);
+
+        ProxyFactory proxyFactory = new ProxyFactory(new LookupRepository() {
+        });
+        if (state != State.OFF) {
+            proxyFactory.addAdvice(new RepositoryCallInterceptor(LookupRepository.class));
+        }
+        repository = (LookupRepository) proxyFactory.getProxy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (recording != null) {
+            recording.close();
+        }
+        JfrEvents.unregister();
+    }
+
+    @Benchmark
+    public AuthorizationDecision permissionCheck() {
+        return authorizationManager.authorize(() -> user, invocation);
+    }
+
+    @Benchmark
+    public UserDetails principalCacheHit() {
+        return principalResolver.resolve(token);
+    }
+
+    @Benchmark
+    public String repositoryCall() {
+        return repository.findByKey("feature.checkout");
+    }
+
+    public interface LookupRepository {
+
+        @RequirePermissions("CONFIG_READ")
+        default String findByKey(String key) {
+            return key;
+        }
+    }
+
+    private record SecuredInvocation(Method method) implements MethodInvocation {
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return new Object[0];
+        }
+
+        @Override
+        public Object proceed() {
+            return null;
+        }
+
+        @Override
+        public Object getThis() {
+            return null;
+        }
+
+        @Override
+        public AccessibleObject getStaticPart() {
+            return method;
+        }
+    }
+}
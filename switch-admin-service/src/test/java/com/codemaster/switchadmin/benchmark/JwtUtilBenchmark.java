@@ -0,0 +1,45 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.util.JwtUtil;
+import com.codemaster.switchadmin.util.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue (login) and verification (every authenticated request) in {@link JwtUtil}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(JwtVerificationBenchmark.SECRET, TimeUnit.HOURS.toMillis(1));
+        user = User.withUsername("superadmin@company.com")
+                .password("")
+                .authorities("CONFIG_READ", "CONFIG_CREATE", "CONFIG_UPDATE", "CONFIG_STATUS_UPDATE", "CONFIG_DELETE")
+                .build();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyToken() {
+        return jwtUtil.verify(token);
+    }
+}
@@ -0,0 +1,63 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.util.JwtUtil;
+import com.codemaster.switchadmin.util.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request JWT work of {@code JwtAuthenticationFilter} before and after
+ * {@link JwtUtil#verify(String)}: the old path rebuilt the key and parser and parsed the
+ * token four times (username, validity, expiry, permissions).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, TimeUnit.HOURS.toMillis(1));
+        token = jwtUtil.generateToken(User.withUsername("superadmin@company.com")
+                .password("")
+                .authorities("CONFIG_READ", "CONFIG_CREATE", "CONFIG_UPDATE", "CONFIG_STATUS_UPDATE", "CONFIG_DELETE")
+                .build());
+    }
+
+    @Benchmark
+    public VerifiedToken verifyOnce() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public void legacyFourParses(Blackhole bh) {
+        String username = legacyClaims().getSubject();
+        bh.consume(username.equals(legacyClaims().getSubject()));
+        bh.consume(legacyClaims().getExpiration().before(new Date()));
+        bh.consume(legacyClaims().get("permissions", List.class));
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
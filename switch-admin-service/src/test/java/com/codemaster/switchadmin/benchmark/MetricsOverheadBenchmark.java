@@ -0,0 +1,130 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.security.PermissionAuthenticationToken;
+import com.codemaster.switchadmin.security.PermissionAuthorizationManager;
+import com.codemaster.switchadmin.security.PermissionCatalogue;
+import com.codemaster.switchadmin.security.RequirePermissions;
+import com.codemaster.switchadmin.util.JwtUtil;
+import com.codemaster.switchadmin.util.VerifiedToken;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths with and without metrics. {@code instrumented=false} hands the components a
+ * no-op registry and proxies the service without {@link TimedAspect}; {@code true} records
+ * into a {@link SimpleMeterRegistry} with histograms, as in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean instrumented;
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private PermissionAuthorizationManager authorizationManager;
+    private Authentication user;
+    private MethodInvocation invocation;
+    private LookupService service;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        MeterRegistry meterRegistry = instrumented ? new SimpleMeterRegistry() : new CompositeMeterRegistry();
+
+        jwtUtil = new JwtUtil(JwtVerificationBenchmark.SECRET, TimeUnit.HOURS.toMillis(1),
+                JwtUtil.PermissionClaimFormat.LIST, null, meterRegistry);
+        token = jwtUtil.generateToken(User.withUsername("user@company.com")
+                .password("")
+                .authorities("CONFIG_READ", "CONFIG_UPDATE")
+                .build());
+
+        PermissionCatalogue catalogue = new PermissionCatalogue(List.of("ALL", "CONFIG_READ", "CONFIG_UPDATE"));
+        authorizationManager = new PermissionAuthorizationManager(catalogue,
+                new StaticListableBeanFactory().getBeanProvider(RequestMappingHandlerMapping.class), meterRegistry);
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("CONFIG_READ");
+        user = new PermissionAuthenticationToken("user@company.com", authorities, catalogue.granted(authorities));
+        invocation = new SecuredInvocation(LookupService.class.getMethod("lookup", String.class));
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new LookupService());
+        proxyFactory.setProxyTargetClass(true);
+        if (instrumented) {
+            proxyFactory.addAspect(new TimedAspect(meterRegistry));
+        }
+        service = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public VerifiedToken jwtVerify() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public AuthorizationDecision permissionCheck() {
+        return authorizationManager.authorize(() -> user, invocation);
+    }
+
+    @Benchmark
+    public String timedServiceCall() {
+        return service.lookup("feature.checkout");
+    }
+
+    @Timed(value = "benchmark.lookup", histogram = true)
+    public static class LookupService {
+
+        @RequirePermissions("CONFIG_READ")
+        public String lookup(String key) {
+            return key;
+        }
+    }
+
+    private record SecuredInvocation(Method method) implements MethodInvocation {
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return new Object[0];
+        }
+
+        @Override
+        public Object proceed() {
+            return null;
+        }
+
+        @Override
+        public Object getThis() {
+            return null;
+        }
+
+        @Override
+        public AccessibleObject getStaticPart() {
+            return method;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.security.PermissionAuthenticationToken;
+import com.codemaster.switchadmin.security.PermissionAuthorizationManager;
+import com.codemaster.switchadmin.security.PermissionCatalogue;
+import com.codemaster.switchadmin.security.PermissionChecker;
+import com.codemaster.switchadmin.security.PermissionSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Permission checks as done on every secured call: the bitset check behind
+ * {@code @RequirePermissions}, {@link PermissionChecker#hasAllPermissions} (SpEL) and the
+ * previous stream-based implementation, each for the "ALL" shortcut, a grant and a denial.
+ * Add {@code -prof gc} to confirm the bitset paths do not allocate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PermissionCheckerBenchmark {
+
+    @Param({"5", "30"})
+    public int grantedPermissions;
+
+    private PermissionChecker permissionChecker;
+    private PermissionSet readAndUpdate;
+    private PermissionSet delete;
+    private Authentication superAdmin;
+    private Authentication user;
+
+    @Setup
+    public void setUp() {
+        List<String> grants = new ArrayList<>();
+        for (int i = grantedPermissions - 2; i > 0; i--) {
+            grants.add("EXTRA_PERMISSION_" + i);
+        }
+        grants.add("CONFIG_UPDATE");
+        grants.add("CONFIG_READ");
+
+        List<String> catalogueNames = new ArrayList<>(grants);
+        catalogueNames.addAll(List.of("ALL", "CONFIG_CREATE", "CONFIG_DELETE", "CONFIG_STATUS_UPDATE"));
+        PermissionCatalogue catalogue = new PermissionCatalogue(catalogueNames);
+        PermissionAuthorizationManager authorizationManager = new PermissionAuthorizationManager(catalogue,
+                new StaticListableBeanFactory().getBeanProvider(RequestMappingHandlerMapping.class),
+                new SimpleMeterRegistry());
+        permissionChecker = new PermissionChecker(catalogue, authorizationManager);
+        readAndUpdate = catalogue.required("CONFIG_READ", "CONFIG_UPDATE");
+        delete = catalogue.required("CONFIG_DELETE");
+        superAdmin = authentication(catalogue, List.of("ALL"));
+        user = authentication(catalogue, grants);
+    }
+
+    @Benchmark
+    public boolean bitsetFullAccess() {
+        return grants(superAdmin).containsAll(readAndUpdate);
+    }
+
+    @Benchmark
+    public boolean bitsetGranted() {
+        return grants(user).containsAll(readAndUpdate);
+    }
+
+    @Benchmark
+    public boolean bitsetDenied() {
+        return grants(user).containsAll(delete);
+    }
+
+    @Benchmark
+    public boolean checkerGranted() {
+        return permissionChecker.hasAllPermissions(user, "CONFIG_READ", "CONFIG_UPDATE");
+    }
+
+    @Benchmark
+    public boolean checkerDenied() {
+        return permissionChecker.hasAllPermissions(user, "CONFIG_DELETE");
+    }
+
+    @Benchmark
+    public boolean legacyFullAccess() {
+        return legacyHasAllPermissions(superAdmin, "CONFIG_READ");
+    }
+
+    @Benchmark
+    public boolean legacyGranted() {
+        return legacyHasAllPermissions(user, "CONFIG_READ", "CONFIG_UPDATE");
+    }
+
+    @Benchmark
+    public boolean legacyDenied() {
+        return legacyHasAllPermissions(user, "CONFIG_DELETE");
+    }
+
+    private static PermissionSet grants(Authentication authentication) {
+        return ((PermissionAuthenticationToken) authentication).getPermissions();
+    }
+
+    /**
+     * PermissionChecker before the catalogue was introduced.
+     */
+    private static boolean legacyHasAllPermissions(Authentication authentication, String... permissions) {
+        boolean hasFullAccess = authentication.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals("ALL"));
+        if (hasFullAccess) {
+            return true;
+        }
+        return Arrays.stream(permissions)
+                .allMatch(requiredPerm -> authentication.getAuthorities().stream()
+                        .anyMatch(userPerm -> userPerm.getAuthority().equals(requiredPerm)));
+    }
+
+    private static Authentication authentication(PermissionCatalogue catalogue, List<String> names) {
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList(names);
+        return new PermissionAuthenticationToken("user@company.com", authorities, catalogue.granted(authorities));
+    }
+}
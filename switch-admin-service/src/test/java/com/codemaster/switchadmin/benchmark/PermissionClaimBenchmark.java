@@ -0,0 +1,75 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.entity.Permission;
+import com.codemaster.switchadmin.util.JwtUtil;
+import com.codemaster.switchadmin.util.PermissionBitmapCodec;
+import com.codemaster.switchadmin.util.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifying a token whose permissions are a name list against one carrying the bitmap claim,
+ * for a small and an admin-sized grant. The Authorization header sizes are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PermissionClaimBenchmark {
+
+    private static final int CATALOGUE_SIZE = 120;
+
+    @Param({"5", "60"})
+    public int grantedPermissions;
+
+    private JwtUtil listJwtUtil;
+    private JwtUtil bitmapJwtUtil;
+    private String listToken;
+    private String bitmapToken;
+
+    @Setup
+    public void setUp() {
+        List<Permission> catalogue = new ArrayList<>(CATALOGUE_SIZE);
+        for (int i = 0; i < CATALOGUE_SIZE; i++) {
+            catalogue.add(Permission.builder().name("PERMISSION_NAME_" + i).bitIndex(i).build());
+        }
+        long expiration = TimeUnit.HOURS.toMillis(1);
+        PermissionBitmapCodec codec = new PermissionBitmapCodec(() -> catalogue, Duration.ofSeconds(10));
+        listJwtUtil = new JwtUtil(JwtVerificationBenchmark.SECRET, expiration,
+                JwtUtil.PermissionClaimFormat.LIST, codec);
+        bitmapJwtUtil = new JwtUtil(JwtVerificationBenchmark.SECRET, expiration,
+                JwtUtil.PermissionClaimFormat.BITMAP, codec);
+
+        String[] authorities = new String[grantedPermissions];
+        for (int i = 0; i < grantedPermissions; i++) {
+            authorities[i] = catalogue.get(i * 2).getName();
+        }
+        UserDetails user = User.withUsername("superadmin@company.com").password("").authorities(authorities).build();
+        listToken = listJwtUtil.generateToken(user);
+        bitmapToken = bitmapJwtUtil.generateToken(user);
+        System.out.printf("%n%d permissions: list header %d bytes, bitmap header %d bytes%n",
+                grantedPermissions, headerLength(listToken), headerLength(bitmapToken));
+    }
+
+    @Benchmark
+    public VerifiedToken verifyList() {
+        return listJwtUtil.verify(listToken);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyBitmap() {
+        return bitmapJwtUtil.verify(bitmapToken);
+    }
+
+    private static int headerLength(String token) {
+        return "Authorization: Bearer ".length() + token.length();
+    }
+}
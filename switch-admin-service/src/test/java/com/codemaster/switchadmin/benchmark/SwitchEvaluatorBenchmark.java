@@ -0,0 +1,84 @@
+package com.codemaster.switchadmin.benchmark;
+
+import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.model.TargetingRule;
+import com.codemaster.switchadmin.service.SwitchEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-thread {@link SwitchEvaluator#isEnabled} throughput: percentage bucketing only, three
+ * targeting rules that miss before bucketing, and a user id rule that hits. Users rotate
+ * through {@value #USERS} distinct ids. Run with {@code -prof gc} to confirm 0 B/op.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SwitchEvaluatorBenchmark {
+
+    private static final int USERS = 1024;
+
+    private final String[] userIds = new String[USERS];
+    private final Map<String, String> attributes = Map.of("country", "DE", "plan", "free", "platform", "android");
+    private SwitchEvaluator rolloutOnly;
+    private SwitchEvaluator rulesThenRollout;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = "USER" + String.format("%08d", i);
+        }
+        List<String> betaUsers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            betaUsers.add("BETA" + i);
+        }
+        betaUsers.add(userIds[0]);
+        rolloutOnly = SwitchEvaluator.compile(config("checkout.new-flow", BigDecimal.valueOf(25), List.of()));
+        rulesThenRollout = SwitchEvaluator.compile(config("search.ranking-v2", new BigDecimal("12.50"), List.of(
+                TargetingRule.builder().type(TargetingRule.Type.ATTRIBUTE_EQUALS).attribute("country")
+                        .values(List.of("US")).build(),
+                TargetingRule.builder().type(TargetingRule.Type.ATTRIBUTE_IN).attribute("plan")
+                        .values(List.of("pro", "enterprise")).build(),
+                TargetingRule.builder().type(TargetingRule.Type.USER_ID).values(betaUsers.subList(0, 200)).build())));
+    }
+
+    @Benchmark
+    public boolean rolloutOnly() {
+        return rolloutOnly.isEnabled(nextUser(), attributes);
+    }
+
+    @Benchmark
+    public boolean rulesMissThenRollout() {
+        return rulesThenRollout.isEnabled(nextUser(), attributes);
+    }
+
+    @Benchmark
+    public boolean userIdRuleHit() {
+        return rulesThenRollout.isEnabled("BETA42", attributes);
+    }
+
+    private String nextUser() {
+        String userId = userIds[next];
+        next = (next + 1) & (USERS - 1);
+        return userId;
+    }
+
+    private static AppConfigResponse config(String key, BigDecimal percentage, List<TargetingRule> rules) {
+        AppConfigResponse config = new AppConfigResponse();
+        config.setConfigKey(key);
+        config.setConfigValue("true");
+        config.setActive(true);
+        config.setRolloutPercentage(percentage);
+        config.setTargetingRules(rules);
+        return config;
+    }
+}
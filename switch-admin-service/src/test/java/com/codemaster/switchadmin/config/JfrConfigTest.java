@@ -0,0 +1,58 @@
+package com.codemaster.switchadmin.config;
+
+import com.codemaster.switchadmin.monitoring.JfrEvents;
+import com.codemaster.switchadmin.repository.AppConfigJdbcRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * JDBC repositories are wrapped like the Spring Data ones, so write-path calls show up in a recording.
+ */
+class JfrConfigTest {
+
+    private static final String REPOSITORY_CALL = "com.codemaster.switchadmin.RepositoryCall";
+
+    @Test
+    void jdbcRepositoryCallsEmitRepositoryCallEvents(@TempDir Path dir) throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=Oracle;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("benchmark/h2-schema.sql")).execute(dataSource);
+        AppConfigJdbcRepository repository = (AppConfigJdbcRepository) JfrConfig.repositoryCallEvents()
+                .postProcessAfterInitialization(new AppConfigJdbcRepository(new JdbcTemplate(dataSource)),
+                        "appConfigJdbcRepository");
+
+        Path file = dir.resolve("repository-calls.jfr");
+        JfrEvents.register();
+        try (Recording recording = new Recording()) {
+            recording.enable(REPOSITORY_CALL);
+            recording.start();
+            repository.findByConfigKeys(List.of("checkout.new-flow"));
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            JfrEvents.unregister();
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(REPOSITORY_CALL))
+                .toList();
+        assertThat(events)
+                .extracting(event -> event.getString("repository"), event -> event.getString("method"),
+                        event -> event.getBoolean("failed"))
+                .containsExactly(tuple("AppConfigJdbcRepository", "findByConfigKeys", false));
+    }
+}
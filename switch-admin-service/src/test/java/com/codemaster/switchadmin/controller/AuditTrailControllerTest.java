@@ -0,0 +1,134 @@
+package com.codemaster.switchadmin.controller;
+
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.exception.GlobalExceptionHandler;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
+import com.codemaster.switchadmin.service.AuditQueryService;
+import com.codemaster.switchadmin.service.AuditValueSerializer;
+import com.jayway.jsonpath.JsonPath;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cursor handling of the audit query API over H2: the last page has no cursor, and a
+ * malformed cursor is a 400, never a 500.
+ */
+class AuditTrailControllerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=Oracle;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("benchmark/h2-schema.sql")).execute(dataSource);
+        AuditTrailJdbcRepository repository = new AuditTrailJdbcRepository(new JdbcTemplate(dataSource));
+        // Five records, the middle three sharing a timestamp, so a page of two ends inside the tie
+        repository.batchInsert(IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> AuditTrail.builder()
+                        .auditId(String.format("ADTL%08d", i))
+                        .userId("USER00000001")
+                        .userName("Test User")
+                        .actionType(AuditTrail.ActionType.UPDATE)
+                        .targetEntity("APP_CONFIG")
+                        .targetEntityId("CONF00000001")
+                        .actionDescription("update")
+                        .actionStatus(AuditTrail.ActionStatus.SUCCESS)
+                        .actionTimestamp(i == 1 ? T0 : i == 5 ? T0.plusMinutes(2) : T0.plusMinutes(1))
+                        .build())
+                .toList());
+        AuditQueryService service = new AuditQueryService(repository, new AuditValueSerializer(), 500);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AuditTrailController(service))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void followsCursorsToTheLastPage() throws Exception {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String body = mockMvc.perform(get("/api/audit-trail").param("limit", "2")
+                            .param("after", cursor != null ? cursor : ""))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            ids.addAll(JsonPath.read(body, "$.records[*].auditId"));
+            cursor = JsonPath.read(body, "$.nextCursor");
+            boolean hasMore = JsonPath.read(body, "$.hasMore");
+            assertThat(hasMore).isEqualTo(cursor != null);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids)
+                .containsExactly("ADTL00000005", "ADTL00000004", "ADTL00000003", "ADTL00000002", "ADTL00000001");
+    }
+
+    @Test
+    void fullLastPageHasNoCursor() throws Exception {
+        mockMvc.perform(get("/api/audit-trail").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records.length()").value(5))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    /**
+     * "JWT" decodes as base64 but must not be echoed: the exception handler answers 401 for
+     * messages mentioning JWT.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "JWT"})
+    void undecodableCursorIsBadRequest(String cursor) throws Exception {
+        expectInvalidCursor(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2026-01-01T12:00 ADTL00000001",
+            "2026-01-01T12:00|",
+            "yesterday|ADTL00000001",
+            "2026-13-01T12:00|ADTL00000001"
+    })
+    void malformedCursorKeyIsBadRequest(String key) throws Exception {
+        expectInvalidCursor(Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void emptyTimeRangeIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/audit-trail")
+                        .param("from", "2026-01-01T12:00:00")
+                        .param("to", "2026-01-01T12:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void expectInvalidCursor(String cursor) throws Exception {
+        mockMvc.perform(get("/api/audit-trail").param("after", cursor))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+}
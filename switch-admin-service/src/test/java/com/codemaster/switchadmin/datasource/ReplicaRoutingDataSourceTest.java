@@ -0,0 +1,155 @@
+package com.codemaster.switchadmin.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two in-memory H2 databases standing in for the primary and the replica.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private JdbcDataSource replicaDataSource;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(database("primary"));
+        replicaDataSource = database("replica");
+        replica = new JdbcTemplate(replicaDataSource);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndOthersToPrimary() {
+        Routing routing = routing(Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+        assertThat(routing.readOnly()).isEqualTo("replica");
+        assertThat(routing.readWrite()).isEqualTo("primary");
+        assertThat(routing.noTransaction()).isEqualTo("primary");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        Routing routing = routing(Duration.ofMinutes(1), Duration.ofSeconds(5));
+        replica.execute("DROP TABLE CONFIG_REVISION");
+
+        routing.monitor().check();
+
+        assertThat(routing.monitor().isReplicaUsable()).isFalse();
+        assertThat(routing.readOnly()).isEqualTo("primary");
+    }
+
+    @Test
+    void replicaBehindLongerThanMaxStalenessFallsBackUntilItCatchesUp() throws InterruptedException {
+        Routing routing = routing(Duration.ofMillis(50), Duration.ofSeconds(5));
+        primary.update("UPDATE CONFIG_REVISION SET REVISION = 7");
+
+        routing.monitor().check();
+        assertThat(routing.readOnly()).as("briefly behind").isEqualTo("replica");
+
+        Thread.sleep(100);
+        routing.monitor().check();
+        assertThat(routing.readOnly()).as("behind for too long").isEqualTo("primary");
+
+        replica.update("UPDATE CONFIG_REVISION SET REVISION = 7");
+        routing.monitor().check();
+        assertThat(routing.readOnly()).as("caught up").isEqualTo("replica");
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimaryWithinWindow() throws InterruptedException {
+        Routing routing = routing(Duration.ofMinutes(1), Duration.ofMillis(200));
+
+        authenticate("writer@example.com");
+        assertThat(routing.readWrite()).isEqualTo("primary");
+        assertThat(routing.readOnly()).isEqualTo("primary");
+
+        authenticate("reader@example.com");
+        assertThat(routing.readOnly()).isEqualTo("replica");
+
+        Thread.sleep(300);
+        authenticate("writer@example.com");
+        assertThat(routing.readOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void requiredRevisionAheadOfReplicaReadsFromPrimary() {
+        Routing routing = routing(Duration.ofMinutes(1), Duration.ofSeconds(5));
+        primary.update("UPDATE CONFIG_REVISION SET REVISION = 3");
+        replica.update("UPDATE CONFIG_REVISION SET REVISION = 2");
+        routing.monitor().check();
+
+        try (ReplicaRoutingDataSource.RevisionScope ignored = ReplicaRoutingDataSource.requireRevision(3)) {
+            assertThat(routing.readOnly()).isEqualTo("primary");
+            try (ReplicaRoutingDataSource.RevisionScope inner = ReplicaRoutingDataSource.requireRevision(2)) {
+                assertThat(routing.readOnly()).isEqualTo("replica");
+            }
+            assertThat(routing.readOnly()).isEqualTo("primary");
+        }
+        assertThat(routing.readOnly()).isEqualTo("replica");
+    }
+
+    private Routing routing(Duration maxStaleness, Duration readAfterWriteWindow) {
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(primary, replica, maxStaleness);
+        monitor.check();
+        DataSource dataSource = ReplicaRoutingDataSource.lazy(new ReplicaRoutingDataSource(
+                primary.getDataSource(), replicaDataSource, monitor, readAfterWriteWindow));
+        return new Routing(dataSource, monitor);
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static JdbcDataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=Oracle;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE CONFIG_REVISION (REVISION_ID NUMBER(1) PRIMARY KEY, REVISION NUMBER(19) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO CONFIG_REVISION (REVISION_ID, REVISION) VALUES (1, 0)");
+        jdbcTemplate.execute("CREATE TABLE DATABASE_NAME (NAME VARCHAR2(10))");
+        jdbcTemplate.update("INSERT INTO DATABASE_NAME (NAME) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private record Routing(DataSource dataSource, ReplicaHealthMonitor monitor) {
+
+        String readOnly() {
+            TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            transaction.setReadOnly(true);
+            return transaction.execute(status -> databaseName());
+        }
+
+        String readWrite() {
+            return new TransactionTemplate(new DataSourceTransactionManager(dataSource)).execute(status -> databaseName());
+        }
+
+        String noTransaction() {
+            return databaseName();
+        }
+
+        private String databaseName() {
+            return new JdbcTemplate(dataSource).queryForObject("SELECT NAME FROM DATABASE_NAME", String.class);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.codemaster.switchadmin.dto;
+
+import com.codemaster.switchadmin.model.TargetingRule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Targeting rules are validated as part of the request, the same way create, update and import do.
+ */
+class AppConfigRequestValidationTest {
+
+    private static final ValidatorFactory FACTORY = Validation.buildDefaultValidatorFactory();
+    private static final Validator VALIDATOR = FACTORY.getValidator();
+
+    @AfterAll
+    static void close() {
+        FACTORY.close();
+    }
+
+    @Test
+    void acceptsWellFormedRules() {
+        assertThat(validate(
+                rule(TargetingRule.Type.USER_ID, null, List.of("USER00000001")),
+                rule(TargetingRule.Type.ATTRIBUTE_EQUALS, "plan", List.of("free")),
+                rule(TargetingRule.Type.ATTRIBUTE_IN, "country", List.of("NL", "BE")))).isEmpty();
+    }
+
+    @Test
+    void rejectsAttributeRuleWithoutAttribute() {
+        assertThat(validate(rule(TargetingRule.Type.ATTRIBUTE_IN, null, List.of("NL"))))
+                .containsExactly("targetingRules[0].attributeSetWhereRequired");
+        assertThat(validate(rule(TargetingRule.Type.ATTRIBUTE_EQUALS, " ", List.of("free"))))
+                .containsExactly("targetingRules[0].attributeSetWhereRequired");
+    }
+
+    @Test
+    void rejectsEqualsRuleWithMoreThanOneValue() {
+        assertThat(validate(rule(TargetingRule.Type.ATTRIBUTE_EQUALS, "plan", List.of("free", "pro"))))
+                .containsExactly("targetingRules[0].singleValueForEquals");
+    }
+
+    @Test
+    void checksAreNotSerialized() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(rule(TargetingRule.Type.USER_ID, null, List.of("U1")));
+
+        assertThat(json).doesNotContain("attributeSetWhereRequired", "singleValueForEquals");
+    }
+
+    private static List<String> validate(TargetingRule... rules) {
+        AppConfigRequest request = new AppConfigRequest();
+        request.setConfigKey("checkout.new-flow");
+        request.setConfigValue("true");
+        request.setTargetingRules(List.of(rules));
+        Set<ConstraintViolation<AppConfigRequest>> violations = VALIDATOR.validate(request);
+        return violations.stream().map(violation -> violation.getPropertyPath().toString()).toList();
+    }
+
+    private static TargetingRule rule(TargetingRule.Type type, String attribute, List<String> values) {
+        return TargetingRule.builder().type(type).attribute(attribute).values(values).build();
+    }
+}
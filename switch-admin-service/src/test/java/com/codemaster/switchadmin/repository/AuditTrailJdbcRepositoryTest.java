@@ -0,0 +1,138 @@
+package com.codemaster.switchadmin.repository;
+
+import com.codemaster.switchadmin.entity.AuditTrail;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keyset paging of {@link AuditTrailJdbcRepository#findPage}: newest first, ties on
+ * ACTION_TIMESTAMP broken by AUDIT_ID, and every filter narrowing the same walk.
+ */
+class AuditTrailJdbcRepositoryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+    private static final AuditTrailJdbcRepository.Filter NO_FILTER =
+            new AuditTrailJdbcRepository.Filter(null, null, null, null, null, null, null);
+
+    private AuditTrailJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=Oracle;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("benchmark/h2-schema.sql")).execute(dataSource);
+        repository = new AuditTrailJdbcRepository(new JdbcTemplate(dataSource));
+        // ADTL01..05 share one timestamp, so the page boundaries below fall inside the tie
+        repository.batchInsert(List.of(
+                audit("ADTL00000001", "USER00000001", AuditTrail.ActionType.CREATE, "APP_CONFIG", "CONF00000001",
+                        AuditTrail.ActionStatus.SUCCESS, T0),
+                audit("ADTL00000002", "USER00000002", AuditTrail.ActionType.UPDATE, "APP_CONFIG", "CONF00000001",
+                        AuditTrail.ActionStatus.SUCCESS, T0),
+                audit("ADTL00000003", "USER00000001", AuditTrail.ActionType.UPDATE, "APP_CONFIG", "CONF00000002",
+                        AuditTrail.ActionStatus.FAILURE, T0),
+                audit("ADTL00000004", "USER00000001", AuditTrail.ActionType.DELETE, "APP_CONFIG", "CONF00000002",
+                        AuditTrail.ActionStatus.SUCCESS, T0),
+                audit("ADTL00000005", "USER00000002", AuditTrail.ActionType.LOGIN, "USER_ACCOUNT", "USER00000002",
+                        AuditTrail.ActionStatus.SUCCESS, T0),
+                audit("ADTL00000006", "USER00000001", AuditTrail.ActionType.UPDATE, "APP_CONFIG", "CONF00000001",
+                        AuditTrail.ActionStatus.SUCCESS, T0.plusMinutes(1)),
+                audit("ADTL00000007", "USER00000002", AuditTrail.ActionType.UPDATE, "APP_CONFIG", "CONF00000001",
+                        AuditTrail.ActionStatus.SUCCESS, T0.minusMinutes(1))));
+    }
+
+    @Test
+    void pagesThroughTimestampTiesWithoutSkippingOrRepeating() {
+        assertThat(walk(NO_FILTER, 2)).containsExactly(
+                "ADTL00000006", "ADTL00000005", "ADTL00000004", "ADTL00000003", "ADTL00000002", "ADTL00000001",
+                "ADTL00000007");
+        assertThat(walk(NO_FILTER, 3)).containsExactly(
+                "ADTL00000006", "ADTL00000005", "ADTL00000004", "ADTL00000003", "ADTL00000002", "ADTL00000001",
+                "ADTL00000007");
+    }
+
+    @Test
+    void eachFilterNarrowsThePage() {
+        assertThat(walk(filter("USER00000002", null, null, null, null), 2))
+                .containsExactly("ADTL00000005", "ADTL00000002", "ADTL00000007");
+        assertThat(walk(filter(null, "USER_ACCOUNT", null, null, null), 2))
+                .containsExactly("ADTL00000005");
+        assertThat(walk(filter(null, "APP_CONFIG", "CONF00000002", null, null), 2))
+                .containsExactly("ADTL00000004", "ADTL00000003");
+        assertThat(walk(filter(null, null, null, AuditTrail.ActionType.UPDATE, null), 2))
+                .containsExactly("ADTL00000006", "ADTL00000003", "ADTL00000002", "ADTL00000007");
+        assertThat(walk(filter(null, null, null, null, AuditTrail.ActionStatus.FAILURE), 2))
+                .containsExactly("ADTL00000003");
+        assertThat(walk(filter("USER00000001", null, null, AuditTrail.ActionType.UPDATE, AuditTrail.ActionStatus.SUCCESS), 2))
+                .containsExactly("ADTL00000006");
+    }
+
+    @Test
+    void fromIsInclusiveAndToExclusive() {
+        assertThat(walk(new AuditTrailJdbcRepository.Filter(null, null, null, null, null, T0, null), 2))
+                .containsExactly("ADTL00000006", "ADTL00000005", "ADTL00000004", "ADTL00000003", "ADTL00000002",
+                        "ADTL00000001");
+        assertThat(walk(new AuditTrailJdbcRepository.Filter(null, null, null, null, null, null, T0), 2))
+                .containsExactly("ADTL00000007");
+        assertThat(walk(new AuditTrailJdbcRepository.Filter(null, null, null, null, null, T0, T0.plusMinutes(1)), 2))
+                .containsExactly("ADTL00000005", "ADTL00000004", "ADTL00000003", "ADTL00000002", "ADTL00000001");
+    }
+
+    @Test
+    void rowCarriesSummaryColumnsAndItsPageKey() {
+        AuditTrailJdbcRepository.SummaryRow row = repository.findPage(NO_FILTER, null, 1).get(0);
+
+        assertThat(row.auditId()).isEqualTo("ADTL00000006");
+        assertThat(row.userId()).isEqualTo("USER00000001");
+        assertThat(row.actionType()).isEqualTo(AuditTrail.ActionType.UPDATE);
+        assertThat(row.authMethod()).isEqualTo(AuditTrail.AuthMethod.JWT);
+        assertThat(row.sensitive()).isFalse();
+        assertThat(row.pageKey()).isEqualTo(new AuditTrailJdbcRepository.PageKey(T0.plusMinutes(1), "ADTL00000006"));
+    }
+
+    private List<String> walk(AuditTrailJdbcRepository.Filter filter, int pageSize) {
+        List<String> ids = new ArrayList<>();
+        AuditTrailJdbcRepository.PageKey key = null;
+        List<AuditTrailJdbcRepository.SummaryRow> page;
+        while (!(page = repository.findPage(filter, key, pageSize)).isEmpty()) {
+            assertThat(page).hasSizeLessThanOrEqualTo(pageSize);
+            page.forEach(row -> ids.add(row.auditId()));
+            key = page.get(page.size() - 1).pageKey();
+        }
+        return ids;
+    }
+
+    private static AuditTrailJdbcRepository.Filter filter(String userId, String targetEntity, String targetEntityId,
+                                                          AuditTrail.ActionType actionType,
+                                                          AuditTrail.ActionStatus actionStatus) {
+        return new AuditTrailJdbcRepository.Filter(userId, targetEntity, targetEntityId, actionType, actionStatus,
+                null, null);
+    }
+
+    static AuditTrail audit(String auditId, String userId, AuditTrail.ActionType actionType, String targetEntity,
+                            String targetEntityId, AuditTrail.ActionStatus actionStatus, LocalDateTime actionTimestamp) {
+        return AuditTrail.builder()
+                .auditId(auditId)
+                .userId(userId)
+                .userName("Test User")
+                .actionType(actionType)
+                .targetEntity(targetEntity)
+                .targetEntityId(targetEntityId)
+                .actionDescription(actionType + " " + targetEntity)
+                .actionStatus(actionStatus)
+                .authMethod(AuditTrail.AuthMethod.JWT)
+                .isSensitive(false)
+                .actionTimestamp(actionTimestamp)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.codemaster.switchadmin.security;
+
+import com.codemaster.switchadmin.event.RolePermissionsChangedEvent;
+import com.codemaster.switchadmin.event.UserAccountChangedEvent;
+import com.codemaster.switchadmin.util.JwtUtil;
+import com.codemaster.switchadmin.util.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * In CACHED mode an account is reloaded after its own change and after any role or permission change.
+ */
+class JwtPrincipalResolverTest {
+
+    private static final String SECRET = "test-secret-key-test-secret-key-test-secret-key-0123";
+
+    private final Map<String, Integer> loads = new HashMap<>();
+    private final JwtPrincipalResolver resolver = new JwtPrincipalResolver(JwtPrincipalResolver.Source.CACHED,
+            100, Duration.ofHours(1), this::load, new SimpleMeterRegistry());
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, TimeUnit.HOURS.toMillis(1));
+
+    @Test
+    void userChangeReloadsOnlyThatUser() {
+        VerifiedToken alice = token("alice@company.com");
+        VerifiedToken bob = token("bob@company.com");
+        resolver.resolve(alice);
+        resolver.resolve(bob);
+
+        resolver.onUserAccountChanged(new UserAccountChangedEvent("alice@company.com"));
+        resolver.resolve(alice);
+        resolver.resolve(bob);
+
+        assertThat(loads).containsEntry("alice@company.com", 2).containsEntry("bob@company.com", 1);
+    }
+
+    @Test
+    void rolePermissionChangeReloadsEveryUser() {
+        VerifiedToken alice = token("alice@company.com");
+        VerifiedToken bob = token("bob@company.com");
+        resolver.resolve(alice);
+        resolver.resolve(bob);
+
+        resolver.onRolePermissionsChanged(new RolePermissionsChangedEvent("CONFIG_ADMIN"));
+        resolver.resolve(alice);
+        resolver.resolve(bob);
+
+        assertThat(loads).containsEntry("alice@company.com", 2).containsEntry("bob@company.com", 2);
+    }
+
+    private UserDetails load(String username) {
+        loads.merge(username, 1, Integer::sum);
+        return account(username);
+    }
+
+    private VerifiedToken token(String username) {
+        return jwtUtil.verify(jwtUtil.generateToken(account(username)));
+    }
+
+    private static UserDetails account(String username) {
+        return User.withUsername(username).password("").authorities("CONFIG_READ").build();
+    }
+}
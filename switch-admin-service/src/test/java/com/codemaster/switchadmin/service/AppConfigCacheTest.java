@@ -0,0 +1,95 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.dto.ConfigChangeResponse;
+import com.codemaster.switchadmin.dto.ConfigChangesResponse;
+import com.codemaster.switchadmin.event.AppConfigChangedEvent;
+import com.codemaster.switchadmin.event.ConfigRevisionAdvancedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Entries follow the change log: out-of-order refreshes keep the newest state, and keys
+ * changed on other nodes are evicted when their revision is seen.
+ */
+class AppConfigCacheTest {
+
+    private final List<ConfigChangeResponse> changeLog = new ArrayList<>();
+    private AppConfigCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ConfigChangeLogService changeLogService = new ConfigChangeLogService(null, null, 1000) {
+            @Override
+            public ConfigChangesResponse getChangesSince(long since, int limit, long minRevision) {
+                List<ConfigChangeResponse> changes = changeLog.stream()
+                        .filter(change -> change.getRevision() > since)
+                        .toList();
+                return ConfigChangesResponse.builder()
+                        .changes(changes.subList(0, Math.min(limit, changes.size())))
+                        .hasMore(changes.size() > limit)
+                        .build();
+            }
+        };
+        cache = new AppConfigCache(1000, Duration.ofMinutes(5), Duration.ofMinutes(5), changeLogService,
+                new SimpleMeterRegistry());
+        cache.onRevisionAdvanced(new ConfigRevisionAdvancedEvent(1));
+    }
+
+    @Test
+    void olderRefreshDoesNotReplaceNewerOne() {
+        cache.onConfigChanged(new AppConfigChangedEvent(3, "feature.a", config("feature.a", "new")));
+        cache.onConfigChanged(new AppConfigChangedEvent(2, "feature.a", config("feature.a", "old")));
+
+        assertThat(cache.get("feature.a", key -> null).getConfigValue()).isEqualTo("new");
+    }
+
+    @Test
+    void keysChangedOnAnotherNodeAreEvicted() {
+        cache.get("feature.a", key -> config(key, "v1"));
+        cache.get("feature.b", key -> config(key, "v1"));
+        cache.get("feature.c", key -> null);
+        changeLog.add(change(2, "feature.a"));
+        changeLog.add(change(3, "feature.c"));
+
+        cache.onRevisionAdvanced(new ConfigRevisionAdvancedEvent(3));
+
+        assertThat(cache.get("feature.a", key -> config(key, "v2")).getConfigValue()).isEqualTo("v2");
+        assertThat(cache.get("feature.b", key -> config(key, "v2")).getConfigValue()).isEqualTo("v1");
+        assertThat(cache.get("feature.c", key -> config(key, "v2"))).isNotNull();
+    }
+
+    @Test
+    void tooManyChangesDropTheWholeCache() {
+        cache.get("feature.b", key -> config(key, "v1"));
+        for (int revision = 2; revision <= 1100; revision++) {
+            changeLog.add(change(revision, "feature.other" + revision));
+        }
+
+        cache.onRevisionAdvanced(new ConfigRevisionAdvancedEvent(1100));
+
+        assertThat(cache.get("feature.b", key -> config(key, "v2")).getConfigValue()).isEqualTo("v2");
+    }
+
+    private static AppConfigResponse config(String configKey, String configValue) {
+        AppConfigResponse config = new AppConfigResponse();
+        config.setConfigKey(configKey);
+        config.setConfigValue(configValue);
+        return config;
+    }
+
+    private static ConfigChangeResponse change(long revision, String configKey) {
+        return ConfigChangeResponse.builder()
+                .revision(revision)
+                .changeType(ConfigChangeResponse.ChangeType.UPDATE)
+                .configKey(configKey)
+                .build();
+    }
+}
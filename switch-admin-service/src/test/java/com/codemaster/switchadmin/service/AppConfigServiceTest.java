@@ -0,0 +1,75 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.dto.ConfigLookupResponse;
+import com.codemaster.switchadmin.entity.AppConfig;
+import com.codemaster.switchadmin.repository.AppConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A current snapshot answers lookups on its own; a stale one is not trusted for any key.
+ */
+class AppConfigServiceTest {
+
+    private AppConfigRepository appConfigRepository;
+    private ConfigSnapshotService configSnapshotService;
+    private ConfigRevisionTracker revisionTracker;
+    private AppConfigService service;
+
+    @BeforeEach
+    void setUp() {
+        appConfigRepository = mock(AppConfigRepository.class);
+        configSnapshotService = mock(ConfigSnapshotService.class);
+        revisionTracker = mock(ConfigRevisionTracker.class);
+        service = new AppConfigService(appConfigRepository, null, null, null, null, null, null,
+                configSnapshotService, revisionTracker, null);
+
+        AppConfigResponse cached = new AppConfigResponse();
+        cached.setConfigKey("checkout.new-flow");
+        cached.setConfigValue("false");
+        cached.setActive(false);
+        when(configSnapshotService.getSnapshot()).thenReturn(new ConfigSnapshotService.Snapshot(
+                5, List.of(cached), Map.of("checkout.new-flow", cached), new byte[0], new byte[0]));
+    }
+
+    @Test
+    void currentSnapshotAnswersWithoutDatabase() {
+        when(revisionTracker.getLastKnownRevision()).thenReturn(5L);
+
+        ConfigLookupResponse response = service.lookupConfigs(List.of("checkout.new-flow", "search.limit"));
+
+        assertThat(response.getRevision()).isEqualTo(5);
+        assertThat(response.getConfigs()).containsOnlyKeys("checkout.new-flow");
+        assertThat(response.getMissing()).containsExactly("search.limit");
+        verify(appConfigRepository, never()).findByConfigKeyIn(any());
+    }
+
+    @Test
+    void staleSnapshotRereadsEveryKey() {
+        when(revisionTracker.getLastKnownRevision()).thenReturn(7L);
+        when(appConfigRepository.findByConfigKeyIn(Set.of("checkout.new-flow", "search.limit", "unknown")))
+                .thenReturn(List.of(
+                        AppConfig.builder().configKey("search.limit").configValue("100").active(true).build(),
+                        AppConfig.builder().configKey("checkout.new-flow").configValue("true").active(true).build()));
+
+        ConfigLookupResponse response = service.lookupConfigs(List.of("checkout.new-flow", "search.limit", "unknown"));
+
+        assertThat(response.getRevision()).isEqualTo(7);
+        assertThat(response.getConfigs()).containsExactly(
+                Map.entry("checkout.new-flow", new ConfigLookupResponse.ConfigValue("true", true)),
+                Map.entry("search.limit", new ConfigLookupResponse.ConfigValue("100", true)));
+        assertThat(response.getMissing()).containsExactly("unknown");
+    }
+}
@@ -0,0 +1,160 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records written on the caller's thread from an {@code afterCommit()} callback, as
+ * {@link AuditService} does in ASYNC mode, must be committed on their own rather than join
+ * the caller's already committed transaction.
+ */
+class AuditBatchWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private final CountDownLatch writerBusy = new CountDownLatch(1);
+    private final CountDownLatch releaseWriter = new CountDownLatch(1);
+    private AuditBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=Oracle;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("benchmark/h2-schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseWriter.countDown();
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void callerRunsWriteAfterCommitIsCommitted() throws InterruptedException {
+        writer = writer(AuditBatchWriter.BackpressurePolicy.CALLER_RUNS);
+        writer.start();
+        writer.submit(audit("CONF00000001"));
+        assertThat(writerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.submit(audit("CONF00000002"));
+        assertThat(writer.getQueueSize()).as("queue full").isEqualTo(1);
+
+        int visible = submitAfterCommit(audit("CONF00000003"));
+
+        assertThat(visible).as("committed when submit() returns").isEqualTo(1);
+        releaseWriter.countDown();
+        writer.stop();
+        assertThat(count(null)).isEqualTo(3);
+    }
+
+    @Test
+    void writeAfterCommitWhenStoppedIsCommitted() {
+        writer = writer(AuditBatchWriter.BackpressurePolicy.BLOCK);
+
+        int visible = submitAfterCommit(audit("CONF00000001"));
+
+        assertThat(visible).as("committed when submit() returns").isEqualTo(1);
+    }
+
+    /**
+     * Submits from the afterCommit() of a transaction that also wrote, and returns how many
+     * copies of the record another connection sees right after submit() returns.
+     */
+    private int submitAfterCommit(AuditTrail audit) {
+        AtomicInteger visible = new AtomicInteger(-1);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE CONFIG_REVISION SET REVISION = REVISION + 1");
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writer.submit(audit);
+                    visible.set(count(audit.getTargetEntityId()));
+                }
+            });
+        });
+        return visible.get();
+    }
+
+    /**
+     * Counts on a connection of its own, outside any transaction bound to this thread.
+     */
+    private int count(String targetEntityId) {
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM AUDIT_TRAIL WHERE ? IS NULL OR TARGET_ENTITY_ID = ?")) {
+            statement.setString(1, targetEntityId);
+            statement.setString(2, targetEntityId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private AuditBatchWriter writer(AuditBatchWriter.BackpressurePolicy policy) {
+        // The background thread parks inside its first batch, so the queue stays full
+        AuditTrailJdbcRepository repository = new AuditTrailJdbcRepository(jdbcTemplate) {
+            @Override
+            public void batchInsert(List<AuditTrail> audits) {
+                if (Thread.currentThread().getName().equals("audit-batch-writer")) {
+                    writerBusy.countDown();
+                    try {
+                        releaseWriter.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.batchInsert(audits);
+            }
+        };
+        return new AuditBatchWriter(repository, transactionManager, 1, 1, Duration.ofMillis(50), policy,
+                Duration.ofMillis(10), new SimpleMeterRegistry());
+    }
+
+    private static AuditTrail audit(String configId) {
+        return AuditTrail.builder()
+                .userId("USER00000001")
+                .userName("System Admin")
+                .actionType(AuditTrail.ActionType.UPDATE)
+                .targetEntity("APP_CONFIG")
+                .targetEntityId(configId)
+                .oldValue("{\"configValue\":\"false\"}")
+                .newValue("{\"configValue\":\"true\"}")
+                .actionDescription("AppConfig update for config ID: " + configId)
+                .actionStatus(AuditTrail.ActionStatus.SUCCESS)
+                .isSensitive(false)
+                .actionTimestamp(LocalDateTime.now())
+                .build();
+    }
+}
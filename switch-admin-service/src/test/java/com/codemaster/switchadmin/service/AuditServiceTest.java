@@ -0,0 +1,96 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.entity.AppConfig;
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.model.TargetingRule;
+import com.codemaster.switchadmin.repository.AuditOutboxJdbcRepository;
+import com.codemaster.switchadmin.repository.AuditTrailJdbcRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * In OUTBOX mode every record, however large its rule set, goes through AUDIT_OUTBOX and
+ * reaches AUDIT_TRAIL intact through the relay.
+ */
+class AuditServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditService auditService;
+    private AuditOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=Oracle;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("benchmark/h2-schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        AuditTrailJdbcRepository auditTrailJdbcRepository = new AuditTrailJdbcRepository(jdbcTemplate);
+        AuditOutboxJdbcRepository auditOutboxRepository = new AuditOutboxJdbcRepository(jdbcTemplate);
+        auditService = new AuditService(null, auditTrailJdbcRepository, auditOutboxRepository, null,
+                new AuditValueSerializer(), AuditService.Mode.OUTBOX);
+        relay = new AuditOutboxRelay(auditOutboxRepository, auditTrailJdbcRepository,
+                new DataSourceTransactionManager(dataSource), 100, 10, Duration.ofDays(1));
+    }
+
+    @Test
+    void largeRuleSetIsRelayedThroughOutbox() {
+        AppConfig config = config("CONF00000001", 500);
+
+        auditService.logConfigChange("USER00000001", "System Admin", AuditTrail.ActionType.CREATE,
+                config.getConfigId(), null, config, "127.0.0.1", "JUnit", AuditTrail.AuthMethod.JWT);
+
+        assertThat(count("AUDIT_OUTBOX")).isEqualTo(1);
+        assertThat(count("AUDIT_TRAIL")).isZero();
+
+        assertThat(relay.relayPending()).isEqualTo(1);
+        String newValue = jdbcTemplate.queryForObject("SELECT NEW_VALUE FROM AUDIT_TRAIL", String.class);
+        assertThat(newValue).hasSizeGreaterThan(2000).contains("USER00000499");
+    }
+
+    @Test
+    void batchOfMixedSizesGoesToOutbox() {
+        AppConfig small = config("CONF00000001", 1);
+        AppConfig large = config("CONF00000002", 500);
+
+        auditService.logConfigChanges("USER00000001", "System Admin", List.of(
+                new AuditService.ConfigAudit(AuditTrail.ActionType.CREATE, small.getConfigId(), null, small),
+                new AuditService.ConfigAudit(AuditTrail.ActionType.CREATE, large.getConfigId(), null, large)));
+
+        assertThat(jdbcTemplate.queryForList("SELECT TARGET_ENTITY_ID FROM AUDIT_OUTBOX ORDER BY OUTBOX_ID", String.class))
+                .containsExactly("CONF00000001", "CONF00000002");
+        assertThat(count("AUDIT_TRAIL")).isZero();
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private static AppConfig config(String configId, int users) {
+        List<String> userIds = IntStream.range(0, users)
+                .mapToObj(i -> String.format("USER%08d", i))
+                .toList();
+        return AppConfig.builder()
+                .configId(configId)
+                .configKey("feature.checkout." + configId.toLowerCase())
+                .configValue("true")
+                .active(true)
+                .targetingRules(new ArrayList<>(List.of(TargetingRule.builder()
+                        .type(TargetingRule.Type.USER_ID)
+                        .values(userIds)
+                        .build())))
+                .build();
+    }
+}
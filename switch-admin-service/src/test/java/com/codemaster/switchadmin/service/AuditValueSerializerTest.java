@@ -0,0 +1,148 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.entity.AppConfig;
+import com.codemaster.switchadmin.entity.AuditTrail;
+import com.codemaster.switchadmin.model.TargetingRule;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JSON_DIFF holds only the fields that changed, the whole config on the side of a create or
+ * delete, and never the value of a sensitive config.
+ */
+class AuditValueSerializerTest {
+
+    private final AuditValueSerializer serializer = new AuditValueSerializer();
+
+    @Test
+    void createHasOnlyNewSide() {
+        AuditValueSerializer.ConfigDiff diff = serializer.diff(null, config("checkout.new-flow", "true"));
+
+        assertThat(diff.oldValue()).isNull();
+        assertThat(diff.newValue()).isEqualTo(
+                "{\"configKey\":\"checkout.new-flow\",\"configValue\":\"true\",\"active\":true}");
+    }
+
+    @Test
+    void deleteHasOnlyOldSide() {
+        AuditValueSerializer.ConfigDiff diff = serializer.diff(config("checkout.new-flow", "true"), null);
+
+        assertThat(diff.oldValue()).isEqualTo(
+                "{\"configKey\":\"checkout.new-flow\",\"configValue\":\"true\",\"active\":true}");
+        assertThat(diff.newValue()).isNull();
+    }
+
+    @Test
+    void updateHoldsOnlyChangedFields() {
+        AppConfig before = config("checkout.new-flow", "false");
+        AppConfig after = config("checkout.new-flow", "true");
+        after.setActive(false);
+
+        AuditValueSerializer.ConfigDiff diff = serializer.diff(before, after);
+
+        assertThat(diff.oldValue()).isEqualTo("{\"configValue\":\"false\",\"active\":true}");
+        assertThat(diff.newValue()).isEqualTo("{\"configValue\":\"true\",\"active\":false}");
+    }
+
+    @Test
+    void clearedFieldIsWrittenAsNull() {
+        AppConfig before = config("checkout.new-flow", "true");
+        before.setDescription("New checkout");
+        before.setRolloutPercentage(new BigDecimal("10"));
+        AppConfig after = config("checkout.new-flow", "true");
+
+        AuditValueSerializer.ConfigDiff diff = serializer.diff(before, after);
+
+        assertThat(diff.oldValue()).isEqualTo("{\"description\":\"New checkout\",\"rolloutPercentage\":10}");
+        assertThat(diff.newValue()).isEqualTo("{\"description\":null,\"rolloutPercentage\":null}");
+    }
+
+    @Test
+    void sensitiveValueChangeIsMaskedOnBothSides() {
+        AuditValueSerializer.ConfigDiff diff = serializer.diff(
+                config("payments.api-token", "old-secret"), config("payments.api-token", "new-secret"));
+
+        assertThat(diff.oldValue()).isEqualTo("{\"configValue\":\"*****\"}");
+        assertThat(diff.newValue()).isEqualTo("{\"configValue\":\"*****\"}");
+    }
+
+    @Test
+    void unchangedSensitiveValueIsLeftOut() {
+        AppConfig before = config("payments.api-token", "same-secret");
+        AppConfig after = config("payments.api-token", "same-secret");
+        after.setActive(false);
+
+        AuditValueSerializer.ConfigDiff diff = serializer.diff(before, after);
+
+        assertThat(diff.oldValue()).isEqualTo("{\"active\":true}");
+        assertThat(diff.newValue()).isEqualTo("{\"active\":false}");
+    }
+
+    @Test
+    void sensitiveCreateIsMasked() {
+        AuditValueSerializer.ConfigDiff diff = serializer.diff(null, config("db.password", "hunter2"));
+
+        assertThat(diff.newValue()).contains("\"configValue\":\"*****\"").doesNotContain("hunter2");
+    }
+
+    @Test
+    void rolloutWithDifferentScaleIsNotAChange() {
+        AppConfig before = config("checkout.new-flow", "true");
+        before.setRolloutPercentage(new BigDecimal("25"));
+        AppConfig after = config("checkout.new-flow", "true");
+        after.setRolloutPercentage(new BigDecimal("25.00"));
+
+        AuditValueSerializer.ConfigDiff diff = serializer.diff(before, after);
+
+        assertThat(diff.oldValue()).isEqualTo("{}");
+        assertThat(diff.newValue()).isEqualTo("{}");
+    }
+
+    @Test
+    void decodeReadsBackWhatDiffWrote() {
+        AppConfig config = config("checkout.new-flow", "true");
+        config.setRolloutPercentage(new BigDecimal("12.50"));
+        config.setTargetingRules(new ArrayList<>(List.of(TargetingRule.builder()
+                .type(TargetingRule.Type.USER_ID)
+                .values(List.of("USER00000001"))
+                .build())));
+
+        Map<String, Object> fields = serializer.decode(serializer.diff(null, config).newValue(),
+                AuditTrail.ValueFormat.JSON_DIFF);
+
+        assertThat(fields).containsEntry("configKey", "checkout.new-flow")
+                .containsEntry("configValue", "true")
+                .containsEntry("active", true);
+        assertThat(fields.get("rolloutPercentage")).isEqualTo(new BigDecimal("12.50"));
+        assertThat(fields.get("targetingRules")).asInstanceOf(InstanceOfAssertFactories.LIST).singleElement()
+                .asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsEntry("type", "USER_ID")
+                .containsEntry("values", List.of("USER00000001"))
+                .containsEntry("serve", true);
+        assertThat(serializer.decode(null, AuditTrail.ValueFormat.JSON_DIFF)).isNull();
+    }
+
+    @Test
+    void textValuesAreRejected() {
+        assertThatThrownBy(() -> serializer.decode("{configKey=a, configValue=b}", AuditTrail.ValueFormat.TEXT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("TEXT");
+    }
+
+    private static AppConfig config(String key, String value) {
+        return AppConfig.builder()
+                .configId("CONF00000001")
+                .configKey(key)
+                .configValue(value)
+                .active(true)
+                .build();
+    }
+}
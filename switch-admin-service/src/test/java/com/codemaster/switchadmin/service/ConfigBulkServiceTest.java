@@ -0,0 +1,98 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.entity.AppConfig;
+import com.codemaster.switchadmin.entity.UserAccount;
+import com.codemaster.switchadmin.exception.ConfigImportException;
+import com.codemaster.switchadmin.repository.AppConfigJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * CSV import reads the header by name, and never guesses a row's active flag.
+ */
+class ConfigBulkServiceTest {
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final UserAccount importer = UserAccount.builder().userId("USER00000001").firstName("Ada").lastName("Admin").build();
+    private AppConfigJdbcRepository appConfigJdbcRepository;
+    private ConfigBulkService service;
+
+    @BeforeEach
+    void setUp() {
+        appConfigJdbcRepository = mock(AppConfigJdbcRepository.class);
+        service = new ConfigBulkService(appConfigJdbcRepository, null, mock(AuditService.class),
+                mock(ConfigChangeLogService.class), null, mock(ApplicationEventPublisher.class),
+                mock(PlatformTransactionManager.class), validatorFactory.getValidator(), new ObjectMapper(), 100, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importsColumnsInAnyOrderWithQuotedFields() {
+        importCsv("""
+                Active,description,configValue,configKey
+                true,"Checkout, new flow",on,checkout.new-flow
+                0,"Two
+                lines",off,search.v2
+                """);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AppConfig>> merged = ArgumentCaptor.forClass(List.class);
+        verify(appConfigJdbcRepository).merge(merged.capture());
+        assertThat(merged.getValue())
+                .extracting(AppConfig::getConfigKey, AppConfig::getConfigValue, AppConfig::getDescription, AppConfig::isActive)
+                .containsExactly(
+                        tuple("checkout.new-flow", "on", "Checkout, new flow", true),
+                        tuple("search.v2", "off", "Two\nlines", false));
+    }
+
+    @Test
+    void rejectsHeaderWithoutActiveColumn() {
+        assertThatThrownBy(() -> importCsv("configKey,configValue\ncheckout.new-flow,on\n"))
+                .isInstanceOf(ConfigImportException.class)
+                .hasMessageContaining("CSV header must name the configKey, configValue and active columns");
+        verify(appConfigJdbcRepository, never()).merge(any());
+    }
+
+    @Test
+    void rejectsHeaderWithoutKeyColumn() {
+        assertThatThrownBy(() -> importCsv("configValue,active\non,true\n"))
+                .isInstanceOf(ConfigImportException.class)
+                .hasMessageContaining("CSV header must name");
+    }
+
+    @Test
+    void rejectsRowWithoutActiveValue() {
+        assertThatThrownBy(() -> importCsv("configKey,configValue,active\ncheckout.new-flow,on,true\nsearch.v2,off,\n"))
+                .isInstanceOf(ConfigImportException.class)
+                .hasMessageContaining("Line 3: active must be true or false");
+        verify(appConfigJdbcRepository, never()).merge(any());
+    }
+
+    private void importCsv(String content) {
+        service.importConfigs(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                ConfigBulkService.Format.CSV, importer);
+    }
+}
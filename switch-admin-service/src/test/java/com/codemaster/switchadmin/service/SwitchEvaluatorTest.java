@@ -0,0 +1,111 @@
+package com.codemaster.switchadmin.service;
+
+import com.codemaster.switchadmin.dto.AppConfigResponse;
+import com.codemaster.switchadmin.model.TargetingRule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Rollout buckets only ever grow with the percentage, and rules are checked in order before it.
+ */
+class SwitchEvaluatorTest {
+
+    private static final int USERS = 20_000;
+    private static final List<String> USER_IDS = IntStream.range(0, USERS)
+            .mapToObj(i -> String.format("USER%08d", i))
+            .toList();
+
+    @Test
+    void usersStayEnabledAsPercentageGrows() {
+        Set<String> previous = Set.of();
+        for (String percentage : List.of("0", "0.01", "1", "10", "25.5", "50", "99.99", "100")) {
+            SwitchEvaluator evaluator = SwitchEvaluator.compile(config("feature.checkout", percentage));
+            Set<String> enabled = enabledUsers(evaluator);
+
+            assertThat(enabled.containsAll(previous)).as("users enabled before still enabled at %s%%", percentage).isTrue();
+            assertThat(enabled.size() / (double) USERS)
+                    .as("share enabled at %s%%", percentage)
+                    .isCloseTo(new BigDecimal(percentage).doubleValue() / 100, within(0.01));
+            previous = enabled;
+        }
+    }
+
+    @Test
+    void bucketsDifferBetweenSwitches() {
+        Set<String> checkout = enabledUsers(SwitchEvaluator.compile(config("feature.checkout", "50")));
+        Set<String> search = enabledUsers(SwitchEvaluator.compile(config("feature.search", "50")));
+
+        Set<String> both = new HashSet<>(checkout);
+        both.retainAll(search);
+        // Independent halves overlap on about a quarter of the users
+        assertThat(both.size() / (double) USERS).isBetween(0.23, 0.27);
+    }
+
+    @Test
+    void firstMatchingRuleWinsOverLaterRulesAndPercentage() {
+        AppConfigResponse config = config("feature.checkout", "100");
+        config.setTargetingRules(List.of(
+                rule(TargetingRule.Type.USER_ID, null, List.of("USER00000001"), false),
+                rule(TargetingRule.Type.ATTRIBUTE_IN, "country", List.of("NL", "BE"), true),
+                rule(TargetingRule.Type.ATTRIBUTE_EQUALS, "plan", List.of("free"), false)));
+        SwitchEvaluator evaluator = SwitchEvaluator.compile(config);
+
+        // Excluded by the first rule even though the second matches too
+        assertThat(evaluator.isEnabled("USER00000001", Map.of("country", "NL"))).isFalse();
+        // Included by the second rule even though the third would exclude
+        assertThat(evaluator.isEnabled("USER00000002", Map.of("country", "BE", "plan", "free"))).isTrue();
+        assertThat(evaluator.isEnabled("USER00000002", Map.of("plan", "free"))).isFalse();
+        // No rule matches: the percentage decides
+        assertThat(evaluator.isEnabled("USER00000002", Map.of())).isTrue();
+    }
+
+    @Test
+    void ruleMatchesAtZeroPercentButNotWhenInactive() {
+        AppConfigResponse config = config("feature.checkout", "0");
+        config.setTargetingRules(List.of(rule(TargetingRule.Type.USER_ID, null, List.of("USER00000001"), true)));
+
+        assertThat(SwitchEvaluator.compile(config).isEnabled("USER00000001", Map.of())).isTrue();
+        assertThat(SwitchEvaluator.compile(config).isEnabled("USER00000002", Map.of())).isFalse();
+        config.setActive(false);
+        assertThat(SwitchEvaluator.compile(config).isEnabled("USER00000001", Map.of())).isFalse();
+    }
+
+    @Test
+    void anonymousCallersOnlySeeFullRollout() {
+        assertThat(SwitchEvaluator.compile(config("feature.checkout", "99.99")).isEnabled(null, Map.of())).isFalse();
+        assertThat(SwitchEvaluator.compile(config("feature.checkout", "100")).isEnabled(null, Map.of())).isTrue();
+        assertThat(SwitchEvaluator.compile(config("feature.checkout", null)).isEnabled(null, Map.of())).isTrue();
+    }
+
+    private static Set<String> enabledUsers(SwitchEvaluator evaluator) {
+        Set<String> enabled = new HashSet<>();
+        for (String userId : USER_IDS) {
+            if (evaluator.isEnabled(userId, Map.of())) {
+                enabled.add(userId);
+            }
+        }
+        return enabled;
+    }
+
+    private static AppConfigResponse config(String configKey, String percentage) {
+        AppConfigResponse config = new AppConfigResponse();
+        config.setConfigKey(configKey);
+        config.setConfigValue("true");
+        config.setActive(true);
+        config.setRolloutPercentage(percentage != null ? new BigDecimal(percentage) : null);
+        return config;
+    }
+
+    private static TargetingRule rule(TargetingRule.Type type, String attribute, List<String> values, boolean serve) {
+        return TargetingRule.builder().type(type).attribute(attribute).values(values).serve(serve).build();
+    }
+}
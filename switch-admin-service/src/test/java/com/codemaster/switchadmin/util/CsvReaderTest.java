@@ -0,0 +1,69 @@
+package com.codemaster.switchadmin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Quoting, embedded separators and line ends, and the line numbers reported for each record.
+ */
+class CsvReaderTest {
+
+    @Test
+    void readsPlainRecordsWithEitherLineEnd() throws IOException {
+        assertThat(readAll("a,b,c\r\nd,e,f\ng,h,i"))
+                .containsExactly(List.of("a", "b", "c"), List.of("d", "e", "f"), List.of("g", "h", "i"));
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(readAll(",x,\n")).containsExactly(List.of("", "x", ""));
+    }
+
+    @Test
+    void readsQuotedFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+        assertThat(readAll("\"a,b\",\"say \"\"hi\"\"\",\"line1\nline2\",\"cr\r\nlf\"\n"))
+                .containsExactly(List.of("a,b", "say \"hi\"", "line1\nline2", "cr\r\nlf"));
+    }
+
+    @Test
+    void treatsQuoteInsideUnquotedFieldAsText() throws IOException {
+        assertThat(readAll("5\" screen,x\n")).containsExactly(List.of("5\" screen", "x"));
+    }
+
+    @Test
+    void reportsLineOnWhichEachRecordStarts() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("h\n\"two\nlines\"\nlast\n"));
+
+        reader.readRecord();
+        assertThat(reader.getRecordLineNumber()).isEqualTo(1);
+        reader.readRecord();
+        assertThat(reader.getRecordLineNumber()).isEqualTo(2);
+        assertThat(reader.readRecord()).containsExactly("last");
+        assertThat(reader.getRecordLineNumber()).isEqualTo(4);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedField() {
+        assertThatThrownBy(() -> readAll("a\n\"open,\nnever closed"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unterminated quoted field starting on line 2");
+    }
+
+    private static List<List<String>> readAll(String input) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(input));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
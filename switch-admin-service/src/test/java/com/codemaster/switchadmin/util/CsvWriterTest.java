@@ -0,0 +1,40 @@
+package com.codemaster.switchadmin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Only fields that need it are quoted, and whatever is written reads back unchanged.
+ */
+class CsvWriterTest {
+
+    @Test
+    void quotesOnlyFieldsThatNeedIt() throws IOException {
+        assertThat(write("plain", "a,b", "say \"hi\"", "two\nlines", null, ""))
+                .isEqualTo("plain,\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",,\r\n");
+    }
+
+    @Test
+    void roundTripsThroughCsvReader() throws IOException {
+        String[] fields = {"feature.checkout", "a, b", "\"quoted\"", "line1\r\nline2", "[{\"type\":\"USER_ID\"}]", ""};
+
+        CsvReader reader = new CsvReader(new StringReader(write(fields)));
+
+        assertThat(reader.readRecord()).isEqualTo(Arrays.asList(fields));
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    private static String write(String... fields) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        writer.writeRecord(fields);
+        writer.flush();
+        return out.toString();
+    }
+}
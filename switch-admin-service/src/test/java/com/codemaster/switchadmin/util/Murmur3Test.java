@@ -0,0 +1,33 @@
+package com.codemaster.switchadmin.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Expected values are the reference MurmurHash3_x86_32 of the UTF-16LE bytes, which is what
+ * Guava's {@code murmur3_32_fixed(seed).hashUnencodedChars(s).asInt()} returns. They cover
+ * an empty input, an odd trailing char, non-ASCII and a surrogate pair.
+ */
+class Murmur3Test {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "''                 | 0         | 0",
+            "a                  | 0         | 1867108634",
+            "ab                 | 0         | 374890698",
+            "abc                | 0         | 1118836419",
+            "abcd               | 0         | 1157274932",
+            "hello              | 0         | -675079799",
+            "USER00000001       | 0         | 422792731",
+            "USER00000001       | 123456789 | 2125727008",
+            "feature.checkout   | 0         | 134826841",
+            "été                | 0         | -1181403715",
+            "😀                 | 0         | 1443257913"
+    })
+    void matchesReferenceHashOfUtf16LeBytes(String data, int seed, int expected) {
+        assertThat(Murmur3.hash32(data, seed)).isEqualTo(expected);
+        assertThat(Murmur3.hash32(new StringBuilder(data), seed)).isEqualTo(expected);
+    }
+}
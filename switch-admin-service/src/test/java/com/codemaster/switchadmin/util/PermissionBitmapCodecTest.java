@@ -0,0 +1,54 @@
+package com.codemaster.switchadmin.util;
+
+import com.codemaster.switchadmin.entity.Permission;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tokens claiming a catalogue version the database does not have must not reload the
+ * catalogue on every request.
+ */
+class PermissionBitmapCodecTest {
+
+    private final List<Permission> permissions = new ArrayList<>(List.of(
+            Permission.builder().name("CONFIG_READ").bitIndex(0).build(),
+            Permission.builder().name("CONFIG_WRITE").bitIndex(1).build()));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void tokenFromNewerCatalogueReloadsOncePerInterval() {
+        PermissionBitmapCodec codec = codec(Duration.ofMinutes(1));
+        String encoded = codec.encode(List.of("CONFIG_READ", "CONFIG_WRITE"));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(codec.decode(encoded, 5 + i % 3)).containsExactly("CONFIG_READ", "CONFIG_WRITE");
+        }
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void tokenFromNewerCatalogueReloadsAgainAfterInterval() {
+        PermissionBitmapCodec codec = codec(Duration.ZERO);
+        String encoded = codec.encode(List.of("CONFIG_READ"));
+        codec.decode(encoded, 3);
+        permissions.add(Permission.builder().name("AUDIT_READ").bitIndex(2).build());
+
+        assertThat(codec.decode(encoded, 3)).containsExactly("CONFIG_READ");
+        assertThat(codec.version()).isEqualTo(3);
+        assertThat(loads).hasValue(3);
+    }
+
+    private PermissionBitmapCodec codec(Duration retryInterval) {
+        return new PermissionBitmapCodec(() -> {
+            loads.incrementAndGet();
+            return List.copyOf(permissions);
+        }, retryInterval);
+    }
+}
@@ -0,0 +1,113 @@
+-- H2 (MODE=Oracle) stand-in for the Flyway schema, used by the JMH benchmarks.
+-- PL/SQL triggers are replaced by column defaults.
+
+CREATE SEQUENCE APP_CONFIG_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE APP_CONFIG (
+    CONFIG_ID VARCHAR2(12) NOT NULL,
+    CONFIG_KEY VARCHAR2(100) NOT NULL,
+    CONFIG_VALUE NVARCHAR2(500) NOT NULL,
+    DESCRIPTION NVARCHAR2(1000),
+    CREATED_AT TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+    UPDATED_AT TIMESTAMP(6),
+    IS_ACTIVE NUMBER(1) DEFAULT 1 NOT NULL,
+    ROLLOUT_PERCENTAGE NUMBER(5,2),
+    TARGETING_RULES CLOB,
+    CONSTRAINT PK_APP_CONFIG PRIMARY KEY (CONFIG_ID),
+    CONSTRAINT UK_APP_CONFIG_KEY UNIQUE (CONFIG_KEY)
+);
+
+CREATE SEQUENCE AUDIT_TRAIL_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE AUDIT_TRAIL (
+    AUDIT_ID VARCHAR2(12) DEFAULT ('ADTL' || LPAD(NEXT VALUE FOR AUDIT_TRAIL_SEQ, 8, '0')) NOT NULL,
+    USER_ID VARCHAR2(12) NOT NULL,
+    USER_NAME VARCHAR2(100) NOT NULL,
+    ACTION_TYPE VARCHAR2(50) NOT NULL,
+    TARGET_ENTITY VARCHAR2(100) NOT NULL,
+    TARGET_ENTITY_ID VARCHAR2(12),
+    OLD_VALUE CLOB,
+    NEW_VALUE CLOB,
+    ACTION_DESCRIPTION CLOB NOT NULL,
+    ACTION_STATUS VARCHAR2(20) NOT NULL,
+    ERROR_MESSAGE CLOB,
+    IP_ADDRESS VARCHAR2(45),
+    USER_AGENT CLOB,
+    AUTH_METHOD VARCHAR2(20),
+    ACTION_TIMESTAMP TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+    IS_SENSITIVE NUMBER(1) DEFAULT 1 NOT NULL,
+    VALUE_FORMAT VARCHAR2(10) DEFAULT 'TEXT' NOT NULL,
+    CONSTRAINT PK_AUDIT_TRAIL PRIMARY KEY (AUDIT_ID)
+);
+
+CREATE INDEX IDX_AUDIT_TRAIL_TIMESTAMP_ID ON AUDIT_TRAIL(ACTION_TIMESTAMP, AUDIT_ID);
+CREATE INDEX IDX_AUDIT_TRAIL_USER_TIMESTAMP ON AUDIT_TRAIL(USER_ID, ACTION_TIMESTAMP, AUDIT_ID);
+CREATE INDEX IDX_AUDIT_TRAIL_TYPE_TIMESTAMP ON AUDIT_TRAIL(ACTION_TYPE, ACTION_TIMESTAMP, AUDIT_ID);
+CREATE INDEX IDX_AUDIT_TRAIL_ENTITY_TIMESTAMP ON AUDIT_TRAIL(TARGET_ENTITY, TARGET_ENTITY_ID, ACTION_TIMESTAMP, AUDIT_ID);
+
+CREATE SEQUENCE AUDIT_OUTBOX_SEQ START WITH 1 INCREMENT BY 1 CACHE 100;
+
+CREATE TABLE AUDIT_OUTBOX (
+    OUTBOX_ID NUMBER(19) NOT NULL,
+    USER_ID VARCHAR2(12) NOT NULL,
+    USER_NAME VARCHAR2(100) NOT NULL,
+    ACTION_TYPE VARCHAR2(50) NOT NULL,
+    TARGET_ENTITY VARCHAR2(100) NOT NULL,
+    TARGET_ENTITY_ID VARCHAR2(12),
+    OLD_VALUE CLOB,
+    NEW_VALUE CLOB,
+    ACTION_DESCRIPTION VARCHAR2(500) NOT NULL,
+    ACTION_STATUS VARCHAR2(20) NOT NULL,
+    IP_ADDRESS VARCHAR2(45),
+    USER_AGENT VARCHAR2(500),
+    AUTH_METHOD VARCHAR2(20),
+    IS_SENSITIVE NUMBER(1) DEFAULT 1 NOT NULL,
+    ACTION_TIMESTAMP TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+    STATUS VARCHAR2(10) DEFAULT 'PENDING' NOT NULL,
+    PROCESSED_AT TIMESTAMP(6),
+    VALUE_FORMAT VARCHAR2(10) DEFAULT 'TEXT' NOT NULL,
+    CONSTRAINT PK_AUDIT_OUTBOX PRIMARY KEY (OUTBOX_ID)
+);
+
+CREATE INDEX IDX_AUDIT_OUTBOX_STATUS ON AUDIT_OUTBOX(STATUS, OUTBOX_ID);
+
+CREATE TABLE CONFIG_REVISION (
+    REVISION_ID NUMBER(1) NOT NULL,
+    REVISION NUMBER(19) NOT NULL,
+    CONSTRAINT PK_CONFIG_REVISION PRIMARY KEY (REVISION_ID)
+);
+
+INSERT INTO CONFIG_REVISION (REVISION_ID, REVISION) VALUES (1, 0);
+
+CREATE TABLE CONFIG_CHANGE_LOG (
+    REVISION NUMBER(19) NOT NULL,
+    CHANGE_TYPE VARCHAR2(10) NOT NULL,
+    CONFIG_ID VARCHAR2(12) NOT NULL,
+    CONFIG_KEY VARCHAR2(100) NOT NULL,
+    PREVIOUS_CONFIG_KEY VARCHAR2(100),
+    CONFIG_VALUE NVARCHAR2(500) NOT NULL,
+    IS_ACTIVE NUMBER(1) NOT NULL,
+    CHANGED_AT TIMESTAMP(6) DEFAULT SYSTIMESTAMP NOT NULL,
+    ROLLOUT_PERCENTAGE NUMBER(5,2),
+    TARGETING_RULES CLOB,
+    CONSTRAINT PK_CONFIG_CHANGE_LOG PRIMARY KEY (REVISION)
+);
+
+CREATE TABLE APP_CONFIG_VERSION (
+    CONFIG_ID VARCHAR2(12) NOT NULL,
+    VALID_FROM NUMBER(19) NOT NULL,
+    VALID_TO NUMBER(19) NOT NULL,
+    CONFIG_KEY VARCHAR2(100) NOT NULL,
+    CONFIG_VALUE NVARCHAR2(500) NOT NULL,
+    DESCRIPTION NVARCHAR2(1000),
+    IS_ACTIVE NUMBER(1) NOT NULL,
+    ROLLOUT_PERCENTAGE NUMBER(5,2),
+    TARGETING_RULES CLOB,
+    CHANGED_AT TIMESTAMP(6) NOT NULL,
+    CONSTRAINT PK_APP_CONFIG_VERSION PRIMARY KEY (CONFIG_ID, VALID_FROM),
+    CONSTRAINT UK_APP_CONFIG_VERSION_OPEN UNIQUE (CONFIG_ID, VALID_TO)
+);
+
+CREATE INDEX IDX_APP_CONFIG_VERSION_KEY ON APP_CONFIG_VERSION(CONFIG_KEY, VALID_TO, VALID_FROM);
+CREATE INDEX IDX_APP_CONFIG_VERSION_RANGE ON APP_CONFIG_VERSION(VALID_TO, VALID_FROM);
+CREATE INDEX IDX_APP_CONFIG_VERSION_CHANGED ON APP_CONFIG_VERSION(CHANGED_AT, VALID_FROM);